@@ -16,9 +16,53 @@ repositories {
     mavenCentral()
 }
 
+// Benchmarks JMH ficam em src/jmh/java e enxergam as classes (e o pacote) do código principal
+val jmh by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // This dependency is used by the application.
     implementation(libs.guava)
+
+    // Benchmarks
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
+}
+
+// Roda os benchmarks: ./gradlew jmh (filtro opcional: -PjmhInclude=Collision)
+// Os resultados ficam em app/build/reports/jmh/results.json para comparar execuções
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Roda os benchmarks JMH e grava os resultados em JSON."
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    workingDir = projectDir
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+    doFirst {
+        results.get().asFile.parentFile.mkdirs()
+        args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+        if (project.hasProperty("jmhInclude")) {
+            args(project.property("jmhInclude").toString())
+        }
+    }
+}
+
+// Cenário sintético sem janela: ./gradlew benchmark --args="--common 2000 --bullets 1000"
+tasks.register<JavaExec>("benchmark") {
+    group = "benchmark"
+    description = "Roda um cenário sintético sem janela e imprime o resultado em JSON."
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "org.shootemup.Benchmark"
+    workingDir = projectDir
+    jvmArgs("-Djava.awt.headless=true")
 }
 
 testing {
@@ -42,3 +86,11 @@ application {
     // Define the main class for the application.
     mainClass = "org.shootemup.Main"
 }
+
+// Opções da JVM do jogo (JAVA_OPTS chega só na JVM do Gradle):
+// ./gradlew run -PjvmArgs="-XX:StartFlightRecording=filename=jogo.jfr"
+tasks.named<JavaExec>("run") {
+    if (project.hasProperty("jvmArgs")) {
+        jvmArgs(project.property("jvmArgs").toString().trim().split(Regex("\\s+")))
+    }
+}
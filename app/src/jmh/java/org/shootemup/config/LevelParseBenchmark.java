@@ -0,0 +1,77 @@
+package org.shootemup.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shootemup.engine.LevelSource;
+
+/// Tempo de leitura de arquivos de fase grandes com `Config.loadPhases` (fase já compilada em cache) e de compilação do texto
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelParseBenchmark {
+    private static final String[] ENEMIES = { "Common", "Flyer" };
+    private static final String[] POWERUPS = { "LaserMode", "ZaWarudo" };
+
+    @Param({"1000", "10000", "100000"})
+    int lines;
+
+    private Path phaseFile;
+    private Config config;
+
+    @Setup(Level.Trial)
+    public void writePhaseFile() throws IOException {
+        var rnd = new Random(5);
+        var text = new StringBuilder();
+        text.append("CHEFE ShadowPlayer 3200 30000 250 -20\n");
+        for (int i = 0; i < lines; i++) {
+            long spawn = rnd.nextInt(600000);
+            int x = rnd.nextInt(480);
+            if (i % 50 == 0) {
+                text.append("POWERUP ").append(POWERUPS[rnd.nextInt(POWERUPS.length)]);
+            } else {
+                text.append("INIMIGO ").append(ENEMIES[rnd.nextInt(ENEMIES.length)]);
+            }
+            text.append(' ').append(spawn).append(' ').append(x).append(" -20\n");
+        }
+        phaseFile = Files.createTempFile("phase-bench", ".txt");
+        Files.writeString(phaseFile, text);
+        config = new Config(1, List.of(phaseFile));
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePhaseFile() throws IOException {
+        Files.deleteIfExists(phaseFile);
+    }
+
+    @Benchmark
+    public LevelSource loadPhases() {
+        return config.loadPhases(5);
+    }
+
+    @Benchmark
+    public ByteBuffer compile() throws IOException {
+        return LevelCompiler.compile(phaseFile);
+    }
+}
@@ -0,0 +1,59 @@
+package org.shootemup.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shootemup.components.Vector2D;
+import org.shootemup.entities.Powerup;
+import org.shootemup.utils.RandomSource;
+
+/// Custo das passagens de colisão (broadphase + testes exatos) e do teste de um par
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    @Param({"10", "100", "1000"})
+    int enemies;
+
+    @Param({"100", "1000", "10000"})
+    int projectiles;
+
+    private Game game;
+    private Powerup a, b;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = Scenarios.populated(enemies, projectiles, 0, 7);
+        a = new Powerup.LaserMode(new Vector2D(100, 100), new RandomSource(1));
+        b = new Powerup.LaserMode(new Vector2D(110, 105), new RandomSource(2));
+    }
+
+    @Benchmark
+    public int collisionPass() {
+        game.checkCollisions();
+        // Os acertos geram explosões, descarta para o próximo passe começar igual
+        int hits = game.getParticles().size();
+        game.getParticles().clear();
+        return hits;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean intersectsPair() {
+        return a.intersects(b);
+    }
+}
@@ -0,0 +1,52 @@
+package org.shootemup.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shootemup.GameLib;
+import org.shootemup.render.NullRenderer;
+
+/// Custo de um tick completo (update + input) em função do número de entidades
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameUpdateBenchmark {
+    @Param({"10", "100", "1000"})
+    int enemies;
+
+    @Param({"100", "1000", "10000"})
+    int projectiles;
+
+    @Param({"0", "100"})
+    int explosions;
+
+    @Param({"0", "4"})
+    int threads;
+
+    private Game game;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        GameLib.setRenderer(new NullRenderer());
+        game = Scenarios.populated(enemies, projectiles, explosions, 42, threads);
+    }
+
+    @Benchmark
+    public void tick() {
+        game.tick();
+    }
+}
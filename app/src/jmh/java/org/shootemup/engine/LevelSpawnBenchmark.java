@@ -0,0 +1,74 @@
+package org.shootemup.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shootemup.ecs.EnemyArchetypes;
+import org.shootemup.ecs.World;
+import org.shootemup.entities.Enemy;
+import org.shootemup.entities.Powerup;
+import org.shootemup.utils.RandomSource;
+
+/// Custo de esvaziar os spawns de uma fase tick a tick pela agenda do Game
+/// (inclui criar as linhas do arquétipo Common)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelSpawnBenchmark {
+    @Param({"1000", "10000", "50000"})
+    int spawns;
+
+    // Duração da fase em ms: os spawns são espalhados nesse intervalo
+    @Param({"60000"})
+    long levelLength;
+
+    private TimingWheel<GameLevel.Spawn> schedule;
+    private final List<GameLevel.Spawn> due = new ArrayList<>();
+    private final List<Enemy> spawned = new ArrayList<>();
+    private final List<Powerup> powerups = new ArrayList<>();
+    private EnemyArchetypes archetypes;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        var rnd = new Random(11);
+        var level = new GameLevel(new RandomSource(11));
+        for (int i = 0; i < spawns; i++) {
+            level.addEnemyFromRawData("Common", (long) (rnd.nextDouble() * levelLength), 1, rnd.nextInt(480), -20);
+        }
+        archetypes = new EnemyArchetypes(new World());
+        schedule = new TimingWheel<>(0);
+        level.start(0, schedule);
+    }
+
+    /// Simula os ticks de 16 ms da fase inteira
+    @Benchmark
+    public int drainLevel() {
+        spawned.clear();
+        int total = 0;
+        for (long t = 0; t <= levelLength; t += 16) {
+            schedule.advance(t, due);
+            for (int i = 0; i < due.size(); i++) {
+                total += due.get(i).spawn(t, spawned, archetypes, powerups);
+            }
+            due.clear();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,107 @@
+package org.shootemup.engine;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shootemup.GameLib;
+import org.shootemup.components.Background;
+import org.shootemup.render.CountingRenderer;
+import org.shootemup.render.DrawCommandBuffer;
+import org.shootemup.render.NullRenderer;
+import org.shootemup.render.Renderer;
+import org.shootemup.render.SoftwareRenderer;
+import org.shootemup.utils.RandomSource;
+
+/// Custo de gerar os comandos de desenho de um frame num backend sem janela
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"100", "1000", "10000"})
+    int projectiles;
+
+    @Param({"null", "counting", "buffer", "software"})
+    String sink;
+
+    private Game game;
+    private Renderer renderer;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = Scenarios.populated(projectiles / 10, projectiles, projectiles / 10, 3);
+        renderer = switch (sink) {
+            case "counting" -> new CountingRenderer(new NullRenderer());
+            case "buffer" -> new DrawCommandBuffer(); // custo de gravar o frame para a thread de renderização
+            case "software" -> new SoftwareRenderer(GameLib.WIDTH, GameLib.HEIGHT, 1); // rasterização completa
+            default -> new NullRenderer();
+        };
+        GameLib.setRenderer(renderer);
+    }
+
+    @Benchmark
+    public void renderFrame() {
+        game.render(1.0);
+        if (renderer instanceof DrawCommandBuffer buffer) buffer.clear();
+    }
+
+    /// Fundo de estrelas sozinho: uma partícula por estrela (`forStars`) contra a camada pré-desenhada (`forStarLayer`)
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public static class Starfield {
+        @Param({"20", "2000", "5000"})
+        int stars; // Por camada
+
+        @Param({"2", "4"})
+        int layers;
+
+        @Param({"false", "true"})
+        boolean cached;
+
+        @Param({"null", "software"})
+        String sink;
+
+        private Background[] backgrounds;
+        private Renderer renderer;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            var random = new RandomSource(3);
+            backgrounds = new Background[layers];
+            for (int i = 0; i < layers; i++) {
+                var color = new Color(128 - 16 * i, 128 - 16 * i, 128 - 16 * i);
+                backgrounds[i] = cached
+                    ? Background.forStarLayer(color, stars, 3 - i % 2, 0.070 - 0.005 * i, random)
+                    : Background.forStars(color, stars, 3 - i % 2, 0.070 - 0.005 * i, random);
+            }
+            renderer = sink.equals("software") ? new SoftwareRenderer(GameLib.WIDTH, GameLib.HEIGHT, 1) : new NullRenderer();
+            GameLib.setRenderer(renderer);
+        }
+
+        /// Um frame a 60 Hz: anima e desenha todas as camadas
+        @Benchmark
+        public void animateAndRender() {
+            for (var background : backgrounds) background.animate(16);
+            for (var background : backgrounds) background.render();
+            GameLib.display();
+        }
+    }
+}
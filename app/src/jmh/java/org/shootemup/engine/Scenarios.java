@@ -0,0 +1,76 @@
+package org.shootemup.engine;
+
+import java.util.List;
+import java.util.Random;
+
+import org.shootemup.GameLib;
+import org.shootemup.components.Explosion;
+import org.shootemup.components.Vector2D;
+import org.shootemup.config.Config;
+import org.shootemup.entities.Projectile;
+import org.shootemup.entities.ProjectilePool;
+import org.shootemup.utils.RandomSource;
+
+/// Monta jogos sintéticos com quantidades fixas de entidades para os benchmarks
+final class Scenarios {
+    private Scenarios() {}
+
+    /**
+     * Jogo sem fases com entidades paradas espalhadas pela tela, assim as contagens ficam
+     * estáveis durante a medição. O player e os inimigos não morrem.
+     * Inimigos ficam na faixa de cima e projéteis do player na de baixo: a broadphase trabalha
+     * com todos, mas os acertos (e as explosões que eles criam) não crescem sem limite.
+     * @param enemies Inimigos do tipo Common
+     * @param projectiles Projéteis (metade do player, metade dos inimigos)
+     * @param explosions Anéis de explosão (partículas) que não terminam
+     * @param seed Semente das posições
+     */
+    static Game populated(int enemies, int projectiles, int explosions, long seed) {
+        return populated(enemies, projectiles, explosions, seed, 0);
+    }
+
+    /// Igual ao `populated` sequencial, com o update dividido entre `threads` threads
+    static Game populated(int enemies, int projectiles, int explosions, long seed, int threads) {
+        var config = new Config(Integer.MAX_VALUE, List.of());
+        config.tickRate = 60;
+        config.seed = seed;
+        config.threads = threads;
+        var game = new Game(config);
+        var rnd = new Random(seed);
+        var random = new RandomSource(seed);
+
+        var common = game.getArchetypes().common;
+        for (int i = 0; i < enemies; i++) {
+            var pos = randomPosition(rnd, 0.0, 0.4);
+            int row = game.getArchetypes().spawnCommon(pos.x, pos.y, random);
+            common.setVelocity(row, 0.0, 0.0);
+            common.setLife(row, Integer.MAX_VALUE);
+        }
+
+        ProjectilePool pool = game.getProjectiles();
+        var playerPos = game.getPlayer().getPosition();
+        for (int i = 0; i < projectiles; i++) {
+            if (i % 2 == 0) {
+                var pos = randomPosition(rnd, 0.6, 1.0);
+                pool.spawn(Projectile.KIND_BULLET, ProjectilePool.FACTION_PLAYER, pos.x, pos.y, 0.0, 0.0);
+            } else {
+                // Longe do player, senão cada tick cria uma explosão por projétil encostado nele
+                var pos = randomPosition(rnd, 0.0, 1.0);
+                if (pos.distance(playerPos) < 40) pos.y = 10;
+                pool.spawn(Projectile.KIND_BALL, ProjectilePool.FACTION_ENEMY, pos.x, pos.y, 0.0, 0.0);
+            }
+        }
+
+        for (int i = 0; i < explosions; i++) {
+            var pos = randomPosition(rnd, 0.0, 1.0);
+            game.getParticles().emit(Explosion.RING, pos.x, pos.y, game.getCurrentTime(), Long.MAX_VALUE / 4);
+        }
+        return game;
+    }
+
+    /// Posição aleatória entre as frações `top` e `bottom` da altura da tela
+    private static Vector2D randomPosition(Random rnd, double top, double bottom) {
+        double y = GameLib.HEIGHT * (top + rnd.nextDouble() * (bottom - top));
+        return new Vector2D(10 + rnd.nextDouble() * (GameLib.WIDTH - 20), Math.clamp(y, 10, GameLib.HEIGHT - 10));
+    }
+}
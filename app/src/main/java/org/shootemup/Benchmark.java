@@ -0,0 +1,72 @@
+package org.shootemup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.shootemup.engine.HeadlessBenchmark;
+import org.shootemup.render.NullRenderer;
+import org.shootemup.render.Renderer;
+import org.shootemup.render.SoftwareRenderer;
+
+/**
+ * Roda um cenário sintético sem janela e imprime o resultado numa linha de JSON.
+ * Opções de linha de comando:
+ *   --common N       inimigos Common
+ *   --flyers N       inimigos Flyer (em formações de 10)
+ *   --shadow N       chefes ShadowPlayer
+ *   --zawarudo N     chefes ZaWarudo
+ *   --powerups N     powerups
+ *   --boss-life N    vida de cada chefe
+ *   --bullets N      projéteis de inimigo extras por segundo simulado
+ *   --duration S     segundos simulados medidos
+ *   --warmup S       segundos simulados antes da medição
+ *   --seed N         semente do cenário
+ *   --threads N      threads do update
+ *   --tickrate N     ticks por segundo simulado
+ *   --software N     rasteriza em software em N faixas paralelas (sem a opção nada é desenhado)
+ *   --out ARQ        acrescenta o JSON em ARQ (uma linha por execução) além de imprimir
+ */
+public class Benchmark {
+
+    public static void main(String[] args) throws IOException {
+        var scenario = new HeadlessBenchmark.Scenario();
+        int softwareBands = 0;
+        Path out = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--common" -> scenario.common = Integer.parseInt(args[++i]);
+                case "--flyers" -> scenario.flyers = Integer.parseInt(args[++i]);
+                case "--shadow" -> scenario.shadowPlayers = Integer.parseInt(args[++i]);
+                case "--zawarudo" -> scenario.zaWarudos = Integer.parseInt(args[++i]);
+                case "--powerups" -> scenario.powerups = Integer.parseInt(args[++i]);
+                case "--boss-life" -> scenario.bossLife = Integer.parseInt(args[++i]);
+                case "--bullets" -> scenario.bulletsPerSecond = Double.parseDouble(args[++i]);
+                case "--duration" -> scenario.duration = Double.parseDouble(args[++i]);
+                case "--warmup" -> scenario.warmup = Double.parseDouble(args[++i]);
+                case "--seed" -> scenario.seed = Long.parseLong(args[++i]);
+                case "--threads" -> scenario.threads = Integer.parseInt(args[++i]);
+                case "--tickrate" -> scenario.tickRate = Integer.parseInt(args[++i]);
+                case "--software" -> softwareBands = Integer.parseInt(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+        if (scenario.tickRate <= 0) {
+            throw new IllegalArgumentException("--tickrate precisa ser positivo");
+        }
+
+        Renderer renderer = softwareBands > 0
+            ? new SoftwareRenderer(GameLib.WIDTH, GameLib.HEIGHT, softwareBands)
+            : new NullRenderer();
+        String json = HeadlessBenchmark.run(scenario, renderer).toJson();
+        System.out.println(json);
+        if (out != null) {
+            Files.writeString(out, json + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        // As threads do SoftwareRenderer não impedem a saída
+        System.exit(0);
+    }
+}
@@ -2,13 +2,21 @@ package org.shootemup;
 
 import java.awt.Color;
 import java.awt.Graphics;
-import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import javax.swing.JFrame;
 
+import org.shootemup.input.KeyEventRing;
+import org.shootemup.render.NullRenderer;
+import org.shootemup.render.RenderStats;
+import org.shootemup.render.Renderer;
+import org.shootemup.render.SoftwareRenderer;
+import org.shootemup.render.Sprite;
+import org.shootemup.render.SwingRenderer;
+import org.shootemup.render.TiledLayer;
+
 /***********************************************************************/
 /*                                                                     */
 /* Classe com métodos úteis para implementação de um jogo. Inclui:     */
@@ -19,8 +27,11 @@ import javax.swing.JFrame;
 /*                                                                     */
 /* - Método para atualizar o display.                                  */
 /*                                                                     */
-/* - Método para verificar o estado (pressionada ou não pressionada)   */
-/*   das teclas usadas no jogo em um dado instante. As seguintes       */
+/* - Método para trocar o backend de desenho (Renderer), permitindo    */
+/*   rodar o jogo sem janela.                                          */
+/*                                                                     */
+/* - Fila com os eventos (pressionada ou solta, com o instante) das    */
+/*   teclas usadas no jogo, lida uma vez por tick. As seguintes        */
 /*   teclas estão disponíveis para serem usadas:                       */
 /*                                                                     */
 /*     - cima, baixo, esquerda, direita, control, e ESC.               */
@@ -40,29 +51,38 @@ public class GameLib {
 	public static final int KEY_ESCAPE = 5;
 
 	private static MyFrame frame = null;
-	private static Graphics g = null;
-	private static MyKeyAdapter keyboard = null;
+	// Eventos de tecla da janela (null sem janela)
+	private static KeyEventRing keyEvents = null;
 
-	private static BufferedImage buffer = null;
-	private static boolean safe_mode = false;
+	// Backend de desenho atual. Sem janela as chamadas são descartadas
+	private static Renderer renderer = new NullRenderer();
 
 	public static void initGraphics(){
 
-		frame = new MyFrame("Projeto COO");
-		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		frame.setSize(WIDTH, HEIGHT);
-		frame.setResizable(false);
-		frame.setVisible(true);
+		createFrame();
+		var swing = new SwingRenderer(frame, false);
+		swing.setBatching(true);
+		swing.setSpriteCache(true);
+		renderer = swing;
+	}
 
-		keyboard = new MyKeyAdapter();
-		frame.addKeyListener(keyboard);
-		frame.requestFocus();
+	public static void initGraphics_SAFE_MODE(){
 
-		frame.createBufferStrategy(2);
-		g = frame.getBufferStrategy().getDrawGraphics();
+		createFrame();
+		var swing = new SwingRenderer(frame, true);
+		swing.setBatching(true);
+		swing.setSpriteCache(true);
+		renderer = swing;
 	}
 
-	public static void initGraphics_SAFE_MODE(){
+	/// Janela desenhada pelo rasterizador em software (SoftwareRenderer), em `bands` faixas paralelas
+	public static void initGraphics_SOFTWARE(int bands){
+
+		createFrame();
+		renderer = new SoftwareRenderer(frame, bands);
+	}
+
+	private static void createFrame(){
 
 		frame = new MyFrame("Projeto COO");
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -70,119 +90,116 @@ public class GameLib {
 		frame.setResizable(false);
 		frame.setVisible(true);
 
-		keyboard = new MyKeyAdapter();
-		frame.addKeyListener(keyboard);
+		keyEvents = new KeyEventRing();
+		frame.addKeyListener(new MyKeyAdapter(keyEvents));
 		frame.requestFocus();
+	}
 
-		frame.createBufferStrategy(1);
-
-		safe_mode = true;
-		buffer = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
-		g = buffer.createGraphics();
+	/// Troca o backend de desenho (ex.: NullRenderer para rodar sem janela)
+	public static void setRenderer(Renderer r){
 
-		System.out.println(frame.getBufferStrategy());
+		renderer = r;
 	}
 
-	public static void setColor(Color c){
+	public static Renderer getRenderer(){
 
-		g.setColor(c);
+		return renderer;
 	}
 
-	public static void drawLine(double x1, double y1, double x2, double y2){
+	/// Liga ou desliga o agrupamento das primitivas por cor na janela (ligado por padrão)
+	public static void setBatching(boolean enabled){
 
-		g.drawLine((int) Math.round(x1), (int) Math.round(y1), (int) Math.round(x2), (int) Math.round(y2));
+		if (renderer instanceof SwingRenderer swing) swing.setBatching(enabled);
 	}
 
-	public static void drawCircle(double cx, double cy, double radius){
+	/// Liga ou desliga o cache de sprites pré-rasterizados na janela (ligado por padrão)
+	public static void setSpriteCache(boolean enabled){
+
+		if (renderer instanceof SwingRenderer swing) swing.setSpriteCache(enabled);
+	}
 
-		int x = (int) Math.round(cx - radius);
-		int y = (int) Math.round(cy - radius);
-		int width = (int) Math.round(2 * radius);
-		int height = (int) Math.round(2 * radius);
+	/// Rasteriza os sprites de novo, ex.: depois de uma mudança de resolução
+	public static void regenerateSprites(){
 
-		g.drawOval(x, y, width, height);
+		if (renderer instanceof SwingRenderer swing) swing.regenerateSprites();
 	}
 
-	public static void drawDiamond(double x, double y, double radius){
+	/// Contadores de desenho por frame do renderer atual (null se ele não mede)
+	public static RenderStats getRenderStats(){
 
-		int x1 = (int) Math.round(x);
-		int y1 = (int) Math.round(y - radius);
+		return renderer.getStats();
+	}
 
-		int x2 = (int) Math.round(x + radius);
-		int y2 = (int) Math.round(y);
+	public static void setColor(Color c){
 
-		int x3 = (int) Math.round(x);
-		int y3 = (int) Math.round(y + radius);
+		renderer.setColor(c);
+	}
 
-		int x4 = (int) Math.round(x - radius);
-		int y4 = (int) Math.round(y);
+	public static void drawLine(double x1, double y1, double x2, double y2){
 
-		drawLine(x1, y1, x2, y2);
-		drawLine(x2, y2, x3, y3);
-		drawLine(x3, y3, x4, y4);
-		drawLine(x4, y4, x1, y1);
+		renderer.drawLine(x1, y1, x2, y2);
 	}
 
-	public static void drawPlayer(double player_X, double player_Y, double player_size){
+	public static void drawCircle(double cx, double cy, double radius){
 
-		GameLib.drawLine(player_X - player_size, player_Y + player_size, player_X, player_Y - player_size);
-		GameLib.drawLine(player_X + player_size, player_Y + player_size, player_X, player_Y - player_size);
-		GameLib.drawLine(player_X - player_size, player_Y + player_size, player_X, player_Y + player_size * 0.5);
-		GameLib.drawLine(player_X + player_size, player_Y + player_size, player_X, player_Y + player_size * 0.5);
+		renderer.drawCircle(cx, cy, radius);
 	}
 
-	public static void drawExplosion(double x, double y, double alpha){
+	public static void drawDiamond(double x, double y, double radius){
+
+		renderer.drawDiamond(x, y, radius);
+	}
 
-		int p = 5;
-		int r = (int) (255 - Math.pow(alpha, p) * 255);
-		int g = (int) (128 - Math.pow(alpha, p) * 128);
-		int b = 0;
+	public static void drawSprite(Sprite sprite, double x, double y){
 
-		GameLib.setColor(new Color(r, g, b));
-		GameLib.drawCircle(x, y, alpha * alpha * 40);
-		GameLib.drawCircle(x, y, alpha * alpha * 40 + 1);
+		renderer.drawSprite(sprite, x, y);
 	}
 
-	public static void fillRect(double cx, double cy, double width, double height){
+	/// Camada que se repete na vertical (ex.: estrelas pré-desenhadas), deslocada offsetY pixels para baixo
+	public static void drawLayer(TiledLayer layer, double offsetY){
+
+		renderer.drawLayer(layer, offsetY);
+	}
 
-		int x = (int) Math.round(cx - width/2);
-		int y = (int) Math.round(cy - height/2);
+	public static void drawText(String text, double x, double y){
 
-		g.fillRect(x, y, (int) Math.round(width), (int) Math.round(height));
+		renderer.drawText(text, x, y);
 	}
 
-	public static void display(){
+	/// Cor da explosão na fração alpha (0 a 1) da duração, lida da tabela em vez de calculada
+	public static Color explosionColor(double alpha){
 
-		if(g != null){
+		int step = (int) (Math.min(Math.max(alpha, 0.0), 1.0) * (EXPLOSION_COLORS.length - 1) + 0.5);
+		return EXPLOSION_COLORS[step];
+	}
 
-			if(safe_mode){
+	// Cores da explosão, do laranja ao preto (alpha^5), calculadas uma vez em vez de a cada frame
+	private static final Color [] EXPLOSION_COLORS = new Color[256];
 
-				frame.getBufferStrategy().getDrawGraphics().drawImage(buffer, 0, 0, null);
-				frame.getBufferStrategy().show();
-				Toolkit.getDefaultToolkit().sync();
-			}
-			else {
+	static {
 
-				g.dispose();
-				frame.getBufferStrategy().show();
-				Toolkit.getDefaultToolkit().sync();
-				g = frame.getBufferStrategy().getDrawGraphics();
-			}
+		for(int i = 0; i < EXPLOSION_COLORS.length; i++){
 
-			g.setColor(Color.BLACK);
-			g.fillRect(0, 0, frame.getWidth() - 1, frame.getHeight() - 1);
-			g.setColor(Color.WHITE);
+			double alpha = (double) i / (EXPLOSION_COLORS.length - 1);
+			double fade = Math.pow(alpha, 5);
+			EXPLOSION_COLORS[i] = new Color((int) (255 - fade * 255), (int) (128 - fade * 128), 0);
 		}
 	}
 
-	public static boolean iskeyPressed(int index){
+	public static void fillRect(double cx, double cy, double width, double height){
 
-		return keyboard.isKeyPressed(index);
+		renderer.fillRect(cx, cy, width, height);
 	}
 
-	public static void debugKeys(){
+	public static void display(){
 
-		keyboard.debug();
+		renderer.display();
+	}
+
+	/// Eventos de tecla da janela, consumidos uma vez por tick (ver InputSource.Keyboard)
+	public static KeyEventRing getKeyEvents(){
+
+		return keyEvents;
 	}
 }
 
@@ -201,82 +218,53 @@ class MyFrame extends JFrame {
 	public void repaint(){ }
 }
 
+/// Publica as teclas do jogo na fila de eventos, com o instante em que o AWT as entregou
 class MyKeyAdapter extends KeyAdapter{
 
-	private int [] codes = {	KeyEvent.VK_UP,
-					KeyEvent.VK_DOWN,
-					KeyEvent.VK_LEFT,
-					KeyEvent.VK_RIGHT,
-					KeyEvent.VK_CONTROL,
-					KeyEvent.VK_ESCAPE
-				};
+	// Índice da tecla (GameLib.KEY_*) de cada código do AWT, -1 para as teclas não usadas
+	private static final byte [] KEY_INDEX = new byte[256];
 
-	private boolean [] keyStates = null;
-	private long [] releaseTimeStamps = null;
+	static {
 
-	public MyKeyAdapter(){
-
-		keyStates = new boolean[codes.length];
-		releaseTimeStamps = new long[codes.length];
+		Arrays.fill(KEY_INDEX, (byte) -1);
+		KEY_INDEX[KeyEvent.VK_UP] = GameLib.KEY_UP;
+		KEY_INDEX[KeyEvent.VK_DOWN] = GameLib.KEY_DOWN;
+		KEY_INDEX[KeyEvent.VK_LEFT] = GameLib.KEY_LEFT;
+		KEY_INDEX[KeyEvent.VK_RIGHT] = GameLib.KEY_RIGHT;
+		KEY_INDEX[KeyEvent.VK_CONTROL] = GameLib.KEY_CONTROL;
+		KEY_INDEX[KeyEvent.VK_ESCAPE] = GameLib.KEY_ESCAPE;
 	}
 
-	public int getIndexFromKeyCode(int keyCode){
+	private final KeyEventRing events;
 
-		for(int i = 0; i < codes.length; i++){
+	public MyKeyAdapter(KeyEventRing events){
 
-			if(codes[i] == keyCode) return i;
-		}
-
-		return -1;
+		this.events = events;
 	}
 
-	public void keyPressed(KeyEvent e){
-
-		//System.out.println("KeyPressed " + e.getWhen() + " " + System.currentTimeMillis());
-
-		int index = getIndexFromKeyCode(e.getKeyCode());
-
-		if(index >= 0){
+	public static int getIndexFromKeyCode(int keyCode){
 
-			keyStates[index] = true;
-		}
+		return keyCode >= 0 && keyCode < KEY_INDEX.length ? KEY_INDEX[keyCode] : -1;
 	}
 
-	public void keyReleased(KeyEvent e){
-
-		//System.out.println("KeyReleased " + e.getWhen() + " " + System.currentTimeMillis());
-
-		int index = getIndexFromKeyCode(e.getKeyCode());
-
-		if(index >= 0){
+	public void keyPressed(KeyEvent e){
 
-			keyStates[index] = false;
-			releaseTimeStamps[index] = System.currentTimeMillis();
-		}
+		publish(e, true);
 	}
 
-	public boolean isKeyPressed(int index){
-
-		boolean keyState = keyStates[index];
-		long keyReleaseTime = releaseTimeStamps[index];
-
-		if(keyState == false){
-
-			if(System.currentTimeMillis() - keyReleaseTime > 5) return false;
-		}
+	public void keyReleased(KeyEvent e){
 
-		return true;
+		publish(e, false);
 	}
 
-	public void debug(){
+	private void publish(KeyEvent e, boolean pressed){
 
-		System.out.print("Key states = {");
+		int index = getIndexFromKeyCode(e.getKeyCode());
 
-		for(int i = 0; i < codes.length; i++){
+		if(index >= 0){
 
-			System.out.print(" " + keyStates[i] + (i < (codes.length - 1) ? "," : ""));
+			// O instante é lido aqui e não em e.getWhen(), que usa outro relógio (ms de parede)
+			events.publish(System.nanoTime(), index, pressed);
 		}
-
-		System.out.println(" }");
 	}
 }
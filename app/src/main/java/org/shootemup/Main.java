@@ -1,12 +1,69 @@
 package org.shootemup;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.shootemup.config.Config;
 import org.shootemup.engine.Game;
+import org.shootemup.input.InputLog;
+import org.shootemup.input.InputSource;
+import org.shootemup.render.NullRenderer;
+import org.shootemup.render.Renderer;
+import org.shootemup.render.SoftwareRenderer;
+import org.shootemup.utils.Clock;
 
+/**
+ * Opções de linha de comando:
+ *   --seed N         semente da partida (sobrescreve SEED do config.txt)
+ *   --record ARQ     grava as teclas de cada tick em ARQ
+ *   --replay ARQ     reproduz uma partida gravada
+ *   --headless       sem janela, o mais rápido possível (útil com --replay)
+ *   --software N     rasteriza em software em N faixas paralelas (com --headless mede a rasterização)
+ */
 public class Main {
 
-    public static void main(String[] args) {
-        Game game = new Game();
-        game.run();
+    public static void main(String[] args) throws IOException {
+        var config = new Config();
+        Path record = null;
+        Path replay = null;
+        boolean headless = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> config.seed = Long.parseLong(args[++i]);
+                case "--record" -> record = Path.of(args[++i]);
+                case "--replay" -> replay = Path.of(args[++i]);
+                case "--headless" -> headless = true;
+                case "--software" -> config.softwareBands = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        Game game;
+        if (replay != null) {
+            // A partida gravada define a semente, o passo e o tempo inicial da simulação
+            var log = new InputLog.Replay(replay);
+            config.seed = log.getSeed();
+            config.tickRate = log.getTickRate();
+            game = new Game(config, log, new Clock.Virtual(log.getStartTime()));
+        } else {
+            game = new Game(config, new InputSource.Keyboard(), new Clock.Wall());
+        }
+        if (record != null) {
+            game.recordInput(record);
+        }
 
+        if (headless) {
+            long start = System.nanoTime();
+            Renderer renderer = config.softwareBands > 0
+                ? new SoftwareRenderer(GameLib.WIDTH, GameLib.HEIGHT, config.softwareBands)
+                : new NullRenderer();
+            long ticks = game.runHeadless(renderer, Long.MAX_VALUE);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d ticks em %.3f s (%.0f ticks/s)%n", ticks, seconds, ticks / seconds);
+            if (game.getProfiler() != null) System.out.println(game.getProfiler().summary());
+        } else {
+            game.run();
+        }
     }
 }
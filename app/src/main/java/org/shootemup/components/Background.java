@@ -5,14 +5,23 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.shootemup.GameLib;
+import org.shootemup.render.TiledLayer;
+import org.shootemup.utils.RandomSource;
 import org.shootemup.utils.Renderable;
 
 /**
  * Representa o fundo do jogo, composto por partículas.
  * Implementa a interface Renderable para ser renderizado na tela.
+ *
+ * No modo em cache as partículas são desenhadas uma única vez numa camada do tamanho da tela
+ * (TiledLayer) e o fundo só guarda o deslocamento vertical dela: animar e desenhar custam o
+ * mesmo com 20 ou com milhares de estrelas. O modo procedural (uma partícula por estrela)
+ * continua disponível para fundos em que cada partícula se mexe de um jeito.
  */
 public class Background implements Renderable {
     List<Particle2D> particles;
+    private TiledLayer layer; // null -> cada partícula é animada e desenhada (procedural)
+    private double offset = 0.0;
     private double speed;
 
     private Background() {}
@@ -23,13 +32,14 @@ public class Background implements Renderable {
      * @param qnt Quantidade de estrelas
      * @param size Tamanho das estrelas
      * @param speed Velocidade de movimento das estrelas
+     * @param random Gerador das posições das estrelas
      * @return Uma instância de Background
      */
-    public static Background forStars(Color color, int qnt, int size, double speed) {
+    public static Background forStars(Color color, int qnt, int size, double speed, RandomSource random) {
         var bg = new Background();
         bg.particles = new ArrayList<>(qnt);
         for (int i = 0; i < qnt; i++) {
-            var pos = new Vector2D(Math.random() * GameLib.WIDTH, Math.random() * GameLib.HEIGHT);
+            var pos = new Vector2D(random.nextDouble() * GameLib.WIDTH, random.nextDouble() * GameLib.HEIGHT);
             bg.particles.add(new Particle2D(pos, new Vector2D(size, size), color));
         }
         bg.speed = speed;
@@ -37,19 +47,55 @@ public class Background implements Renderable {
         return bg;
     }
 
+    /**
+     * Cria um fundo de estrelas pré-desenhado numa camada que se repete na vertical.
+     * Faz os mesmos sorteios de `forStars`, então as estrelas ficam nas mesmas posições
+     * @param color Cor das estrelas
+     * @param qnt Quantidade de estrelas
+     * @param size Tamanho das estrelas
+     * @param speed Velocidade de movimento das estrelas
+     * @param random Gerador das posições das estrelas
+     * @return Uma instância de Background
+     */
+    public static Background forStarLayer(Color color, int qnt, int size, double speed, RandomSource random) {
+        var builder = new TiledLayer.Builder(GameLib.WIDTH, GameLib.HEIGHT);
+        for (int i = 0; i < qnt; i++) {
+            double x = random.nextDouble() * GameLib.WIDTH;
+            double y = random.nextDouble() * GameLib.HEIGHT;
+            builder.fillRect(color, x, y, size, size);
+        }
+        var bg = new Background();
+        bg.particles = List.of();
+        bg.layer = builder.build();
+        bg.speed = speed;
+
+        return bg;
+    }
+
     /* Anima o fundo, atualizando a posição das partículas em função de dt
     * @param dt Diferença de tempo entre um frame e o outro
     */
     public void animate(long dt) {
-        for (Particle2D p: particles) {
-            Vector2D newpos = p.getPosition();
-            newpos.y = (newpos.y + speed * dt) % GameLib.HEIGHT;
-            p.setPosition(newpos);
+        if (layer != null) {
+            // A camada inteira anda junto: só o deslocamento muda
+            offset = (offset + speed * dt) % GameLib.HEIGHT;
+            return;
+        }
+        for (int i = 0; i < particles.size(); i++) {
+            // Altera a posição da partícula in-place
+            Vector2D pos = particles.get(i).getPosition();
+            pos.y = (pos.y + speed * dt) % GameLib.HEIGHT;
         }
     }
 
     @Override
     public void render() {
-        particles.stream().forEach((p)-> p.render());
+        if (layer != null) {
+            GameLib.drawLayer(layer, offset);
+            return;
+        }
+        for (int i = 0; i < particles.size(); i++) {
+            particles.get(i).render();
+        }
     }
 }
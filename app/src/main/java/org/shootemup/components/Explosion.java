@@ -1,29 +1,59 @@
 package org.shootemup.components;
 
+import java.awt.Color;
+
 import org.shootemup.GameLib;
+import org.shootemup.utils.RandomSource;
 
-public class Explosion {
-    private Vector2D position;
-    private long startTime;
-    private long explosionDelta = 0;
-    private long duration;
+/**
+ * Efeito de explosão: um anel que cresce e escurece (o desenho original do GameLib) e um
+ * punhado de faíscas. É só uma receita de emissão: as partículas vivem no ParticleSystem.
+ */
+public final class Explosion {
+    /// Anel da explosão: raio alpha² * 40 e cor do GameLib.explosionColor
+    public static final ParticleSystem.Style RING = new ParticleSystem.Style(ParticleSystem.SHAPE_RING,
+        GameLib::explosionColor, alpha -> alpha * alpha * 40);
+    /// Faísca: amarela, esfria para vermelho escuro e encolhe
+    public static final ParticleSystem.Style SPARK = new ParticleSystem.Style(ParticleSystem.SHAPE_SPARK,
+        alpha -> new Color(255 - (int) (alpha * 135), (int) (220 * (1 - alpha) * (1 - alpha)), 0),
+        alpha -> 3 - 2 * alpha);
 
-    public Explosion(Vector2D position, long starTime, long durationMilis){
-        this.position = position;
-        this.startTime = starTime;
-        this.duration = durationMilis;
-    }
+    /// Acerto num inimigo
+    public static final Explosion HIT = new Explosion(500, 6, 0.05, 0.20, 350);
+    /// Player atingido
+    public static final Explosion PLAYER = new Explosion(2000, 16, 0.05, 0.25, 700);
 
-    public void update(long currentTime) {
-        explosionDelta = currentTime - startTime;
+    private final long duration;
+    private final int sparks;
+    private final double minSparkSpeed;
+    private final double maxSparkSpeed;
+    private final long sparkDuration;
+
+    /**
+     * @param duration Duração do anel em ms
+     * @param sparks Número de faíscas
+     * @param minSparkSpeed Velocidade mínima das faíscas em px/ms
+     * @param maxSparkSpeed Velocidade máxima das faíscas em px/ms
+     * @param sparkDuration Duração das faíscas em ms
+     */
+    public Explosion(long duration, int sparks, double minSparkSpeed, double maxSparkSpeed, long sparkDuration) {
+        this.duration = duration;
+        this.sparks = sparks;
+        this.minSparkSpeed = minSparkSpeed;
+        this.maxSparkSpeed = maxSparkSpeed;
+        this.sparkDuration = sparkDuration;
     }
 
-    public boolean isFinished() {
-        return explosionDelta > duration;
+    /**
+     * Emite a explosão em (x, y)
+     * @param random Gerador das direções das faíscas (só visual, não deve ser o da simulação)
+     */
+    public void emit(ParticleSystem particles, double x, double y, long time, RandomSource random) {
+        particles.emit(RING, x, y, time, duration);
+        particles.burst(SPARK, sparks, x, y, minSparkSpeed, maxSparkSpeed, time, sparkDuration, random);
     }
 
-	public void render() {
-	    double alpha = (double)explosionDelta / (double) duration;
-		GameLib.drawExplosion(position.getX(), position.getY(), alpha);
-	}
+    public long getDuration() {
+        return duration;
+    }
 }
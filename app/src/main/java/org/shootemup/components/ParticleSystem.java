@@ -0,0 +1,211 @@
+package org.shootemup.components;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import org.shootemup.GameLib;
+import org.shootemup.utils.RandomSource;
+
+/**
+ * Partículas de efeitos (explosões, faíscas) em arrays primitivos de capacidade fixa
+ * (structure of arrays, como o ProjectilePool). Cada partícula tem posição, velocidade,
+ * instante de criação, duração e um Style, que tabela a cor e o tamanho pela fração da vida
+ * já decorrida: desenhar não calcula curvas nem cria cores.
+ *
+ * A capacidade é fixa: quando o pool está cheio as partículas novas são descartadas e contadas
+ * em `dropped()`, então o custo de memória e de desenho tem um limite. Remoções trocam a
+ * última partícula para o lugar da removida (swap-remove).
+ */
+public final class ParticleSystem {
+    /// Número de passos das tabelas de cor e tamanho de um Style
+    public static final int LUT_SIZE = 256;
+
+    // Formas de desenho de um Style
+    public static final byte SHAPE_RING = 0;  // Dois círculos concêntricos (raio e raio + 1)
+    public static final byte SHAPE_SPARK = 1; // Quadrado preenchido de lado `size`
+
+    /**
+     * Aparência de uma partícula ao longo da vida. As curvas são calculadas uma única vez na
+     * criação do Style, em LUT_SIZE passos de 0 (nascimento) a 1 (fim da vida)
+     */
+    public static final class Style {
+        final byte shape;
+        final Color[] colors = new Color[LUT_SIZE];
+        final double[] sizes = new double[LUT_SIZE];
+
+        /**
+         * @param shape Forma (SHAPE_*)
+         * @param color Cor em função da fração da vida
+         * @param size Raio (anel) ou lado (faísca) em função da fração da vida
+         */
+        public Style(byte shape, DoubleFunction<Color> color, DoubleUnaryOperator size) {
+            this.shape = shape;
+            for (int i = 0; i < LUT_SIZE; i++) {
+                double t = (double) i / (LUT_SIZE - 1);
+                colors[i] = color.apply(t);
+                sizes[i] = size.applyAsDouble(t);
+            }
+        }
+
+        /// Passo da tabela para a fração `t` da vida
+        static int step(double t) {
+            if (t <= 0.0) return 0;
+            if (t >= 1.0) return LUT_SIZE - 1;
+            return (int) (t * (LUT_SIZE - 1) + 0.5);
+        }
+    }
+
+    private final int capacity;
+    private final double[] x, y, prevX, prevY, vx, vy;
+    private final long[] startTime, duration;
+    private final Style[] style;
+    private int size = 0;
+    private long now = 0; // Instante da última atualização, usado para achar a fração da vida
+    private long dropped = 0;
+
+    /// @param capacity Número máximo de partículas vivas
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        startTime = new long[capacity];
+        duration = new long[capacity];
+        style = new Style[capacity];
+    }
+
+    /**
+     * Cria uma partícula parada
+     * @return Índice da partícula, -1 se o pool está cheio
+     */
+    public int emit(Style style, double x, double y, long time, long duration) {
+        return emit(style, x, y, 0.0, 0.0, time, duration);
+    }
+
+    /**
+     * Cria uma partícula com velocidade em px/ms
+     * @return Índice da partícula, -1 se o pool está cheio
+     */
+    public int emit(Style style, double x, double y, double vx, double vy, long time, long duration) {
+        if (size == capacity) {
+            dropped++;
+            return -1;
+        }
+        int i = size++;
+        this.x[i] = this.prevX[i] = x;
+        this.y[i] = this.prevY[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.startTime[i] = time;
+        this.duration[i] = duration;
+        this.style[i] = style;
+        return i;
+    }
+
+    /**
+     * Cria `count` partículas saindo de (x, y) em direções e velocidades sorteadas
+     * @param minSpeed Velocidade mínima em px/ms
+     * @param maxSpeed Velocidade máxima em px/ms
+     * @param random Gerador das direções e velocidades
+     * @return Número de partículas criadas (menor que `count` se o pool encheu)
+     */
+    public int burst(Style style, int count, double x, double y, double minSpeed, double maxSpeed,
+                     long time, long duration, RandomSource random) {
+        int created = 0;
+        for (int n = 0; n < count; n++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double speed = minSpeed + random.nextDouble() * (maxSpeed - minSpeed);
+            if (emit(style, x, y, Math.cos(angle) * speed, Math.sin(angle) * speed, time, duration) >= 0) created++;
+        }
+        return created;
+    }
+
+    /// Guarda a posição atual de todas as partículas antes de um tick da simulação
+    public void savePreviousState() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /**
+     * Movimenta as partículas e remove as que completaram a duração
+     * @param currentTime Instante atual da simulação
+     * @param dt Tempo decorrido em milissegundos
+     */
+    public void update(long currentTime, long dt) {
+        now = currentTime;
+        int i = 0;
+        while (i < size) {
+            if (currentTime - startTime[i] > duration[i]) {
+                remove(i); // o índice i passa a ter outra partícula, não avança
+                continue;
+            }
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    /**
+     * Renderiza as partículas interpolando entre o tick anterior e o atual
+     * @param alpha Fração do próximo tick já decorrida (1 -> posição atual)
+     */
+    public void render(double alpha) {
+        Color current = null;
+        for (int i = 0; i < size; i++) {
+            var s = style[i];
+            int step = Style.step((double) (now - startTime[i]) / duration[i]);
+            // Partículas do mesmo Style e idade repetem a cor: só troca quando muda
+            if (s.colors[step] != current) {
+                current = s.colors[step];
+                GameLib.setColor(current);
+            }
+            double px = alpha >= 1.0 ? x[i] : prevX[i] + (x[i] - prevX[i]) * alpha;
+            double py = alpha >= 1.0 ? y[i] : prevY[i] + (y[i] - prevY[i]) * alpha;
+            double r = s.sizes[step];
+            if (s.shape == SHAPE_RING) {
+                GameLib.drawCircle(px, py, r);
+                GameLib.drawCircle(px, py, r + 1);
+            } else {
+                GameLib.fillRect(px, py, r, r);
+            }
+        }
+    }
+
+    private void remove(int i) {
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        startTime[i] = startTime[last];
+        duration[i] = duration[last];
+        style[i] = style[last];
+        style[last] = null;
+    }
+
+    public void clear() {
+        Arrays.fill(style, 0, size, null);
+        size = 0;
+    }
+
+    /// Número de partículas vivas
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /// Partículas descartadas porque o pool estava cheio
+    public long dropped() {
+        return dropped;
+    }
+}
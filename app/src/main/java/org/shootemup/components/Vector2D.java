@@ -34,4 +34,35 @@ public class Vector2D extends Point2D.Double {
     public Vector2D multiplyScalar(double s) {
         return new Vector2D(x * s, y * s);
     }
+
+    /* Operações in-place: alteram este vetor e o retornam, sem alocar */
+
+    /**
+     * Altera os componentes do vetor
+     * @return Este vetor
+     */
+    public Vector2D set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Soma `other * s` a este vetor: p.addScaledInPlace(v, dt) avança uma posição com a velocidade v
+     * @param other Vetor a ser somado
+     * @param s Escalar que multiplica `other`
+     * @return Este vetor
+     */
+    public Vector2D addScaledInPlace(Vector2D other, double s) {
+        x += other.x * s;
+        y += other.y * s;
+        return this;
+    }
+
+    /// Quadrado da distância até (ox, oy), evita a raiz quadrada nas checagens de colisão
+    public double distanceSquared(double ox, double oy) {
+        double dx = x - ox;
+        double dy = y - oy;
+        return dx * dx + dy * dy;
+    }
 }
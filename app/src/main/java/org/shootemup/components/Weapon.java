@@ -1,47 +1,56 @@
 package org.shootemup.components;
 
-import java.util.Optional;
-import java.util.function.BiFunction;
-
 import org.shootemup.entities.Projectile;
+import org.shootemup.entities.ProjectilePool;
 
-public class Weapon<T extends Projectile> {
-    private final BiFunction<Vector2D, Vector2D, T> bulletFactory;
+public class Weapon {
+    private final byte projectileKind;
     protected long nextShot;
     protected long reckoilMilis;
 
-    protected Weapon(long reckoil, BiFunction<Vector2D, Vector2D, T> bulletFactoy ) {
+    protected Weapon(long reckoil, byte projectileKind) {
         this.reckoilMilis = reckoil;
-        this.bulletFactory = bulletFactoy;
+        this.projectileKind = projectileKind;
     }
 
-    public static Weapon<Projectile.Bullet> Pistol() {
-        return new Weapon<>(100, Projectile.Bullet::new);
+    public static Weapon Pistol() {
+        return new Weapon(100, Projectile.KIND_BULLET);
     }
 
-    public static Weapon<Projectile.Ball> Cannon() {
-        return new Weapon<>(500, Projectile.Ball::new);
+    public static Weapon Cannon() {
+        return new Weapon(500, Projectile.KIND_BALL);
     }
 
-    public static Weapon<Projectile.timeBall> zapCannon() { /*Referências a cidade de deus KKKKK */
-        return new Weapon<>(100, Projectile.timeBall::new);
+    public static Weapon zapCannon() { /*Referências a cidade de deus KKKKK */
+        return new Weapon(100, Projectile.KIND_TIME_BALL);
     }
 
-    public static Weapon<Projectile.Ball> TripleCannon() {
-        return new Weapon<>(1000, Projectile.Ball::new);
+    public static Weapon TripleCannon() {
+        return new Weapon(1000, Projectile.KIND_BALL);
     }
 
-    public static Weapon<Projectile.Laser> LaserPistol() {
-        return new Weapon<>(20, Projectile.Laser::new);
+    public static Weapon LaserPistol() {
+        return new Weapon(20, Projectile.KIND_LASER);
     }
 
-    public Optional<T> fire(long currentTime, Vector2D pos, Vector2D velocity) {
+    /**
+     * Dispara um projétil direto no pool se a arma já recarregou
+     * @param currentTime Tempo atual
+     * @param x Posição de saída do projétil
+     * @param y Posição de saída do projétil
+     * @param vx Velocidade do projétil
+     * @param vy Velocidade do projétil
+     * @param projectiles Pool que recebe o projétil
+     * @param owner Facção de quem disparou (ProjectilePool.FACTION_*)
+     * @return Se o disparo aconteceu
+     */
+    public boolean fire(long currentTime, double x, double y, double vx, double vy, ProjectilePool projectiles, byte owner) {
         if (currentTime > nextShot) {
-            T bullet = bulletFactory.apply(pos, velocity);
+            projectiles.spawn(projectileKind, owner, x, y, vx, vy);
             nextShot = currentTime + reckoilMilis;
-            return Optional.of(bullet);
+            return true;
         }
-        return Optional.empty();
+        return false;
     }
 
     public long getNextShot() {
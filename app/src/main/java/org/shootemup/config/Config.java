@@ -4,23 +4,49 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import java.util.Scanner;
 
 import org.shootemup.engine.GameLevel;
+import org.shootemup.engine.LevelSource;
+import org.shootemup.utils.RandomSource;
 
 /// Classe de configuração, carrega os arquivos de configuração de monta informações do jogo
 public class Config {
     public int playerLife;
     public List<Path> phaseFiles;
 
+    // Configurações opcionais (linhas `CHAVE valor` depois da lista de fases)
+    public int tickRate = 0; // Frequência da simulação em Hz (0 -> passo variável, como no loop original)
+    public int maxCatchUpSteps = 5; // Máximo de ticks simulados por frame para recuperar atraso
+    public boolean allocationStats = false; // Mede e imprime os bytes alocados por tick/frame ao sair
+    public long seed = 0; // Semente da partida (0 -> sorteada a cada execução)
+    public int threads = 0; // Threads do update (0 ou 1 -> sequencial)
+    public boolean renderThread = false; // Rasteriza os frames numa thread separada da simulação
+    public boolean batching = true; // Agrupa as primitivas por cor antes de desenhar
+    public boolean spriteCache = true; // Desenha as formas das entidades a partir de um atlas pré-rasterizado
+    public int softwareBands = 0; // > 0 -> rasteriza em software (SoftwareRenderer) nesse número de faixas
+    public boolean renderStats = false; // Imprime a média de chamadas de desenho por frame ao sair
+    public int lookahead = 0; // > 0 -> carrega só a primeira fase e prepara as próximas N em segundo plano
+    public boolean profile = false; // Mede o tempo de cada fase do frame e imprime os histogramas ao sair
+    public boolean overlay = false; // Mostra FPS, tempos e entidades na tela (liga a medição)
+    public int stars = 20; // Estrelas em cada camada do fundo
+    public int starLayers = 2; // Camadas do fundo de estrelas (parallax)
+    // Pré-desenha cada camada do fundo em vez de desenhar cada estrela. Pelo RenderBenchmark.Starfield só compensa
+    // com milhares de estrelas por camada (~2000 rasterizando em software, ~5000 no Java2D); com as 20 padrão
+    // desenhar cada estrela custa o mesmo em software e 10-30x menos no Java2D, que copia a tela inteira por camada
+    public boolean starCache = false;
+
     // Arquivo de configuração do jogo
     private static final Path configFilePath = Paths.get("src/main/resources/config.txt");
 
     /// Abre o arquivo de configuração e carrega dados iniciais e arquivo de fases
     public Config() {
+        this(configFilePath);
+    }
+
+    /// Carrega a configuração de outro arquivo
+    public Config(Path configFilePath) {
         try (Scanner configFile = new Scanner(configFilePath)){
             playerLife = configFile.nextInt();
             int numPhases = configFile.nextInt();
@@ -32,61 +58,154 @@ public class Config {
                 phaseFiles.add(Paths.get(configFile.nextLine().trim()));
                 i++;
             }
+            // Lê as configurações opcionais
+            while (configFile.hasNextLine()) {
+                String line = configFile.nextLine().trim();
+                if (line.isEmpty()) continue;
+                readSetting(line.split("\\s+"));
+            }
         } catch (Exception e) {
             System.err.println("Falha ao ler arquivo de configuração: " + e);
         }
     }
 
-    /// Função que carrega as fases do jogo, retorna como uma fila de fases ordenada por ordem do arquivo
-    public Queue<GameLevel> loadPhases() {
-        var phases = new LinkedList<GameLevel>();
+    /// Configuração sem arquivo, com as fases dadas (ex.: cenários gerados pelos benchmarks)
+    public Config(int playerLife, List<Path> phaseFiles) {
+        this.playerLife = playerLife;
+        this.phaseFiles = new ArrayList<>(phaseFiles);
+    }
 
-        for (var file: phaseFiles) {
-            // Abre cada arquivo, lê linha por linha e cria as entidades necessesárias
-            var phase = new GameLevel();
+    /// Interpreta uma linha `CHAVE valor` do arquivo de configuração
+    private void readSetting(String[] tokens) {
+        if (tokens.length != 2) {
+            throw new IllegalArgumentException("Configuração inválida: " + String.join(" ", tokens));
+        }
+        switch (tokens[0]) {
+            case "TICKRATE":
+                tickRate = Integer.parseInt(tokens[1]);
+                break;
+            case "MAXSTEPS":
+                maxCatchUpSteps = Integer.parseInt(tokens[1]);
+                break;
+            case "ALLOCSTATS":
+                allocationStats = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "SEED":
+                seed = Long.parseLong(tokens[1]);
+                break;
+            case "THREADS":
+                threads = Integer.parseInt(tokens[1]);
+                break;
+            case "RENDERTHREAD":
+                renderThread = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "BATCHING":
+                batching = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "SPRITES":
+                spriteCache = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "SOFTWARE":
+                softwareBands = Integer.parseInt(tokens[1]);
+                break;
+            case "RENDERSTATS":
+                renderStats = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "LOOKAHEAD":
+                lookahead = Integer.parseInt(tokens[1]);
+                break;
+            case "PROFILE":
+                profile = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "OVERLAY":
+                overlay = Integer.parseInt(tokens[1]) != 0;
+                break;
+            case "STARS":
+                stars = Integer.parseInt(tokens[1]);
+                break;
+            case "STARLAYERS":
+                starLayers = Integer.parseInt(tokens[1]);
+                break;
+            case "STARCACHE":
+                starCache = Integer.parseInt(tokens[1]) != 0;
+                break;
+            default:
+                throw new IllegalArgumentException("Configuração desconhecida: " + tokens[0]);
+        }
+    }
 
-            try (Scanner scanner = new Scanner(file)) {
-                while (scanner.hasNextLine()) {
-                    String line = scanner.nextLine().trim();
-                    if (line.isEmpty()) continue;
-                    String[] tokens = line.split("\\s+");
+    /**
+     * Função que carrega as fases do jogo, retorna todas já carregadas na ordem do arquivo.
+     * Cada arquivo é lido pela sua versão compilada (LevelCompiler), compilada de novo só quando o texto muda
+     * @param seed Semente da partida: cada fase recebe um gerador derivado dela e do seu índice
+     */
+    public LevelSource loadPhases(long seed) {
+        var phases = new ArrayList<GameLevel>(phaseFiles.size());
+        for (int i = 0; i < phaseFiles.size(); i++) {
+            phases.add(loadPhase(i, seed));
+        }
+        return LevelSource.of(phases);
+    }
 
-                    // Confere o tipo de entidade que temos e se os dados da linha estao no formato certo
-                    // Senao retorna uma exceção
-                    if (tokens[0].contains("CHEFE") && tokens.length == 6) {
-                        String enemyType = tokens[1].trim();
-                        int life = Integer.parseInt(tokens[2]);
-                        long spawnTime = Long.parseLong(tokens[3]);
-                        int x = Integer.parseInt(tokens[4]);
-                        int y = Integer.parseInt(tokens[5]);
-                        phase.addEnemyFromRawData(enemyType, spawnTime, life, x, y);
-                    } else if (tokens[0].contains("INIMIGO") && tokens.length == 5) {
-                        String enemyType = tokens[1].trim();
-                        long spawnTime = Long.parseLong(tokens[2]);
-                        int x = Integer.parseInt(tokens[3]);
-                        int y = Integer.parseInt(tokens[4]);
-                        phase.addEnemyFromRawData(enemyType, spawnTime, 1, x, y);
-                    } else if (tokens[0].contains("POWERUP") && tokens.length == 5) {
-                        String powerupType = tokens[1].trim();
-                        long spawnTime = Long.parseLong(tokens[2]);
-                        int x = Integer.parseInt(tokens[3]);
-                        int y = Integer.parseInt(tokens[4]);
-                        phase.addPowerUpFromRawParts(powerupType, spawnTime, x, y);
-                    } else {
-                        throw new IllegalArgumentException("Formato de dados da fase inválido");
-                    }
+    /**
+     * Carrega só uma fase. Pode ser chamada de qualquer thread: a fase só depende do arquivo,
+     * da semente e do índice, então carregar antes ou depois não muda a partida
+     * @param index Posição da fase na lista de fases
+     * @param seed Semente da partida
+     */
+    public GameLevel loadPhase(int index, long seed) {
+        var file = phaseFiles.get(index);
+        var random = RandomSource.derive(seed, index + 1);
+        try {
+            return new GameLevel(random, LevelCompiler.load(file));
+        } catch (IOException | RuntimeException e) {
+            // Arquivo que não compila: lê o texto direto para carregar o que der e reportar o erro
+            var phase = new GameLevel(random);
+            loadPhaseText(file, phase);
+            return phase;
+        }
+    }
+
+    /// Lê um arquivo de fase em texto linha por linha e cria as entidades necessárias
+    private static void loadPhaseText(Path file, GameLevel phase) {
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine().trim();
+                if (line.isEmpty()) continue;
+                String[] tokens = line.split("\\s+");
+
+                // Confere o tipo de entidade que temos e se os dados da linha estao no formato certo
+                // Senao retorna uma exceção
+                if (tokens[0].contains("CHEFE") && tokens.length == 6) {
+                    String enemyType = tokens[1].trim();
+                    int life = Integer.parseInt(tokens[2]);
+                    long spawnTime = Long.parseLong(tokens[3]);
+                    int x = Integer.parseInt(tokens[4]);
+                    int y = Integer.parseInt(tokens[5]);
+                    phase.addEnemyFromRawData(enemyType, spawnTime, life, x, y);
+                } else if (tokens[0].contains("INIMIGO") && tokens.length == 5) {
+                    String enemyType = tokens[1].trim();
+                    long spawnTime = Long.parseLong(tokens[2]);
+                    int x = Integer.parseInt(tokens[3]);
+                    int y = Integer.parseInt(tokens[4]);
+                    phase.addEnemyFromRawData(enemyType, spawnTime, 1, x, y);
+                } else if (tokens[0].contains("POWERUP") && tokens.length == 5) {
+                    String powerupType = tokens[1].trim();
+                    long spawnTime = Long.parseLong(tokens[2]);
+                    int x = Integer.parseInt(tokens[3]);
+                    int y = Integer.parseInt(tokens[4]);
+                    phase.addPowerUpFromRawParts(powerupType, spawnTime, x, y);
+                } else {
+                    throw new IllegalArgumentException("Formato de dados da fase inválido");
                 }
-            } catch (IOException e) {
-                System.err.printf("Falha ao acessar (%s): %s\n", file, e);
-            } catch (IllegalArgumentException e) {
-                System.err.printf("Falha ao ler dados do arquivo (%s): %s\n", file, e);
-            } catch (IllegalStateException e) {
-                System.err.printf("Falha ao criar uma entidade a partir dos dados do arquivo (%s): %s\n", file, e);
             }
-            phases.addLast(phase);
+        } catch (IOException e) {
+            System.err.printf("Falha ao acessar (%s): %s\n", file, e);
+        } catch (IllegalArgumentException e) {
+            System.err.printf("Falha ao ler dados do arquivo (%s): %s\n", file, e);
+        } catch (IllegalStateException e) {
+            System.err.printf("Falha ao criar uma entidade a partir dos dados do arquivo (%s): %s\n", file, e);
         }
-
-        return phases;
     }
 
 }
@@ -0,0 +1,157 @@
+package org.shootemup.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.shootemup.engine.SpawnTable;
+
+/**
+ * Compila os arquivos de fase em texto (linhas CHEFE/INIMIGO/POWERUP) para o formato binário
+ * da SpawnTable e guarda o resultado em `build/level-cache`. Na próxima carga, se o texto não
+ * mudou (mesmo tamanho e data de modificação), o arquivo compilado é mapeado na memória e lido
+ * sem interpretar nenhuma linha; senão é compilado de novo.
+ */
+public final class LevelCompiler {
+    // Pasta dos arquivos compilados, relativa ao diretório de execução como o config.txt
+    private static final Path CACHE_DIR = Paths.get("build", "level-cache");
+
+    // Intervalo entre as naves de uma onda de Flyers
+    private static final long FLYER_INTERVAL = 120;
+    private static final int FLYER_WAVE = 10;
+
+    private record Spawn(long time, byte type, int life, int x, int y) {}
+
+    private LevelCompiler() {}
+
+    /**
+     * Carrega a tabela de spawns de um arquivo de fase, compilando e atualizando o cache se preciso.
+     * Se o cache não puder ser gravado, usa a tabela compilada na memória
+     * @throws IOException se o arquivo de texto não puder ser lido
+     * @throws IllegalArgumentException se uma linha estiver fora do formato
+     * @throws IllegalStateException se um tipo de inimigo ou powerup não existir
+     */
+    public static SpawnTable load(Path source) throws IOException {
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        Path cached = cachePath(source);
+
+        if (Files.isRegularFile(cached)) {
+            try {
+                var table = SpawnTable.wrap(map(cached));
+                if (table.sourceSize() == size && table.sourceModified() == modified) return table;
+            } catch (IOException | IllegalArgumentException e) {
+                // Cache corrompido ou de outra versão: compila de novo
+            }
+        }
+
+        ByteBuffer compiled = compile(source, size, modified);
+        try {
+            Files.createDirectories(CACHE_DIR);
+            // Grava num temporário e renomeia, assim quem ler ao mesmo tempo nunca vê um arquivo pela metade
+            Path temp = Files.createTempFile(CACHE_DIR, cached.getFileName().toString(), ".tmp");
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (compiled.hasRemaining()) channel.write(compiled);
+            }
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return SpawnTable.wrap(map(cached));
+        } catch (IOException e) {
+            System.err.printf("Falha ao gravar a fase compilada (%s): %s\n", cached, e);
+            return SpawnTable.wrap(compiled.rewind());
+        }
+    }
+
+    /// Compila um arquivo de fase em texto para o formato binário, sem usar o cache
+    public static ByteBuffer compile(Path source) throws IOException {
+        return compile(source, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+    }
+
+    private static ByteBuffer compile(Path source, long size, long modified) throws IOException {
+        var enemies = new ArrayList<Spawn>();
+        var powerups = new ArrayList<Spawn>();
+
+        for (String line : Files.readAllLines(source)) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            String[] tokens = line.split("\\s+");
+
+            if (tokens[0].contains("CHEFE") && tokens.length == 6) {
+                addEnemy(enemies, tokens[1], Long.parseLong(tokens[3]), Integer.parseInt(tokens[2]),
+                    Integer.parseInt(tokens[4]), Integer.parseInt(tokens[5]));
+            } else if (tokens[0].contains("INIMIGO") && tokens.length == 5) {
+                addEnemy(enemies, tokens[1], Long.parseLong(tokens[2]), 1,
+                    Integer.parseInt(tokens[3]), Integer.parseInt(tokens[4]));
+            } else if (tokens[0].contains("POWERUP") && tokens.length == 5) {
+                byte type = switch (tokens[1]) {
+                    case "LaserMode" -> SpawnTable.LASER_MODE;
+                    case "ZaWarudo" -> SpawnTable.ZA_WARUDO_POWERUP;
+                    default -> throw new IllegalStateException("Tipo de powerup não suportado: " + tokens[1]);
+                };
+                powerups.add(new Spawn(Long.parseLong(tokens[2]), type, 1,
+                    Integer.parseInt(tokens[3]), Integer.parseInt(tokens[4])));
+            } else {
+                throw new IllegalArgumentException("Formato de dados da fase inválido");
+            }
+        }
+
+        // Ordenação estável: spawns no mesmo instante mantêm a ordem do arquivo
+        enemies.sort((a, b) -> Long.compare(a.time(), b.time()));
+        powerups.sort((a, b) -> Long.compare(a.time(), b.time()));
+
+        var out = ByteBuffer.allocate(SpawnTable.HEADER_SIZE + (enemies.size() + powerups.size()) * SpawnTable.RECORD_SIZE);
+        out.putInt(SpawnTable.MAGIC)
+            .putInt(SpawnTable.VERSION)
+            .putLong(size)
+            .putLong(modified)
+            .putInt(enemies.size())
+            .putInt(powerups.size());
+        for (var spawn : enemies) write(out, spawn);
+        for (var spawn : powerups) write(out, spawn);
+        return out.flip();
+    }
+
+    private static void addEnemy(List<Spawn> enemies, String type, long time, int life, int x, int y) {
+        switch (type) {
+            case "Common" -> enemies.add(new Spawn(time, SpawnTable.COMMON, life, x, y));
+            case "Flyer" -> {
+                // Cada linha de Flyer é uma onda de naves saindo em sequência
+                for (int i = 0; i < FLYER_WAVE; i++) {
+                    enemies.add(new Spawn(time + i * FLYER_INTERVAL, SpawnTable.FLYER, life, x, y));
+                }
+            }
+            case "ShadowPlayer" -> enemies.add(new Spawn(time, SpawnTable.SHADOW_PLAYER, life, x, y));
+            case "ZaWarudo" -> enemies.add(new Spawn(time, SpawnTable.ZA_WARUDO, life, x, y));
+            default -> throw new IllegalStateException("Inimigo de Tipo não suportado: " + type);
+        }
+    }
+
+    private static void write(ByteBuffer out, Spawn spawn) {
+        out.putLong(spawn.time())
+            .put(spawn.type())
+            .put((byte) 0).put((byte) 0).put((byte) 0)
+            .putInt(spawn.life())
+            .putInt(spawn.x())
+            .putInt(spawn.y());
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        // O mapeamento continua válido depois de fechar o canal
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /// Arquivo compilado de uma fase: nome do texto mais um hash do caminho, para fases de pastas diferentes não colidirem
+    private static Path cachePath(Path source) {
+        Path absolute = source.toAbsolutePath().normalize();
+        String name = absolute.getFileName() + "-" + Integer.toHexString(absolute.toString().hashCode()) + ".lvl";
+        return CACHE_DIR.resolve(name);
+    }
+}
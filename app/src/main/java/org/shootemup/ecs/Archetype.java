@@ -0,0 +1,196 @@
+package org.shootemup.ecs;
+
+import java.util.Arrays;
+
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.RandomSource;
+
+/**
+ * Tabela com todas as entidades de um tipo (mesmo conjunto de componentes). Cada componente
+ * é uma ou mais colunas em arrays primitivos densos; colunas de componentes que o arquétipo
+ * não tem ficam null. Cada entidade é uma linha.
+ *
+ * Remoções são marcadas com `kill()` e aplicadas em `compact()`, que mantém a ordem das
+ * linhas vivas (a ordem dos tiros e sorteios é a ordem de spawn, como na lista de inimigos).
+ * Linhas não devem ser guardadas entre ticks.
+ */
+public final class Archetype {
+    public final int id; // Posição no World, usada nos handles
+    public final String name;
+    public final int mask;
+    public final Sprite sprite; // Todas as entidades do arquétipo são desenhadas com o mesmo sprite
+
+    private int size = 0;
+    private int dead = 0; // Linhas marcadas para remoção
+    private boolean[] killed;
+
+    // POSITION
+    double[] x, y, prevX, prevY;
+    // VELOCITY
+    double[] vx, vy;
+    // COLLIDER
+    double[] radius;
+    int[] layer; // Camadas de colisão (CollisionLayer)
+    // LIFE
+    int[] life;
+    // WEAPON
+    long[] nextShot, recoil;
+    byte[] projectileKind;
+    RandomSource[] random;
+    // ORBIT
+    double[] angle, rotationSpeed;
+    boolean[] armed;
+
+    Archetype(int id, String name, int mask, Sprite sprite, int initialCapacity) {
+        this.id = id;
+        this.name = name;
+        this.mask = mask;
+        this.sprite = sprite;
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    /// Se o arquétipo tem todos os componentes de `components`
+    public boolean has(int components) {
+        return (mask & components) == components;
+    }
+
+    /**
+     * Adiciona uma entidade com todas as colunas zeradas
+     * @return Linha da entidade, válida até o próximo `compact()`
+     */
+    public int add() {
+        if (size == killed.length) allocate(size * 2);
+        int i = size++;
+        killed[i] = false;
+        if (x != null) x[i] = y[i] = prevX[i] = prevY[i] = 0.0;
+        if (vx != null) vx[i] = vy[i] = 0.0;
+        if (radius != null) { radius[i] = 0.0; layer[i] = 0; }
+        if (life != null) life[i] = 0;
+        if (nextShot != null) { nextShot[i] = recoil[i] = 0; projectileKind[i] = 0; random[i] = null; }
+        if (angle != null) { angle[i] = rotationSpeed[i] = 0.0; armed[i] = false; }
+        return i;
+    }
+
+    /// Marca a linha para remoção no próximo `compact()`
+    public void kill(int i) {
+        if (!killed[i]) {
+            killed[i] = true;
+            dead++;
+        }
+    }
+
+    public boolean isKilled(int i) {
+        return killed[i];
+    }
+
+    /// Remove as linhas marcadas, deslocando as vivas para frente sem mudar a ordem delas
+    public void compact() {
+        if (dead == 0) return;
+        int to = 0;
+        for (int from = 0; from < size; from++) {
+            if (killed[from]) continue;
+            if (to != from) move(from, to);
+            to++;
+        }
+        // Solta as referências das linhas que sobraram no fim
+        if (random != null) Arrays.fill(random, to, size, null);
+        size = to;
+        dead = 0;
+    }
+
+    public void clear() {
+        if (random != null) Arrays.fill(random, 0, size, null);
+        size = 0;
+        dead = 0;
+    }
+
+    public int size() { return size; }
+    public double x(int i) { return x[i]; }
+    public double y(int i) { return y[i]; }
+    public double vx(int i) { return vx[i]; }
+    public double vy(int i) { return vy[i]; }
+    public double radius(int i) { return radius[i]; }
+    public int layer(int i) { return layer[i]; }
+    public int life(int i) { return life[i]; }
+
+    public void setPosition(int i, double px, double py) {
+        x[i] = prevX[i] = px;
+        y[i] = prevY[i] = py;
+    }
+
+    public void setVelocity(int i, double vx, double vy) {
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+    }
+
+    public void setLife(int i, int life) {
+        this.life[i] = life;
+    }
+
+    private void move(int from, int to) {
+        killed[to] = false;
+        if (x != null) {
+            x[to] = x[from];
+            y[to] = y[from];
+            prevX[to] = prevX[from];
+            prevY[to] = prevY[from];
+        }
+        if (vx != null) {
+            vx[to] = vx[from];
+            vy[to] = vy[from];
+        }
+        if (radius != null) {
+            radius[to] = radius[from];
+            layer[to] = layer[from];
+        }
+        if (life != null) life[to] = life[from];
+        if (nextShot != null) {
+            nextShot[to] = nextShot[from];
+            recoil[to] = recoil[from];
+            projectileKind[to] = projectileKind[from];
+            random[to] = random[from];
+        }
+        if (angle != null) {
+            angle[to] = angle[from];
+            rotationSpeed[to] = rotationSpeed[from];
+            armed[to] = armed[from];
+        }
+    }
+
+    /// Cria (ou aumenta) só as colunas dos componentes do arquétipo
+    private void allocate(int capacity) {
+        killed = killed == null ? new boolean[capacity] : Arrays.copyOf(killed, capacity);
+        if (has(Component.POSITION)) {
+            x = grow(x, capacity);
+            y = grow(y, capacity);
+            prevX = grow(prevX, capacity);
+            prevY = grow(prevY, capacity);
+        }
+        if (has(Component.VELOCITY)) {
+            vx = grow(vx, capacity);
+            vy = grow(vy, capacity);
+        }
+        if (has(Component.COLLIDER)) {
+            radius = grow(radius, capacity);
+            layer = layer == null ? new int[capacity] : Arrays.copyOf(layer, capacity);
+        }
+        if (has(Component.LIFE)) {
+            life = life == null ? new int[capacity] : Arrays.copyOf(life, capacity);
+        }
+        if (has(Component.WEAPON)) {
+            nextShot = nextShot == null ? new long[capacity] : Arrays.copyOf(nextShot, capacity);
+            recoil = recoil == null ? new long[capacity] : Arrays.copyOf(recoil, capacity);
+            projectileKind = projectileKind == null ? new byte[capacity] : Arrays.copyOf(projectileKind, capacity);
+            random = random == null ? new RandomSource[capacity] : Arrays.copyOf(random, capacity);
+        }
+        if (has(Component.ORBIT)) {
+            angle = grow(angle, capacity);
+            rotationSpeed = grow(rotationSpeed, capacity);
+            armed = armed == null ? new boolean[capacity] : Arrays.copyOf(armed, capacity);
+        }
+    }
+
+    private static double[] grow(double[] column, int capacity) {
+        return column == null ? new double[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
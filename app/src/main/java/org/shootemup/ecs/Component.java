@@ -0,0 +1,28 @@
+package org.shootemup.ecs;
+
+/**
+ * Componentes que uma entidade do World pode ter. Cada componente é um bit: a máscara de um
+ * arquétipo diz quais colunas a tabela dele tem, e os sistemas pedem ao World só os
+ * arquétipos que têm (ou não têm) certos bits.
+ */
+public final class Component {
+    /// Posição atual e do tick anterior (x, y, prevX, prevY)
+    public static final int POSITION = 1;
+    /// Velocidade em px/ms (vx, vy)
+    public static final int VELOCITY = 1 << 1;
+    /// Hitbox circular e camadas de colisão (radius, layer)
+    public static final int COLLIDER = 1 << 2;
+    /// Pontos de vida (life)
+    public static final int LIFE = 1 << 3;
+    /// Estado da arma (nextShot, recoil, projectileKind) e gerador dos sorteios dos tiros
+    public static final int WEAPON = 1 << 4;
+    /// Movimento em curva: a velocidade é aplicada na direção de `angle`, que gira com `rotationSpeed`.
+    /// `armed` fica verdadeiro quando a curva termina
+    public static final int ORBIT = 1 << 5;
+    /// Arma dispara um tiro reto para baixo com recarga sorteada (Enemy.Common)
+    public static final int CANNON = 1 << 6;
+    /// Arma dispara um leque de 3 tiros quando `armed` (Enemy.Flyer)
+    public static final int SPREAD = 1 << 7;
+
+    private Component() {}
+}
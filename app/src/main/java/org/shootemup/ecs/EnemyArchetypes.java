@@ -0,0 +1,64 @@
+package org.shootemup.ecs;
+
+import java.awt.Color;
+
+import org.shootemup.entities.Projectile;
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.CollisionLayer;
+import org.shootemup.utils.RandomSource;
+
+/**
+ * Inimigos comuns expressos como arquétipos do World. Os chefes (Enemy.ShadowPlayer e
+ * Enemy.ZaWarudo) continuam objetos: são um por fase e têm barra de vida e ataques próprios.
+ */
+public final class EnemyArchetypes {
+    /// Inimigo tipo comum: se movimenta para frente e atira
+    public static final int COMMON = Component.POSITION | Component.VELOCITY | Component.COLLIDER
+        | Component.LIFE | Component.WEAPON | Component.CANNON;
+    /// Inimigo tipo Flyers (voadores), andam em formação, giram e disparam multiplos tiros
+    public static final int FLYER = Component.POSITION | Component.VELOCITY | Component.COLLIDER
+        | Component.LIFE | Component.WEAPON | Component.ORBIT | Component.SPREAD;
+
+    private static final Sprite COMMON_SPRITE = Sprite.of("Enemy.Common", Color.CYAN, 9.0, Sprite.Shape.CIRCLE);
+    private static final Sprite FLYER_SPRITE = Sprite.of("Enemy.Flyer", Color.MAGENTA, 12.0, Sprite.Shape.DIAMOND);
+
+    public final World world;
+    public final Archetype common;
+    public final Archetype flyer;
+
+    /// Registra os arquétipos dos inimigos em `world`
+    public EnemyArchetypes(World world) {
+        this.world = world;
+        this.common = world.register("Enemy.Common", COMMON, COMMON_SPRITE);
+        this.flyer = world.register("Enemy.Flyer", FLYER, FLYER_SPRITE);
+    }
+
+    /// Cria um inimigo comum, a velocidade é sorteada em `random`
+    public int spawnCommon(double x, double y, RandomSource random) {
+        int i = common.add();
+        common.setPosition(i, x, y);
+        common.setVelocity(i, 0.0, 0.20 + random.nextDouble() * 0.15);
+        common.radius[i] = 9.0;
+        common.layer[i] = CollisionLayer.ENEMY;
+        common.life[i] = 1;
+        common.recoil[i] = 500;
+        common.projectileKind[i] = Projectile.KIND_BALL;
+        common.random[i] = random;
+        return i;
+    }
+
+    /// Cria um voador, começa descendo e só atira depois de completar a curva
+    public int spawnFlyer(double x, double y, RandomSource random) {
+        int i = flyer.add();
+        flyer.setPosition(i, x, y);
+        flyer.setVelocity(i, 0.42, 0.42);
+        flyer.radius[i] = 12.0;
+        flyer.layer[i] = CollisionLayer.ENEMY;
+        flyer.life[i] = 1;
+        flyer.recoil[i] = 1000;
+        flyer.projectileKind[i] = Projectile.KIND_BALL;
+        flyer.random[i] = random;
+        flyer.angle[i] = (3 * Math.PI) / 2;
+        return i;
+    }
+}
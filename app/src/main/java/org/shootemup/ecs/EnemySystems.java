@@ -0,0 +1,152 @@
+package org.shootemup.ecs;
+
+import org.shootemup.GameLib;
+import org.shootemup.engine.CollisionBuckets;
+import org.shootemup.entities.ProjectilePool;
+
+/**
+ * Sistemas que atualizam as entidades do World. Cada sistema pede os arquétipos com os
+ * componentes que usa e percorre as colunas deles; o comportamento de cada tipo de inimigo
+ * vem só dos componentes do seu arquétipo.
+ *
+ * Os sistemas de movimento trabalham num intervalo de linhas de um arquétipo, para poderem
+ * ser divididos em blocos pelo `SystemScheduler.parallelFor`.
+ */
+public final class EnemySystems {
+    // Componentes de cada sistema
+    public static final int LINEAR_MOVEMENT = Component.POSITION | Component.VELOCITY;
+    public static final int ORBIT_MOVEMENT = Component.POSITION | Component.VELOCITY | Component.ORBIT;
+
+    // Altura em que os arquétipos com ORBIT começam a curva
+    private static final double ORBIT_THRESHOLD = GameLib.HEIGHT * 0.30;
+    private static final double ORBIT_TURN_SPEED = 0.003;
+    // Leque do SPREAD: três direções para baixo, cada uma sorteada em +-PI/12
+    private static final double[] SPREAD_ANGLES = { Math.PI/2 + Math.PI/8, Math.PI/2, Math.PI/2 - Math.PI/8 };
+    private static final double SPREAD_SPEED = 0.30;
+    private static final double CANNON_SPEED = 0.45;
+
+    private EnemySystems() {}
+
+    /// Guarda a posição atual antes de um tick da simulação
+    public static void savePreviousState(World world) {
+        for (var a : world.query(Component.POSITION)) {
+            System.arraycopy(a.x, 0, a.prevX, 0, a.size());
+            System.arraycopy(a.y, 0, a.prevY, 0, a.size());
+        }
+    }
+
+    /// Movimento em linha reta (arquétipos com `LINEAR_MOVEMENT` e sem ORBIT)
+    public static void moveLinear(Archetype a, int from, int to, long dt) {
+        double[] x = a.x, y = a.y, vx = a.vx, vy = a.vy;
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+        }
+    }
+
+    /**
+     * Movimento em curva (arquétipos com `ORBIT_MOVEMENT`): desce até 30% da altura, gira
+     * meia volta para o lado mais perto da borda e fica pronto para atirar quando a curva termina
+     */
+    public static void moveOrbit(Archetype a, int from, int to, long dt) {
+        double[] x = a.x, y = a.y, vx = a.vx, vy = a.vy;
+        double[] angle = a.angle, rotationSpeed = a.rotationSpeed;
+        for (int i = from; i < to; i++) {
+            double prevY = y[i];
+
+            x[i] += vx[i] * Math.cos(angle[i]) * dt;
+            y[i] -= vy[i] * Math.sin(angle[i]) * dt;
+
+            angle[i] += rotationSpeed[i] * dt;
+
+            if (prevY < ORBIT_THRESHOLD && y[i] >= ORBIT_THRESHOLD) {
+                rotationSpeed[i] = x[i] < GameLib.WIDTH / 2 ? ORBIT_TURN_SPEED : -ORBIT_TURN_SPEED;
+            }
+
+            if (rotationSpeed[i] > 0 && Math.abs(angle[i] - 3 * Math.PI) < 0.05) {
+                rotationSpeed[i] = 0.0;
+                angle[i] = 3 * Math.PI;
+                a.armed[i] = true;
+            } else if (rotationSpeed[i] < 0 && Math.abs(angle[i]) < 0.05) {
+                rotationSpeed[i] = 0.0;
+                angle[i] = 0.0;
+                a.armed[i] = true;
+            }
+        }
+    }
+
+    /// Remove as entidades que saíram da tela (com uma margem de 10 px)
+    public static void cull(World world) {
+        for (var a : world.query(Component.POSITION)) {
+            for (int i = 0; i < a.size(); i++) {
+                double px = a.x[i], py = a.y[i];
+                if (py > GameLib.HEIGHT + 10 || px < -10 || px > GameLib.WIDTH + 10) a.kill(i);
+            }
+            a.compact();
+        }
+    }
+
+    /**
+     * Tentativa de tiro de todas as entidades com arma. Sequencial: a ordem dos tiros no pool
+     * e dos sorteios é a ordem dos arquétipos e, dentro de cada um, a ordem de spawn
+     */
+    public static void fire(World world, long currentTime, ProjectilePool projectiles) {
+        for (var a : world.query(Component.POSITION | Component.WEAPON)) {
+            if (a.has(Component.CANNON)) fireCannons(a, currentTime, projectiles);
+            if (a.has(Component.SPREAD | Component.ORBIT)) fireSpreads(a, currentTime, projectiles);
+        }
+    }
+
+    private static void fireCannons(Archetype a, long currentTime, ProjectilePool projectiles) {
+        for (int i = 0; i < a.size(); i++) {
+            if (currentTime > a.nextShot[i]) {
+                projectiles.spawn(a.projectileKind[i], ProjectilePool.FACTION_ENEMY, a.x[i], a.y[i], 0.0, CANNON_SPEED);
+                a.nextShot[i] = (long) (currentTime + 200 + a.random[i].nextDouble() * a.recoil[i]);
+            }
+        }
+    }
+
+    private static void fireSpreads(Archetype a, long currentTime, ProjectilePool projectiles) {
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.armed[i] || currentTime < a.nextShot[i]) continue;
+
+            a.armed[i] = false;
+            a.nextShot[i] = currentTime + a.recoil[i];
+
+            for (double shotAngle : SPREAD_ANGLES) {
+                double finalAngle = shotAngle + a.random[i].nextDouble() * Math.PI/6 - Math.PI/12;
+                double vx = Math.cos(finalAngle) * SPREAD_SPEED;
+                double vy = Math.sin(finalAngle) * SPREAD_SPEED;
+                projectiles.spawn(a.projectileKind[i], ProjectilePool.FACTION_ENEMY, a.x[i], a.y[i], vx, vy);
+            }
+        }
+    }
+
+    /// Copia as hitboxes para os baldes das suas camadas, com `~handle` como referência
+    public static void gatherColliders(World world, CollisionBuckets buckets) {
+        for (var a : world.query(Component.POSITION | Component.COLLIDER)) {
+            for (int i = 0; i < a.size(); i++) {
+                buckets.add(a.layer[i], a.x[i], a.y[i], a.radius[i], ~World.handle(a, i));
+            }
+        }
+    }
+
+    /**
+     * Renderiza as entidades numa posição interpolada entre o tick anterior e o atual
+     * @param alpha Fração do próximo tick já decorrida (1 -> posição atual)
+     */
+    public static void render(World world, double alpha) {
+        for (var a : world.query(Component.POSITION)) {
+            if (a.sprite == null) continue;
+            for (int i = 0; i < a.size(); i++) {
+                if (alpha >= 1.0) {
+                    GameLib.drawSprite(a.sprite, a.x[i], a.y[i]);
+                } else {
+                    GameLib.drawSprite(a.sprite,
+                        a.prevX[i] + (a.x[i] - a.prevX[i]) * alpha,
+                        a.prevY[i] + (a.y[i] - a.prevY[i]) * alpha);
+                }
+            }
+        }
+    }
+}
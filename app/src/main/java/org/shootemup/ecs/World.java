@@ -0,0 +1,97 @@
+package org.shootemup.ecs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.shootemup.render.Sprite;
+
+/**
+ * Conjunto de arquétipos (tabelas de entidades com os mesmos componentes).
+ * Os sistemas pedem os arquétipos que combinam com uma máscara e percorrem as colunas deles
+ * direto, sem `instanceof` nem chamadas virtuais por entidade: um tipo novo de entidade é
+ * só um arquétipo novo com componentes que os sistemas já conhecem.
+ *
+ * Uma entidade pode ser referenciada dentro de um tick por um handle (arquétipo + linha),
+ * usado pela broadphase.
+ */
+public final class World {
+    private static final int ROW_BITS = 24;
+    private static final int ROW_MASK = (1 << ROW_BITS) - 1;
+
+    private final List<Archetype> archetypes = new ArrayList<>();
+    // Consultas já feitas: (incluídos, excluídos) -> arquétipos que combinam
+    private final Map<Long, Archetype[]> queries = new HashMap<>();
+
+    /**
+     * Registra um arquétipo novo
+     * @param name Nome do tipo (ex.: "Enemy.Common")
+     * @param mask Componentes do arquétipo (bits de `Component`)
+     * @param sprite Sprite desenhado para cada entidade do arquétipo
+     */
+    public Archetype register(String name, int mask, Sprite sprite) {
+        var archetype = new Archetype(archetypes.size(), name, mask, sprite, 32);
+        archetypes.add(archetype);
+        queries.clear();
+        return archetype;
+    }
+
+    /// Arquétipos que têm todos os componentes de `include`
+    public Archetype[] query(int include) {
+        return query(include, 0);
+    }
+
+    /**
+     * Arquétipos que têm todos os componentes de `include` e nenhum de `exclude`.
+     * O resultado é guardado, então consultar a cada tick não aloca
+     */
+    public Archetype[] query(int include, int exclude) {
+        long key = ((long) include << 32) | (exclude & 0xFFFFFFFFL);
+        var result = queries.get(key);
+        if (result == null) {
+            result = archetypes.stream()
+                .filter(a -> a.has(include) && (a.mask & exclude) == 0)
+                .toArray(Archetype[]::new);
+            queries.put(key, result);
+        }
+        return result;
+    }
+
+    public Archetype get(int id) {
+        return archetypes.get(id);
+    }
+
+    /// Handle de uma linha, válido até o próximo `compact()` do arquétipo
+    public static int handle(Archetype archetype, int row) {
+        return (archetype.id << ROW_BITS) | row;
+    }
+
+    public Archetype archetypeOf(int handle) {
+        return archetypes.get(handle >>> ROW_BITS);
+    }
+
+    public static int rowOf(int handle) {
+        return handle & ROW_MASK;
+    }
+
+    /// Número de entidades em todos os arquétipos
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < archetypes.size(); i++) total += archetypes.get(i).size();
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /// Aplica as remoções marcadas em todos os arquétipos
+    public void compact() {
+        for (int i = 0; i < archetypes.size(); i++) archetypes.get(i).compact();
+    }
+
+    public void clear() {
+        for (int i = 0; i < archetypes.size(); i++) archetypes.get(i).clear();
+    }
+}
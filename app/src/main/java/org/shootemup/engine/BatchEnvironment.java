@@ -0,0 +1,279 @@
+package org.shootemup.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.shootemup.GameLib;
+import org.shootemup.config.Config;
+import org.shootemup.ecs.Archetype;
+import org.shootemup.ecs.Component;
+import org.shootemup.entities.ProjectilePool;
+import org.shootemup.input.InputSource;
+import org.shootemup.utils.Clock;
+
+/**
+ * Várias partidas independentes avançadas juntas, um tick por `step()`, para treino de
+ * agentes e testes de balanceamento sem uma JVM por partida.
+ *
+ * Cada `step()` recebe uma ação por partida (máscara de teclas, como `InputSource.poll()`),
+ * divide as partidas em blocos entre as threads de um SystemScheduler e escreve observações,
+ * recompensas e fins de episódio em arrays primitivos alocados uma única vez. As partidas só
+ * rodam a simulação (`Game.tick()`), nunca `render()`. Todo desenho, inclusive os efeitos dos
+ * power-ups, fica no `render()`, e as teclas vêm das ações de `step()`, não da fila do GameLib:
+ * o `tick()` não chama o GameLib, então as partidas não compartilham o renderer nem o teclado.
+ *
+ * Quando um episódio acaba (vitória, morte ou `maxEpisodeTicks`) a partida é recriada com a
+ * semente do próximo episódio no mesmo `step()`: a recompensa e o fim são do episódio que
+ * acabou e a observação já é a do começo do novo.
+ */
+public final class BatchEnvironment implements AutoCloseable {
+    // Layout da observação de cada partida (floats, posições divididas por WIDTH/HEIGHT)
+    public static final int MAX_ENEMIES = 32;     // Inimigos observados: x, y
+    public static final int MAX_PROJECTILES = 64; // Projéteis de inimigo observados: x, y, vx, vy (px/ms)
+    public static final int MAX_POWERUPS = 4;     // Powerups observados: x, y
+    public static final int PLAYER_OFFSET = 0;    // x, y, vida, inimigos, projéteis, powerups (contagens observadas)
+    public static final int ENEMY_OFFSET = 6;
+    public static final int PROJECTILE_OFFSET = ENEMY_OFFSET + 2 * MAX_ENEMIES;
+    public static final int POWERUP_OFFSET = PROJECTILE_OFFSET + 4 * MAX_PROJECTILES;
+    public static final int OBSERVATION_SIZE = POWERUP_OFFSET + 2 * MAX_POWERUPS;
+
+    /// Teclas aceitas numa ação: setas e tiro (ESC encerraria a partida)
+    public static final int ACTION_MASK = (1 << GameLib.KEY_UP) | (1 << GameLib.KEY_DOWN) | (1 << GameLib.KEY_LEFT)
+        | (1 << GameLib.KEY_RIGHT) | (1 << GameLib.KEY_CONTROL);
+
+    // Recompensa de um tick: acertos e inimigos mortos pelo player, menos a vida perdida
+    public double hitReward = 0.1;
+    public double killReward = 1.0;
+    public double damagePenalty = 1.0;
+    public long maxEpisodeTicks = 60 * 60 * 5; // Episódios mais longos são cortados (truncated)
+
+    private final int size;
+    private final Config config;
+    private final LongFunction<LevelSource> levels;
+    private final long seed;
+    private final SystemScheduler workers;
+
+    private final Game[] games;
+    private final ActionInput[] inputs;
+    private final long[] episodes; // Episódios já iniciados em cada partida
+    private final int[] lastLife;
+    private final long[] lastHits;
+    private final long[] lastKills;
+
+    private final float[] observations;
+    private final float[] rewards;
+    private final boolean[] dones;
+    private final boolean[] truncated;
+    private int[] actions;
+    // Corpo dos blocos guardado em campo: uma method reference por step alocaria
+    private final SystemScheduler.RangeBody stepChunk = this::stepRange;
+    private final SystemScheduler.RangeBody resetChunk = this::resetRange;
+
+    /**
+     * Partidas com as fases dos arquivos da configuração
+     * @param config Configuração das partidas (vida do player, fases, TICKRATE); não é alterada
+     * @param size Número de partidas
+     * @param threads Threads que dividem as partidas (<= 1 -> sequencial)
+     * @param seed Semente do lote: cada partida e episódio tem a sua, derivada dela
+     */
+    public BatchEnvironment(Config config, int size, int threads, long seed) {
+        this(config, size, threads, seed, config::loadPhases);
+    }
+
+    /**
+     * Partidas com fases montadas pelo código (ex.: cenários do HeadlessBenchmark)
+     * @param levels Fases de um episódio a partir da semente dele; chamado pelas threads do lote
+     */
+    public BatchEnvironment(Config config, int size, int threads, long seed, LongFunction<LevelSource> levels) {
+        if (size <= 0) throw new IllegalArgumentException("O lote precisa de pelo menos uma partida");
+        this.size = size;
+        this.config = config;
+        this.levels = levels;
+        this.seed = seed;
+        // Um bloco por partida: o custo de um tick varia muito entre partidas
+        this.workers = new SystemScheduler(threads, 1);
+
+        games = new Game[size];
+        inputs = new ActionInput[size];
+        episodes = new long[size];
+        lastLife = new int[size];
+        lastHits = new long[size];
+        lastKills = new long[size];
+        observations = new float[size * OBSERVATION_SIZE];
+        rewards = new float[size];
+        dones = new boolean[size];
+        truncated = new boolean[size];
+        for (int i = 0; i < size; i++) inputs[i] = new ActionInput();
+        reset();
+    }
+
+    /// Recomeça todas as partidas (novo episódio em cada uma) e escreve as observações iniciais
+    public void reset() {
+        workers.parallelFor(size, resetChunk);
+        Arrays.fill(rewards, 0.0f);
+        Arrays.fill(dones, false);
+        Arrays.fill(truncated, false);
+    }
+
+    /**
+     * Avança todas as partidas em um tick
+     * @param actions Máscara de teclas de cada partida (bits `1 << GameLib.KEY_*`, fora de ACTION_MASK são ignorados)
+     */
+    public void step(int[] actions) {
+        if (actions.length != size) {
+            throw new IllegalArgumentException("Esperava " + size + " ações, recebeu " + actions.length);
+        }
+        this.actions = actions;
+        workers.parallelFor(size, stepChunk);
+    }
+
+    private void stepRange(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) {
+            var game = games[i];
+            inputs[i].keys = actions[i] & ACTION_MASK;
+            game.tick();
+
+            int life = game.getPlayer().getHP();
+            long hits = game.getEnemyHits();
+            long kills = game.getEnemyKills();
+            rewards[i] = (float) ((hits - lastHits[i]) * hitReward + (kills - lastKills[i]) * killReward
+                - (lastLife[i] - life) * damagePenalty);
+            lastLife[i] = life;
+            lastHits[i] = hits;
+            lastKills[i] = kills;
+
+            boolean ended = !game.isRunning() || life == 0;
+            truncated[i] = !ended && game.getTickCount() >= maxEpisodeTicks;
+            dones[i] = ended || truncated[i];
+            if (dones[i]) {
+                restart(i);
+            } else {
+                observe(i);
+            }
+        }
+    }
+
+    private void resetRange(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) restart(i);
+    }
+
+    /// Troca a partida `i` por uma nova, com a semente do próximo episódio
+    private void restart(int i) {
+        if (games[i] != null) games[i].endHeadless();
+        long episodeSeed = episodeSeed(i, episodes[i]++);
+        var episodeConfig = new Config(config.playerLife, List.of());
+        episodeConfig.seed = episodeSeed;
+        episodeConfig.tickRate = config.tickRate;
+        episodeConfig.starLayers = 0; // O fundo não é desenhado nem observado: animar as estrelas só gastaria tempo
+
+        var game = new Game(episodeConfig, inputs[i], new Clock.Virtual(0), levels.apply(episodeSeed));
+        game.setQuiet(true);
+        game.beginHeadless();
+        games[i] = game;
+        lastLife[i] = game.getPlayer().getHP();
+        lastHits[i] = 0;
+        lastKills[i] = 0;
+        observe(i);
+    }
+
+    /// Semente do episódio `episode` da partida `i` (nunca 0, que sortearia uma semente)
+    private long episodeSeed(int i, long episode) {
+        long s = seed + (i + 1) * 0x9E3779B97F4A7C15L + episode * 0xBF58476D1CE4E5B9L;
+        return s != 0 ? s : 1;
+    }
+
+    /// Escreve a observação da partida `i`; os espaços sem entidade ficam zerados
+    private void observe(int i) {
+        var game = games[i];
+        int base = i * OBSERVATION_SIZE;
+        Arrays.fill(observations, base, base + OBSERVATION_SIZE, 0.0f);
+        var player = game.getPlayer().getPosition();
+        observations[base + PLAYER_OFFSET] = (float) (player.getX() / GameLib.WIDTH);
+        observations[base + PLAYER_OFFSET + 1] = (float) (player.getY() / GameLib.HEIGHT);
+        observations[base + PLAYER_OFFSET + 2] = game.getPlayer().getHP();
+
+        // Inimigos: chefes e objetos primeiro, depois as linhas dos arquétipos
+        int n = 0;
+        var enemies = game.getEnemies();
+        for (int e = 0; e < enemies.size() && n < MAX_ENEMIES; e++) {
+            var pos = enemies.get(e).getPosition();
+            writePosition(base + ENEMY_OFFSET + 2 * n++, pos.getX(), pos.getY());
+        }
+        for (Archetype a : game.getWorld().query(Component.POSITION)) {
+            for (int row = 0; row < a.size() && n < MAX_ENEMIES; row++) {
+                if (a.isKilled(row)) continue;
+                writePosition(base + ENEMY_OFFSET + 2 * n++, a.x(row), a.y(row));
+            }
+        }
+        observations[base + PLAYER_OFFSET + 3] = n;
+
+        // Projéteis de inimigo (os do player não ameaçam)
+        n = 0;
+        ProjectilePool pool = game.getProjectiles();
+        for (int p = 0; p < pool.size() && n < MAX_PROJECTILES; p++) {
+            if (pool.owner(p) != ProjectilePool.FACTION_ENEMY) continue;
+            int o = base + PROJECTILE_OFFSET + 4 * n++;
+            writePosition(o, pool.x(p), pool.y(p));
+            observations[o + 2] = (float) pool.vx(p);
+            observations[o + 3] = (float) pool.vy(p);
+        }
+        observations[base + PLAYER_OFFSET + 4] = n;
+
+        n = 0;
+        var powerups = game.getPowerups();
+        for (int p = 0; p < powerups.size() && n < MAX_POWERUPS; p++) {
+            var pos = powerups.get(p).getPosition();
+            writePosition(base + POWERUP_OFFSET + 2 * n++, pos.getX(), pos.getY());
+        }
+        observations[base + PLAYER_OFFSET + 5] = n;
+    }
+
+    private void writePosition(int offset, double x, double y) {
+        observations[offset] = (float) (x / GameLib.WIDTH);
+        observations[offset + 1] = (float) (y / GameLib.HEIGHT);
+    }
+
+    /// Observações de todas as partidas: OBSERVATION_SIZE floats por partida, em ordem (não alterar)
+    public float[] observations() {
+        return observations;
+    }
+
+    /// Recompensa do último `step()` de cada partida
+    public float[] rewards() {
+        return rewards;
+    }
+
+    /// Partidas cujo episódio acabou no último `step()` (já recomeçadas)
+    public boolean[] dones() {
+        return dones;
+    }
+
+    /// Das partidas em `dones()`, as cortadas por `maxEpisodeTicks` em vez de vitória ou morte
+    public boolean[] truncated() {
+        return truncated;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /// Encerra as partidas e as threads do lote
+    @Override
+    public void close() {
+        for (var game : games) {
+            if (game != null) game.endHeadless();
+        }
+        workers.shutdown();
+    }
+
+    /// Entrada de uma partida: a ação escrita pelo lote antes de cada tick
+    private static final class ActionInput implements InputSource {
+        int keys = 0;
+
+        @Override
+        public int poll() {
+            return keys;
+        }
+    }
+}
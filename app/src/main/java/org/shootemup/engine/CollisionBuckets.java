@@ -0,0 +1,180 @@
+package org.shootemup.engine;
+
+import java.util.Arrays;
+
+import org.shootemup.utils.Collidable;
+import org.shootemup.utils.CollisionLayer;
+import org.shootemup.utils.IntList;
+
+/**
+ * Entidades colidíveis separadas por camada. No começo de cada passo de colisões as hitboxes
+ * são copiadas para o balde de cada camada em que a entidade está (uma passada por fonte),
+ * então os testes de uma regra só percorrem as entidades das duas camadas dela.
+ *
+ * Cada entrada guarda uma referência (`ref`) escolhida por quem adicionou, que volta para a
+ * reação da regra (ex.: índice na lista de inimigos).
+ *
+ * Entradas com trajeto (`addSwept`, usadas pelos projéteis) colidem com tudo que encostar no
+ * segmento entre a posição no passo anterior e a atual, não só com o que estiver na posição
+ * final: um projétil rápido num tick longo não atravessa um inimigo sem acertá-lo.
+ */
+public final class CollisionBuckets {
+    private final Bucket[] buckets = new Bucket[CollisionLayer.COUNT];
+    private final int layers;
+
+    /**
+     * @param layers Camadas guardadas (as outras são ignoradas em `add`)
+     * @param cellSize Lado das células da broadphase de cada camada
+     */
+    public CollisionBuckets(int layers, double cellSize) {
+        this.layers = layers;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket(cellSize);
+        }
+    }
+
+    /// Esvazia todos os baldes
+    public void clear() {
+        for (var bucket : buckets) bucket.clear();
+    }
+
+    /// Adiciona uma hitbox em cada camada de `layerMask`
+    public void add(int layerMask, double x, double y, double radius, int ref) {
+        addSwept(layerMask, x, y, x, y, radius, ref);
+    }
+
+    /**
+     * Adiciona uma hitbox que se moveu de (sx, sy) até (x, y) desde o último passo.
+     * O trajeto só é considerado quando a entrada é a camada percorrida de uma regra
+     */
+    public void addSwept(int layerMask, double sx, double sy, double x, double y, double radius, int ref) {
+        int m = layerMask & layers;
+        while (m != 0) {
+            int bit = m & -m;
+            buckets[CollisionLayer.index(bit)].add(sx, sy, x, y, radius, ref);
+            m &= m - 1;
+        }
+    }
+
+    /// Adiciona um objeto com a sua própria camada
+    public void add(Collidable item, int ref) {
+        var pos = item.getPosition();
+        add(item.getLayer(), pos.getX(), pos.getY(), item.getRadius(), ref);
+    }
+
+    /// Balde de uma camada (um único bit)
+    public Bucket get(int layer) {
+        return buckets[CollisionLayer.index(layer)];
+    }
+
+    /**
+     * Multiplica o alcance de todos os testes com a camada (ex.: Player.HITBOX_SCALE)
+     * @param layer Camada (um único bit)
+     * @param scale Fator aplicado à soma dos raios
+     */
+    public void setReachScale(int layer, double scale) {
+        get(layer).reachScale = scale;
+    }
+
+    /// Hitboxes de uma camada em arrays paralelos, com a broadphase montada sob demanda
+    public static final class Bucket {
+        private double[] x = new double[16], y = new double[16], radius = new double[16];
+        private double[] sx = new double[16], sy = new double[16]; // Início do trajeto (igual a x, y se parado)
+        private int[] ref = new int[16];
+        private int size = 0;
+        private double reachScale = 1.0;
+        private final SpatialHash grid;
+        private boolean built = false;
+
+        Bucket(double cellSize) {
+            grid = new SpatialHash(cellSize);
+        }
+
+        void clear() {
+            size = 0;
+            built = false;
+        }
+
+        void add(double startX, double startY, double px, double py, double r, int reference) {
+            if (size == x.length) {
+                int capacity = size * 2;
+                x = Arrays.copyOf(x, capacity);
+                y = Arrays.copyOf(y, capacity);
+                sx = Arrays.copyOf(sx, capacity);
+                sy = Arrays.copyOf(sy, capacity);
+                radius = Arrays.copyOf(radius, capacity);
+                ref = Arrays.copyOf(ref, capacity);
+            }
+            x[size] = px;
+            y[size] = py;
+            sx[size] = startX;
+            sy[size] = startY;
+            radius[size] = r;
+            ref[size] = reference;
+            size++;
+        }
+
+        public int size() { return size; }
+        public int ref(int i) { return ref[i]; }
+
+        /// Monta a broadphase do balde, uma vez por passo (antes de consultas em paralelo)
+        public void buildGrid() {
+            if (built) return;
+            grid.clear();
+            for (int i = 0; i < size; i++) grid.insert(x[i], y[i], radius[i], i);
+            grid.build();
+            built = true;
+        }
+
+        /**
+         * Testa as entradas [from, to) deste balde contra o balde `other` (que precisa de
+         * `buildGrid()`). O trajeto de cada entrada deste balde é testado como um segmento contra
+         * os círculos de `other`. Só lê os baldes, então blocos diferentes podem rodar em paralelo
+         * @param candidates Buffer de candidatos da broadphase
+         * @param pairs Recebe os pares que se tocam como (índice aqui, índice em `other`)
+         * @return Número de testes exatos feitos
+         */
+        public int findPairs(Bucket other, int from, int to, IntList candidates, IntList pairs) {
+            double scale = reachScale * other.reachScale;
+            int tests = 0;
+            for (int i = from; i < to; i++) {
+                double ax = x[i], ay = y[i], ar = radius[i];
+                double startX = sx[i], startY = sy[i];
+                double segX = ax - startX, segY = ay - startY;
+                double length2 = segX * segX + segY * segY;
+
+                candidates.clear();
+                if (length2 == 0.0) {
+                    other.grid.queryKeys(ax, ay, ar, candidates);
+                } else {
+                    // Círculo que cobre o segmento inteiro
+                    other.grid.queryKeys((startX + ax) * 0.5, (startY + ay) * 0.5, ar + Math.sqrt(length2) * 0.5, candidates);
+                }
+                tests += candidates.size();
+                for (int k = 0; k < candidates.size(); k++) {
+                    int j = candidates.get(k);
+                    double cx = other.x[j], cy = other.y[j];
+                    // Ponto do segmento mais perto do centro do outro círculo
+                    double px = ax, py = ay;
+                    if (length2 != 0.0) {
+                        double t = ((cx - startX) * segX + (cy - startY) * segY) / length2;
+                        if (t <= 0.0) {
+                            px = startX;
+                            py = startY;
+                        } else if (t < 1.0) {
+                            px = startX + t * segX;
+                            py = startY + t * segY;
+                        }
+                    }
+                    double reach = (ar + other.radius[j]) * scale;
+                    double dx = px - cx, dy = py - cy;
+                    if (dx * dx + dy * dy < reach * reach) {
+                        pairs.add(i);
+                        pairs.add(j);
+                    }
+                }
+            }
+            return tests;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.shootemup.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.shootemup.utils.CollisionLayer;
+
+/**
+ * Tabela declarativa de quais camadas colidem entre si e o que acontece em cada acerto.
+ * Cada regra liga uma camada percorrida (`a`) a uma camada consultada na broadphase (`b`);
+ * os passos de colisão rodam na ordem em que as regras foram declaradas.
+ *
+ * <pre>
+ * new CollisionMatrix()
+ *     .on(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER, (projectile, player) -> ...)
+ *     .on(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY, (projectile, enemy) -> ...);
+ * </pre>
+ */
+public final class CollisionMatrix {
+    /// Reação a um acerto, recebe as referências das duas entidades (ver `CollisionBuckets.add`)
+    @FunctionalInterface
+    public interface Response {
+        void onHit(int a, int b);
+    }
+
+    /// Par de camadas testado e a reação aos acertos
+    public record Rule(int a, int b, Response response) {}
+
+    private final List<Rule> rules = new ArrayList<>();
+    private int layers = CollisionLayer.NONE; // Camadas que aparecem em alguma regra
+
+    /**
+     * Declara que a camada `a` colide com a camada `b`
+     * @param a Camada percorrida (uma única camada)
+     * @param b Camada consultada na broadphase (uma única camada)
+     * @param response Chamada para cada par que se toca, na ordem das entidades de `a`
+     */
+    public CollisionMatrix on(int a, int b, Response response) {
+        if (Integer.bitCount(a) != 1 || Integer.bitCount(b) != 1) {
+            throw new IllegalArgumentException("Regras de colisão ligam exatamente uma camada a outra");
+        }
+        layers |= a | b;
+        rules.add(new Rule(a, b, response));
+        return this;
+    }
+
+    /// Máscara com todas as camadas usadas pelas regras
+    public int layers() {
+        return layers;
+    }
+
+    public List<Rule> rules() {
+        return Collections.unmodifiableList(rules);
+    }
+}
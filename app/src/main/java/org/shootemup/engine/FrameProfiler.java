@@ -0,0 +1,93 @@
+package org.shootemup.engine;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.shootemup.GameLib;
+import org.shootemup.utils.LatencyHistogram;
+
+/**
+ * Tempos de cada fase do frame (entrada, update, renderização, apresentação, espera), de
+ * cada sistema do update e da tecla até a tela, em histogramas sem lock. Também desenha um
+ * overlay com FPS, tempos e número de entidades, e imprime os histogramas ao sair.
+ *
+ * As durações são medidas com `System.nanoTime()` em volta de cada fase; o resumo mostra
+ * p50, p99 e máximo, que é onde aparecem os frames que travam (ex.: lutas contra os chefes).
+ */
+public class FrameProfiler {
+    // Intervalo entre atualizações do texto do overlay, para ele ser legível e não alocar a cada frame
+    private static final long OVERLAY_REFRESH_NANOS = 250_000_000L;
+    private static final Color OVERLAY_COLOR = Color.GREEN;
+
+    public final LatencyHistogram frame = new LatencyHistogram("frame");
+    public final LatencyHistogram tick = new LatencyHistogram("tick");
+    public final LatencyHistogram spawn = new LatencyHistogram("  spawn");
+    public final LatencyHistogram update = new LatencyHistogram("  update");
+    public final LatencyHistogram input = new LatencyHistogram("  input");
+    public final LatencyHistogram render = new LatencyHistogram("render");
+    public final LatencyHistogram present = new LatencyHistogram("present");
+    public final LatencyHistogram idle = new LatencyHistogram("idle");
+    // Da tecla pressionada/solta (thread do AWT) até o display do frame que reage a ela
+    public final LatencyHistogram inputLatency = new LatencyHistogram("input->tela");
+    private final Map<String, LatencyHistogram> systems = new LinkedHashMap<>();
+
+    private final boolean overlay;
+    private long windowStart = System.nanoTime();
+    private int windowFrames = 0;
+    private final List<String> overlayLines = new ArrayList<>();
+
+    /// @param overlay Desenha os tempos na tela a cada frame
+    public FrameProfiler(boolean overlay) {
+        this.overlay = overlay;
+    }
+
+    /// Histograma de um sistema do update, criado na primeira vez que o nome é pedido
+    public synchronized LatencyHistogram system(String name) {
+        return systems.computeIfAbsent(name, n -> new LatencyHistogram("    " + n));
+    }
+
+    public boolean hasOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Desenha o overlay no frame atual (chamar antes do `GameLib.display()`).
+     * O texto é refeito no máximo a cada 250 ms
+     */
+    public void drawOverlay(int enemies, int projectiles, int powerups, int particles) {
+        if (!overlay) return;
+        windowFrames++;
+        long now = System.nanoTime();
+        if (overlayLines.isEmpty() || now - windowStart >= OVERLAY_REFRESH_NANOS) {
+            double fps = windowFrames * 1e9 / Math.max(1, now - windowStart);
+            windowStart = now;
+            windowFrames = 0;
+            overlayLines.clear();
+            overlayLines.add(String.format("FPS %.1f  frame %.2f ms (p99 %.2f, máx %.2f)",
+                fps, frame.last() / 1e6, frame.percentile(0.99) / 1e6, frame.max() / 1e6));
+            overlayLines.add(String.format("tick %.2f  render %.2f  present %.2f ms",
+                tick.last() / 1e6, render.last() / 1e6, present.last() / 1e6));
+            overlayLines.add(String.format("p99: tick %.2f  render %.2f  present %.2f ms",
+                tick.percentile(0.99) / 1e6, render.percentile(0.99) / 1e6, present.percentile(0.99) / 1e6));
+            overlayLines.add(String.format("inimigos %d  projéteis %d  powerups %d  partículas %d",
+                enemies, projectiles, powerups, particles));
+        }
+
+        GameLib.setColor(OVERLAY_COLOR);
+        for (int i = 0; i < overlayLines.size(); i++) {
+            GameLib.drawText(overlayLines.get(i), 8, 40 + 14 * i);
+        }
+    }
+
+    /// Todos os histogramas, um por linha, na ordem das fases
+    public synchronized String summary() {
+        var out = new StringBuilder("Tempos por fase:\n");
+        for (var h : List.of(frame, tick, spawn, update)) out.append(h.summary()).append('\n');
+        for (var h : systems.values()) out.append(h.summary()).append('\n');
+        for (var h : List.of(input, render, present, idle, inputLatency)) out.append(h.summary()).append('\n');
+        return out.toString().stripTrailing();
+    }
+}
@@ -1,49 +1,190 @@
 package org.shootemup.engine;
 
 import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Queue;
 
 import org.shootemup.GameLib;
 import org.shootemup.components.Background;
 import org.shootemup.components.Explosion;
+import org.shootemup.components.ParticleSystem;
 import org.shootemup.components.Vector2D;
 import org.shootemup.config.Config;
+import org.shootemup.ecs.Archetype;
+import org.shootemup.ecs.Component;
+import org.shootemup.ecs.EnemyArchetypes;
+import org.shootemup.ecs.EnemySystems;
+import org.shootemup.ecs.World;
+import org.shootemup.engine.SystemScheduler.Resource;
 import org.shootemup.entities.Enemy;
 import org.shootemup.entities.Player;
-import org.shootemup.entities.Projectile;
+import org.shootemup.entities.ProjectilePool;
+import org.shootemup.input.InputLog;
+import org.shootemup.input.InputSource;
+import org.shootemup.render.Renderer;
+import org.shootemup.render.ThreadedRenderer;
 import org.shootemup.entities.Powerup;
+import org.shootemup.utils.AllocationMeter;
+import org.shootemup.utils.Clock;
+import org.shootemup.utils.CollisionLayer;
 import org.shootemup.utils.Direction;
+import org.shootemup.utils.IntList;
+import org.shootemup.utils.RandomSource;
 
 /// Classe que representa o sistema de jogo
-public class Game {
-    private long currentTime = System.currentTimeMillis();
+public final class Game {
+    private final Clock clock;
+    private long currentTime;
     private long delta;
 
+    // Semente da partida e gerador das entidades criadas pelo próprio jogo
+    private final long seed;
+    private final RandomSource random;
+
+    // Origem das teclas e estado delas no tick atual
+    private InputSource input;
+    private int keys = 0;
+    // Instante da primeira mudança de tecla ainda não apresentada na tela (0 -> nenhuma)
+    private long pendingInputNanos = 0;
+
+    // Passo fixo da simulação: 0 -> usa o delta variável do relógio
+    private int tickRate;
+    private int maxCatchUpSteps;
+    private long startTime;
+    private long tickCount = 0;
+    private static final int DEFAULT_TICK_RATE = 60;
+
+    // Medidores de alocação (null quando ALLOCSTATS está desligado)
+    private AllocationMeter tickAllocations;
+    private AllocationMeter frameAllocations;
+    // Tempos por fase do frame (null quando PROFILE e OVERLAY estão desligados)
+    private final FrameProfiler profiler;
+    // Evento JFR do frame atual (null sem gravação ativa) e índice da fase atual para os eventos
+    private GameEvents.Frame frameEvent = null;
+    private int levelIndex = 0;
+
     private boolean isRunning = false;
+    private final boolean renderThread; // Rasteriza em outra thread (ThreadedRenderer)
+    private final boolean batching;
+    private final boolean spriteCache;
+    private final int softwareBands;
+    private final boolean renderStats;
 
-    private Background farStarBackground;
-    private Background nearStarBackground;
+    // Camadas do fundo de estrelas, da mais próxima (índice 0) para a mais distante
+    private final Background[] starBackgrounds;
 
     private Player player;
     private boolean secondBossZaWarudo = false;
-    private List<Projectile> projectiles;
-    private List<Enemy> enemies;
-    private List<Explosion> explosions;
+    private ProjectilePool projectiles;
+    private List<Enemy> enemies; // Chefes e inimigos adicionados como objetos
+    // Inimigos comuns em tabelas por arquétipo
+    private final World world = new World();
+    private final EnemyArchetypes archetypes = new EnemyArchetypes(world);
     private List<Powerup> powerups;
-
-    private Queue<GameLevel> levels; // Fila de fases
+    // Explosões e faíscas, com um gerador próprio para os efeitos não mudarem os sorteios da partida
+    private static final int MAX_PARTICLES = 4096;
+    private ParticleSystem particles;
+    private final RandomSource effectsRandom;
+
+    private LevelSource levels; // Fases da partida (LevelStreamer com LOOKAHEAD)
+    // Agenda única dos spawns das fases, em tempo absoluto: cada fase agenda os seus ao começar.
+    // Cooldowns e timers de powerup continuam nas entidades: são um teste por tick em quem já é
+    // atualizado, e o render lê o tempo restante dos powerups para desenhar o efeito
+    private final TimingWheel<GameLevel.Spawn> spawnSchedule;
+    private final List<GameLevel.Spawn> dueSpawns = new ArrayList<>();
+
+    // Pares de camadas que colidem e a reação de cada acerto, testados nessa ordem
+    private final CollisionMatrix collisions = new CollisionMatrix()
+        .on(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER, (projectile, p) -> hitPlayer())
+        .on(CollisionLayer.PLAYER, CollisionLayer.ENEMY, (p, enemy) -> hitPlayer())
+        .on(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY, (projectile, enemy) -> hitEnemy(enemy))
+        .on(CollisionLayer.PLAYER, CollisionLayer.POWERUP, (p, powerup) -> pickPowerup(powerup));
+
+    // Hitboxes separadas por camada, com a broadphase de cada uma remontada a cada tick
+    private static final double GRID_CELL_SIZE = 32.0;
+    private final CollisionBuckets buckets = new CollisionBuckets(collisions.layers(), GRID_CELL_SIZE);
+    private final List<Powerup> pickedPowerups = new ArrayList<>();
+    // Contagens do passo de colisões atual (evento JFR)
+    private int pairTests;
+    private int hitCount;
+    private boolean anyEnemyKilled;
+    // Totais da partida: acertos em inimigos e inimigos mortos pelo player (recompensas do BatchEnvironment)
+    private long enemyHits = 0;
+    private long enemyKills = 0;
+    private boolean quiet = false; // Não imprime as mensagens de fim de jogo
+
+    // Sistemas do update e buffers por bloco da narrowphase (um por bloco do parallelFor)
+    private static final int PARALLEL_CHUNK_SIZE = 128;
+    private final SystemScheduler scheduler;
+    private boolean timeFlowing; // Falso durante um ZaWarudo, congela inimigos e fundo no tick
+    private final List<IntList> chunkCandidates = new ArrayList<>();
+    private final List<IntList> chunkPairs = new ArrayList<>();
+    private int[] chunkTests = new int[0]; // Testes de interseção feitos em cada bloco (evento de colisões)
+    private CollisionBuckets.Bucket ruleA, ruleB; // Camadas da regra dividida em blocos pelo parallelFor atual
+    // Corpos dos blocos guardados em campos: method references criadas a cada tick alocariam
+    private final SystemScheduler.RangeBody moveEnemyChunk = this::moveEnemyRange;
+    private final SystemScheduler.RangeBody moveLinearChunk = this::moveLinearRange;
+    private final SystemScheduler.RangeBody moveOrbitChunk = this::moveOrbitRange;
+    private Archetype movingArchetype; // Arquétipo dividido em blocos pelo parallelFor atual
+    private final SystemScheduler.RangeBody pairChunk = this::findPairs;
 
     public Game() {
         // Inicializa o jogo com os arquivos de configuração
-        var config = new Config();
-        // Carrega as fases
-        levels = config.loadPhases();
+        this(new Config());
+    }
+
+    public Game(Config config) {
+        this(config, new InputSource.Keyboard(), new Clock.Wall());
+    }
+
+    /**
+     * @param config Configuração da partida
+     * @param input Origem das teclas (teclado, log gravado, ...)
+     * @param clock Relógio da simulação (real ou virtual)
+     */
+    public Game(Config config, InputSource input, Clock clock) {
+        this(config, input, clock, null);
+    }
+
+    /**
+     * Partida com fases já montadas (ex.: cenários gerados pelo HeadlessBenchmark)
+     * @param levels Fases da partida, em ordem; null -> carrega os arquivos de fase da configuração
+     */
+    public Game(Config config, InputSource input, Clock clock, LevelSource levels) {
+        this.clock = clock;
+        this.input = input;
+        currentTime = startTime = clock.millis();
+        seed = config.seed != 0 ? config.seed : System.nanoTime();
+        random = RandomSource.derive(seed, 0);
+        effectsRandom = RandomSource.derive(seed, -1);
+        spawnSchedule = new TimingWheel<>(currentTime);
+
+        // Carrega as fases (todas agora ou uma por vez em segundo plano)
+        if (levels != null) {
+            this.levels = levels;
+        } else {
+            this.levels = config.lookahead > 0 ? new LevelStreamer(config, seed, config.lookahead) : config.loadPhases(seed);
+        }
+        tickRate = config.tickRate;
+        maxCatchUpSteps = Math.max(1, config.maxCatchUpSteps);
+        if (config.allocationStats) {
+            tickAllocations = new AllocationMeter("tick");
+            frameAllocations = new AllocationMeter("frame");
+        }
+        scheduler = new SystemScheduler(config.threads, PARALLEL_CHUNK_SIZE);
+        profiler = config.profile || config.overlay ? new FrameProfiler(config.overlay) : null;
+        scheduler.setProfiler(profiler);
+        renderThread = config.renderThread;
+        batching = config.batching;
+        spriteCache = config.spriteCache;
+        softwareBands = config.softwareBands;
+        renderStats = config.renderStats;
 
         // Cria o fundo de estrelas
-        nearStarBackground = Background.forStars(Color.GRAY, 20, 3, 0.070);
-        farStarBackground = Background.forStars(Color.DARK_GRAY, 20, 2, 0.045);
+        starBackgrounds = createStarBackgrounds(config.starLayers, config.stars, config.starCache);
 
         // Cria o player
         player = new Player(
@@ -52,181 +193,238 @@ public class Game {
             12.0,
             Vector2D.ofScalar(0.25)
         );
+        // A hitbox do player é menor que a nave (ver Player.intersects)
+        buckets.setReachScale(CollisionLayer.PLAYER, Player.HITBOX_SCALE);
 
         // Cria os arrays de entidades do jogo
-        projectiles = new ArrayList<>(200);
+        projectiles = new ProjectilePool(200);
         enemies = new ArrayList<>(20);
-        explosions = new ArrayList<>(15);
+        particles = new ParticleSystem(MAX_PARTICLES);
         powerups = new ArrayList<>(5);
+
+        addSystems();
+    }
+
+    /**
+     * Cria as camadas do fundo, da mais próxima (cinza, estrelas de 3 px, 0.070 px/ms) para a
+     * mais distante (cinza escuro, 2 px, 0.045 px/ms); as do meio ficam interpoladas.
+     * Com duas camadas são os dois fundos originais
+     * @param layers Número de camadas
+     * @param stars Estrelas por camada
+     * @param cached Pré-desenha cada camada (Background.forStarLayer) em vez de desenhar cada estrela
+     */
+    private Background[] createStarBackgrounds(int layers, int stars, boolean cached) {
+        var backgrounds = new Background[layers];
+        for (int i = 0; i < layers; i++) {
+            double t = layers > 1 ? (double) i / (layers - 1) : 0.0;
+            int gray = (int) Math.round(128 - 64 * t);
+            var color = new Color(gray, gray, gray);
+            int size = (int) Math.round(3 - t);
+            double speed = (1 - t) * 0.070 + t * 0.045; // Exato nas pontas
+            backgrounds[i] = cached
+                ? Background.forStarLayer(color, stars, size, speed, random)
+                : Background.forStars(color, stars, size, speed, random);
+        }
+        return backgrounds;
+    }
+
+    /**
+     * Registra os passos do update no scheduler, na ordem original.
+     * Passos sem conflito entre si (fundo, projéteis inimigos, inimigos, power ups e timers)
+     * rodam juntos; tiros e colisões continuam depois de todos os movimentos
+     */
+    private void addSystems() {
+        var none = EnumSet.noneOf(Resource.class);
+        scheduler
+            .add("background", none, EnumSet.of(Resource.BACKGROUND), () -> {
+                if (!timeFlowing) return;
+                for (var background : starBackgrounds) background.animate(delta);
+            })
+            .add("enemyProjectiles", none, EnumSet.of(Resource.PROJECTILES), () -> {
+                // Atualiza a posicao dos projéteis inimigos e remove se fora da tela
+                if (timeFlowing) projectiles.moveAndCull(ProjectilePool.FACTION_ENEMY, delta);
+            })
+            .add("enemyMovement", none, EnumSet.of(Resource.ENEMIES), () -> {
+                if (timeFlowing) moveEnemies();
+            })
+            .add("enemyShots", none, EnumSet.of(Resource.ENEMIES, Resource.PROJECTILES), () -> {
+                // Inimigos fazem uma tentativa de tiro (flyers disparam multiplos tiros)
+                // Escreve ENEMIES: o tiro muda a recarga das armas e o timer do laser do chefe
+                // Sequencial: a ordem dos tiros no pool e dos sorteios tem que ser a mesma sempre
+                if (!timeFlowing) return;
+                EnemySystems.fire(world, currentTime, projectiles);
+                for (int i = 0; i < enemies.size(); i++) {
+                    enemies.get(i).shot(currentTime, projectiles);
+                }
+            })
+            .add("powerupMovement", none, EnumSet.of(Resource.POWERUPS), () -> {
+                // Movimenta e remove power ups fora da tela
+                if (!timeFlowing) return;
+                for (int i = powerups.size() - 1; i >= 0; i--) {
+                    var pow = powerups.get(i);
+                    pow.move(delta);
+                    if (pow.getPosition().getY() > GameLib.HEIGHT + 10) {
+                        powerups.remove(i);
+                    }
+                }
+            })
+            // checa se power ups acabaram
+            .add("powerupTimers", none, EnumSet.of(Resource.PLAYER), () -> player.updatePowerUpTimers(delta))
+            .add("collisions",
+                EnumSet.of(Resource.PROJECTILES),
+                EnumSet.of(Resource.PLAYER, Resource.ENEMIES, Resource.POWERUPS, Resource.EXPLOSIONS),
+                this::checkCollisions)
+            .add("explosions", none, EnumSet.of(Resource.EXPLOSIONS), () -> particles.update(currentTime, delta))
+            // Atualiza a posicao das balas do jogador e remove se fora da tela
+            .add("playerProjectiles", none, EnumSet.of(Resource.PROJECTILES),
+                () -> projectiles.moveAndCull(ProjectilePool.FACTION_PLAYER, delta))
+            .add("bosses", EnumSet.of(Resource.PLAYER), EnumSet.of(Resource.ENEMIES, Resource.PROJECTILES),
+                this::updateBosses);
     }
 
 
     /// Lê a entrada do usuário e reage
     private void read_input() {
+        long start = profiler != null ? System.nanoTime() : 0;
+        keys = input.poll();
+        if (pendingInputNanos == 0) pendingInputNanos = input.lastChangeNanos();
         if(!secondBossZaWarudo){
-            if(GameLib.iskeyPressed(GameLib.KEY_UP)) player.move(delta, Direction.NORTH);
-            if(GameLib.iskeyPressed(GameLib.KEY_DOWN)) player.move(delta, Direction.SOUTH);
-            if(GameLib.iskeyPressed(GameLib.KEY_LEFT)) player.move(delta, Direction.WEST);
-            if(GameLib.iskeyPressed(GameLib.KEY_RIGHT)) player.move(delta, Direction.EAST);
-
-            if (GameLib.iskeyPressed(GameLib.KEY_CONTROL)) {
-                // Tenta atirar se for um sucesso adiciona projétil a lista de projeteis
-                if(player.isLaserModeActive()){
-                    player.laserShot(currentTime).ifPresent((laser)-> projectiles.add(laser));
-                } else {
-                    player.shot(currentTime).ifPresent((bullet) -> projectiles.add(bullet));
-                }
+            if(isKeyPressed(GameLib.KEY_UP)) player.move(delta, Direction.NORTH);
+            if(isKeyPressed(GameLib.KEY_DOWN)) player.move(delta, Direction.SOUTH);
+            if(isKeyPressed(GameLib.KEY_LEFT)) player.move(delta, Direction.WEST);
+            if(isKeyPressed(GameLib.KEY_RIGHT)) player.move(delta, Direction.EAST);
+
+            if (isKeyPressed(GameLib.KEY_CONTROL)) {
+                // Tenta atirar, se for um sucesso o projétil entra direto no pool
+                player.shot(currentTime, projectiles);
             }
         }
-        if(GameLib.iskeyPressed(GameLib.KEY_ESCAPE)) isRunning = false;
+        if(isKeyPressed(GameLib.KEY_ESCAPE)) isRunning = false;
+        if (profiler != null) profiler.input.recordSince(start);
+    }
+
+    private boolean isKeyPressed(int key) {
+        return (keys & (1 << key)) != 0;
     }
 
     /// Função para atualizar movimentos, animações, checar colisões e spawnar inimigos
     private void update() {
+        long start = profiler != null ? System.nanoTime() : 0;
         /* Lógica das fases */
         // Se não tem mais fases nem inimigos o jogador venceu
         if (levels.peek() == null) {
-            if (enemies.isEmpty()) {
-                System.out.println("Game Over!!! Você venceu o jogo!! Meus parabéns!");
+            if (enemyCount() == 0) {
+                if (!quiet) System.out.println("Game Over!!! Você venceu o jogo!! Meus parabéns!");
                 isRunning = false;
             }
         } else {
             // Inicia a fase atual se ela nao comecou ainda
             if (!levels.peek().getHasStarted()) {
-                levels.peek().start(currentTime);
+                levels.peek().start(currentTime, spawnSchedule);
             }
 
-            // Spawna entidades com spawn < que o tempo atual
-            enemies.addAll(levels.peek().takeEnemiesLessThan(currentTime));
-            powerups.addAll(levels.peek().takePowerUpsLessThan(currentTime));
+            // Spawna entidades com spawn <= tempo atual
+            int powerupsBefore = powerups.size();
+            int spawnedEnemies = 0;
+            spawnSchedule.advance(currentTime, dueSpawns);
+            for (int i = 0; i < dueSpawns.size(); i++) {
+                spawnedEnemies += dueSpawns.get(i).spawn(currentTime, enemies, archetypes, powerups);
+            }
+            dueSpawns.clear();
+            int spawnedPowerups = powerups.size() - powerupsBefore;
+            if ((spawnedEnemies > 0 || spawnedPowerups > 0) && GameEvents.SPAWN_BATCH.isEnabled()) {
+                var event = new GameEvents.SpawnBatch();
+                event.tick = tickCount;
+                event.level = levelIndex;
+                event.enemies = spawnedEnemies;
+                event.powerups = spawnedPowerups;
+                event.commit();
+            }
 
             // Se nao tem mais entidades e a fase atual nao tem mais quem adicionar -> puxa a proxima fase
-            if (enemies.isEmpty() && levels.peek().isComplete()) {
-                levels.poll();
+            if (enemyCount() == 0 && spawnSchedule.isEmpty()) {
+                nextLevel();
             }
         }
 
         // Se o jogador perder todos os pontos de vida encerra o jogo
         if (player.getHP() == 0) {
-            System.out.println("It's over, não sobrou nada! Game Over!!!");
+            if (!quiet) System.out.println("It's over, não sobrou nada! Game Over!!!");
             isRunning = false;
             return;
         }
 
         // Se o powerup de pausa de tempo esta desativado mexa animações e inimigos
-        if(!player.isZaWarudoActive() && !secondBossZaWarudo) {
-
-            // Movimenta os planos de fundo
-            nearStarBackground.animate(delta);
-            farStarBackground.animate(delta);
-
-            // Atualiza a posicao dos projéteis inimigos
-            // e remove se fora da tela
-            projectiles.removeIf(proj -> {
-                if(proj instanceof Projectile.Ball || proj instanceof Projectile.timeBall) {
-                    proj.move(delta);
-                    Vector2D pos = proj.getPosition();
-                    return pos.getX() < 0 || pos.getX() > GameLib.WIDTH || pos.getY() < 0 || pos.getY() > GameLib.HEIGHT;
-                }
-                return false;
-            });
-
-            // Movimenta e remove inimigos fora da tela
-            // (com um pequeno offset para que o jogo rode mais alguns frames antes do ultimo inimigo sair da tela)
-            enemies.removeIf(enemy -> {
-                enemy.move(delta);
-                Vector2D pos = enemy.getPosition();
-                return pos.getY() > GameLib.HEIGHT + 10 || pos.getX() < -10 || pos.getX() > GameLib.WIDTH + 10;
-            });
-
-            // Inimigos fazem uma tentativa de tiro
-            enemies.forEach(e -> {
-                // Se inimigo for do tipo flyer atira com multiShot
-                if (e instanceof Enemy.Flyer) {
-                    Enemy.Flyer advancedEnemy = (Enemy.Flyer) e;
-                    List<Projectile> multiShot = advancedEnemy.shotMultiple(currentTime);
-                    projectiles.addAll(multiShot);
-                } else {
-                    e.shot(currentTime).ifPresent(bullet -> projectiles.add(bullet));
-                }
-            });
+        timeFlowing = !player.isZaWarudoActive() && !secondBossZaWarudo;
 
-            // Movimenta e remove power ups fora da tela
-            powerups.removeIf(pow -> {
-                pow.move(delta);
-                Vector2D pos = pow.getPosition();
-                return pos.getY() > GameLib.HEIGHT + 10;
-            });
-        }
+        if (profiler != null) start = profiler.spawn.recordSince(start);
 
-        // checa se power ups acabaram
-        player.updatePowerUpTimers(delta);
+        scheduler.run();
+        if (profiler != null) profiler.update.recordSince(start);
+    }
 
-        /* Colisões */
+    /// Solta a fase jogada e passa para a próxima (que pode ainda estar sendo carregada pelo LevelStreamer)
+    private void nextLevel() {
+        GameEvents.LevelTransition event = null;
+        if (GameEvents.LEVEL_TRANSITION.isEnabled()) {
+            event = new GameEvents.LevelTransition();
+            event.begin();
+        }
+        levels.poll();
+        levelIndex++;
+        if (event != null) {
+            event.tick = tickCount;
+            event.level = levelIndex - 1;
+            event.nextLevel = levels.peek() != null ? levelIndex : -1;
+            event.usedMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            event.commit();
+        }
+    }
 
-        // colisoes entre player e projeteis do tipo Ball
-        projectiles.stream()
-            .filter(proj -> proj instanceof Projectile.Ball || proj instanceof Projectile.timeBall || proj instanceof Projectile.Laser)
-            .forEach(proj -> {
-                if (player.intersects(proj)) {
-                    player.damage(currentTime);
-                    explosions.add(new Explosion(player.getPosition(), currentTime, 2000));
-                }
-            });
-
-        // colisão entre player e enemy
-        enemies.forEach(enemy -> {
-           if (player.intersects(enemy)) {
-               player.damage(currentTime);
-               explosions.add(new Explosion(player.getPosition(), currentTime, 2000));
-           }
-        });
-
-        // checa se cada inimigo colidiu com um projetil do player
-        projectiles.stream()
-            .filter(proj -> proj instanceof Projectile.Bullet || proj instanceof Projectile.Laser)
-            .forEach(bullet -> {
-                enemies.removeIf(enemy -> {
-                    if (enemy.intersects(bullet)) {
-                        /*Precisamos, agora, fazer uma alteração na vida dos inimigos. Isso
-                        é mais relevante quando estamos falando de algum boss. Primeiro, subtraímos
-                        e depois vemos se a vida do inimigo zerou*/
-                        int momentLife = enemy.getLife();
-                        enemy.setLife(--momentLife);
-                        explosions.add(new Explosion(enemy.getPosition(), currentTime, 500));
-                        if(enemy.getLife() == 0){
-                            return true;
-                        }
-                    }
-                    return false;
-                });
-            });
-
-        // Checa se o jogador pegou um power up
-        powerups.removeIf(pow -> {
-            if(player.intersects(pow)) {
-                player.pickPowerUp(pow);
-                return true;
-            }
-            return false;
-        });
-
-        /* Movimenta/ Atualiza entidades */
-        // Atualiza o estado das explosões e remove as que completaram
-        explosions.removeIf(expl -> {expl.update(currentTime); return expl.isFinished();});
-
-        // Atualiza a posicao das balas do jogador
-        // e remove se fora da tela
-        projectiles.removeIf(proj -> {
-            if(proj instanceof Projectile.Bullet || proj instanceof Projectile.Laser) {
-                proj.move(delta);
-                Vector2D pos = proj.getPosition();
-                return pos.getX() < 0 || pos.getX() > GameLib.WIDTH || pos.getY() < 0 || pos.getY() > GameLib.HEIGHT;
+    /// Inimigos vivos: objetos e linhas dos arquétipos
+    int enemyCount() {
+        return enemies.size() + world.size();
+    }
+
+    /// Movimenta e remove inimigos fora da tela
+    private void moveEnemies() {
+        // Cada inimigo só mexe no próprio estado, então os blocos podem rodar em paralelo
+        for (var a : world.query(EnemySystems.LINEAR_MOVEMENT, Component.ORBIT)) {
+            movingArchetype = a;
+            scheduler.parallelFor(a.size(), moveLinearChunk);
+        }
+        for (var a : world.query(EnemySystems.ORBIT_MOVEMENT)) {
+            movingArchetype = a;
+            scheduler.parallelFor(a.size(), moveOrbitChunk);
+        }
+        EnemySystems.cull(world);
+        scheduler.parallelFor(enemies.size(), moveEnemyChunk);
+        // (com um pequeno offset para que o jogo rode mais alguns frames antes do ultimo inimigo sair da tela)
+        // (laço por índice de trás pra frente: remove sem alocar iterator/lambda)
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Vector2D pos = enemies.get(i).getPosition();
+            if (pos.getY() > GameLib.HEIGHT + 10 || pos.getX() < -10 || pos.getX() > GameLib.WIDTH + 10) {
+                enemies.remove(i);
             }
-            return false;
-        });
+        }
+    }
+
+    private void moveEnemyRange(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) enemies.get(i).move(delta);
+    }
+
+    private void moveLinearRange(int chunk, int from, int to) {
+        EnemySystems.moveLinear(movingArchetype, from, to, delta);
+    }
+
+    private void moveOrbitRange(int chunk, int from, int to) {
+        EnemySystems.moveOrbit(movingArchetype, from, to, delta);
+    }
 
-        enemies.forEach(e -> {
+    /// Timers e ataques especiais dos chefes
+    private void updateBosses() {
+        for (int i = 0; i < enemies.size(); i++) {
+            var e = enemies.get(i);
             if (e instanceof Enemy.ZaWarudo) {
                 Enemy.ZaWarudo advancedEnemy = (Enemy.ZaWarudo) e;
                 if(!secondBossZaWarudo) advancedEnemy.activateBossZaWarudo(currentTime);
@@ -235,58 +433,478 @@ public class Game {
 
                 if(secondBossZaWarudo){
                     advancedEnemy.move(delta);
-                    advancedEnemy.shot(currentTime).ifPresent(bullet -> projectiles.add(bullet));
+                    advancedEnemy.shot(currentTime, projectiles);
                 }
             } else if(e instanceof Enemy.ShadowPlayer){
                 Enemy.ShadowPlayer advancedEnemy = (Enemy.ShadowPlayer) e;
                 advancedEnemy.activateBossLaser(currentTime);
                 advancedEnemy.updateLaserTimer(delta);
             }
-         });
+        }
     }
 
-    private void render() {
+    /// Colisões entre player, inimigos, projéteis e power ups, nos pares de camadas de `collisions`
+    void checkCollisions() {
+        GameEvents.CollisionPass event = null;
+        if (GameEvents.COLLISION_PASS.isEnabled()) {
+            event = new GameEvents.CollisionPass();
+            event.begin();
+        }
+        pairTests = 0;
+        hitCount = 0;
+        anyEnemyKilled = false;
+
+        /* Colisões */
+        // Separa as hitboxes por camada com as posições atuais (uma passada por fonte)
+        buckets.clear();
+        buckets.add(player, 0);
+        for (int i = 0; i < enemies.size(); i++) buckets.add(enemies.get(i), i);
+        EnemySystems.gatherColliders(world, buckets);
+        // Projéteis entram com o trajeto desde o último passo, testado como segmento
+        for (int i = 0; i < projectiles.size(); i++) {
+            buckets.addSwept(projectiles.layer(i), projectiles.sweepX(i), projectiles.sweepY(i),
+                projectiles.x(i), projectiles.y(i), projectiles.radius(i), i);
+        }
+        projectiles.endSweep();
+        for (int i = 0; i < powerups.size(); i++) buckets.add(powerups.get(i), i);
+
+        // Um passo por regra, na ordem da matriz
+        var rules = collisions.rules();
+        for (int r = 0; r < rules.size(); r++) {
+            runRule(rules.get(r));
+        }
+
+        // Remove quem morreu ou foi pego só no fim, as referências dos baldes são índices
+        if (anyEnemyKilled) {
+            for (int i = enemies.size() - 1; i >= 0; i--) {
+                if (enemies.get(i).getLife() == 0) enemies.remove(i);
+            }
+        }
+        world.compact();
+        if (!pickedPowerups.isEmpty()) {
+            powerups.removeAll(pickedPowerups);
+            pickedPowerups.clear();
+        }
+
+        if (event != null) {
+            event.tick = tickCount;
+            event.level = levelIndex;
+            event.projectiles = projectiles.size();
+            event.enemies = enemyCount();
+            event.pairTests = pairTests;
+            event.hits = hitCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Testa as entidades da camada `a` da regra contra a broadphase da camada `b`.
+     * Os testes rodam em blocos (em paralelo se houver threads) e guardam os pares por bloco;
+     * as reações são aplicadas depois, na ordem das entidades de `a`
+     */
+    private void runRule(CollisionMatrix.Rule rule) {
+        var a = buckets.get(rule.a());
+        var b = buckets.get(rule.b());
+        if (a.size() == 0 || b.size() == 0) return;
+        b.buildGrid();
+
+        int chunks = scheduler.chunkCount(a.size());
+        while (chunkPairs.size() < chunks) {
+            chunkPairs.add(new IntList());
+            chunkCandidates.add(new IntList());
+        }
+        if (chunkTests.length < chunks) chunkTests = new int[chunks];
+        ruleA = a;
+        ruleB = b;
+        scheduler.parallelFor(a.size(), pairChunk);
+
+        for (int c = 0; c < chunks; c++) {
+            pairTests += chunkTests[c];
+            var pairs = chunkPairs.get(c);
+            for (int k = 0; k < pairs.size(); k += 2) {
+                rule.response().onHit(a.ref(pairs.get(k)), b.ref(pairs.get(k + 1)));
+            }
+        }
+    }
+
+    /// Narrowphase de um bloco da regra atual. Só lê os baldes: os pares vão para o buffer do bloco
+    private void findPairs(int chunk, int from, int to) {
+        var pairs = chunkPairs.get(chunk);
+        pairs.clear();
+        chunkTests[chunk] = ruleA.findPairs(ruleB, from, to, chunkCandidates.get(chunk), pairs);
+    }
+
+    /// Reação a um projétil inimigo ou inimigo encostando no player
+    private void hitPlayer() {
+        hitCount++;
+        player.damage(currentTime);
+        Explosion.PLAYER.emit(particles, player.getPosition().getX(), player.getPosition().getY(), currentTime, effectsRandom);
+    }
+
+    /**
+     * Reação a um projétil do player acertando um inimigo
+     * @param ref Índice em `enemies`, ou `~handle` de uma linha do World
+     */
+    private void hitEnemy(int ref) {
+        if (ref >= 0) {
+            var enemy = enemies.get(ref);
+            // Inimigos mortos por um projétil anterior neste tick já saíram do jogo
+            if (enemy.getLife() <= 0) return;
+            hitCount++;
+            /*Precisamos, agora, fazer uma alteração na vida dos inimigos. Isso
+            é mais relevante quando estamos falando de algum boss. Primeiro, subtraímos
+            e depois vemos se a vida do inimigo zerou*/
+            int momentLife = enemy.getLife();
+            enemy.setLife(--momentLife);
+            enemyHits++;
+            Explosion.HIT.emit(particles, enemy.getPosition().getX(), enemy.getPosition().getY(), currentTime, effectsRandom);
+            if (enemy.getLife() == 0) {
+                anyEnemyKilled = true;
+                enemyKills++;
+            }
+        } else {
+            int handle = ~ref;
+            var a = world.archetypeOf(handle);
+            int row = World.rowOf(handle);
+            if (a.life(row) <= 0) return;
+            hitCount++;
+            a.setLife(row, a.life(row) - 1);
+            enemyHits++;
+            Explosion.HIT.emit(particles, a.x(row), a.y(row), currentTime, effectsRandom);
+            if (a.life(row) == 0) {
+                a.kill(row);
+                enemyKills++;
+            }
+        }
+    }
+
+    /// Reação ao player pegando um power up (removido no fim do passo)
+    private void pickPowerup(int ref) {
+        var pow = powerups.get(ref);
+        hitCount++;
+        player.pickPowerUp(pow);
+        pickedPowerups.add(pow);
+    }
+
+    /// Executa um tick da simulação com passo fixo: o tempo avança exatamente 1/tickRate segundos
+    void tick() {
+        tickCount++;
+        long nextTime = startTime + tickCount * 1000 / tickRate;
+        delta = nextTime - currentTime;
+        currentTime = nextTime;
+
+        if (tickAllocations != null) tickAllocations.begin();
+        long start = isTimed() ? System.nanoTime() : 0;
+
+        // Guarda o estado anterior das entidades para interpolar a renderização
+        player.savePreviousState();
+        projectiles.savePreviousState();
+        for (int i = 0; i < enemies.size(); i++) enemies.get(i).savePreviousState();
+        EnemySystems.savePreviousState(world);
+        for (int i = 0; i < powerups.size(); i++) powerups.get(i).savePreviousState();
+        particles.savePreviousState();
+
+        // A entrada é lida antes do update para o tick já reagir às teclas dele
+        read_input();
+        update();
+
+        if (isTimed()) recordSimulation(System.nanoTime() - start);
+        if (tickAllocations != null) tickAllocations.end();
+    }
+
+    /// Algum medidor de tempo (profiler ou evento JFR do frame) está ligado
+    private boolean isTimed() {
+        return profiler != null || frameEvent != null;
+    }
+
+    /// Registra a duração de um passo da simulação (update + entrada)
+    private void recordSimulation(long nanos) {
+        if (profiler != null) profiler.tick.record(nanos);
+        if (frameEvent != null) {
+            frameEvent.simulation += nanos;
+            frameEvent.ticks++;
+        }
+    }
+
+    /**
+     * Latência da primeira mudança de tecla até o fim do `GameLib.display()` do primeiro frame
+     * que a inclui. Com a thread de renderização o display só entrega o frame, então a medida
+     * não inclui o desenho na janela
+     */
+    private void recordInputLatency(long nanos) {
+        if (profiler != null) profiler.inputLatency.record(nanos);
+        if (frameEvent != null) frameEvent.inputLatency = nanos;
+    }
+
+    /**
+     * Renderiza o frame
+     * @param alpha Fração do próximo tick já decorrida, usada para interpolar as posições
+     */
+    void render(double alpha) {
+        long start = isTimed() ? System.nanoTime() : 0;
 
         // Renderiza cada background
-        farStarBackground.render();
-        nearStarBackground.render();
+        for (int i = starBackgrounds.length - 1; i >= 0; i--) starBackgrounds[i].render();
 
         // Renderiza os projéteis
-        projectiles.forEach((b)-> b.render());
+        projectiles.render(alpha);
         // Renderiza inimigos
-        enemies.forEach((e)-> e.render());
+        EnemySystems.render(world, alpha);
+        for (int i = 0; i < enemies.size(); i++) enemies.get(i).renderInterpolated(alpha);
         // Renderiza power ups
-        powerups.forEach((p)-> p.render());
+        for (int i = 0; i < powerups.size(); i++) powerups.get(i).renderInterpolated(alpha);
         // Renderiza explosoes
-        explosions.forEach(expl -> expl.render());
+        particles.render(alpha);
 
         // Renderiza o player
-        player.render();
+        player.renderInterpolated(alpha);
 
+        if (profiler != null) profiler.drawOverlay(enemyCount(), projectiles.size(), powerups.size(), particles.size());
+        long rendered = isTimed() ? System.nanoTime() : 0;
         GameLib.display();
+        if (isTimed()) {
+            long presented = System.nanoTime();
+            if (profiler != null) {
+                profiler.render.record(rendered - start);
+                profiler.present.record(presented - rendered);
+            }
+            if (frameEvent != null) {
+                frameEvent.render = rendered - start;
+                frameEvent.present = presented - rendered;
+            }
+            if (pendingInputNanos != 0) recordInputLatency(presented - pendingInputNanos);
+        }
+        pendingInputNanos = 0;
+        commitFrameEvent();
+    }
+
+    /**
+     * Fecha o evento JFR do frame e abre o do próximo. A duração do evento vai do fim de um
+     * frame ao fim do seguinte, então inclui a espera entre frames
+     */
+    private void commitFrameEvent() {
+        if (frameEvent != null) {
+            frameEvent.tick = tickCount;
+            frameEvent.level = levelIndex;
+            frameEvent.enemies = enemyCount();
+            frameEvent.projectiles = projectiles.size();
+            frameEvent.powerups = powerups.size();
+            frameEvent.particles = particles.size();
+            frameEvent.commit();
+            frameEvent = null;
+        }
+        if (GameEvents.FRAME.isEnabled()) {
+            frameEvent = new GameEvents.Frame();
+            frameEvent.begin();
+        }
+    }
+
+    /**
+     * Grava as teclas de cada tick num log binário que pode ser reproduzido com InputLog.Replay.
+     * A gravação força o passo fixo, já que só ele reproduz a mesma simulação
+     * @param file Arquivo do log
+     */
+    public void recordInput(Path file) throws IOException {
+        if (tickRate <= 0) tickRate = DEFAULT_TICK_RATE;
+        input = new InputLog.Recorder(input, file, seed, tickRate, startTime);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /// Tempos por fase, null se PROFILE e OVERLAY estão desligados
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /* Acesso ao estado da simulação para os benchmarks (mesmo pacote) */
+
+    Player getPlayer() { return player; }
+    ProjectilePool getProjectiles() { return projectiles; }
+    List<Enemy> getEnemies() { return enemies; }
+    World getWorld() { return world; }
+    EnemyArchetypes getArchetypes() { return archetypes; }
+    ParticleSystem getParticles() { return particles; }
+    List<Powerup> getPowerups() { return powerups; }
+    long getCurrentTime() { return currentTime; }
+    long getEnemyHits() { return enemyHits; }
+    long getEnemyKills() { return enemyKills; }
+
+    /// Desliga as mensagens de fim de jogo (ex.: milhares de partidas no BatchEnvironment)
+    void setQuiet(boolean quiet) {
+        this.quiet = quiet;
     }
 
     // Executa o jogo
 	public void run() {
    	    // inicializa a biblioteca gráfica
-       	GameLib.initGraphics();
+        if (softwareBands > 0) {
+            GameLib.initGraphics_SOFTWARE(softwareBands);
+        } else {
+            GameLib.initGraphics();
+        }
         //GameLib.initGraphics_SAFE_MODE();  // chame esta versão do método caso nada seja desenhado na janela do jogo.
 
+        GameLib.setBatching(batching);
+        GameLib.setSpriteCache(spriteCache);
+
+        // A simulação passa a gravar comandos e a janela é desenhada pela thread de renderização
+        ThreadedRenderer threaded = null;
+        if (renderThread) {
+            threaded = new ThreadedRenderer(GameLib.getRenderer());
+            threaded.start();
+            GameLib.setRenderer(threaded);
+        }
+
+        isRunning = true;
+
+        if (tickRate > 0) {
+            runFixedStep();
+        } else {
+            runVariableStep();
+        }
+
+        input.close();
+        scheduler.shutdown();
+        levels.close();
+        if (threaded != null) {
+            threaded.close();
+            System.out.printf("Frames publicados: %d, desenhados: %d%n",
+                threaded.getPublishedFrames(), threaded.getRenderedFrames());
+        }
+        if (renderStats && GameLib.getRenderStats() != null) {
+            System.out.println(GameLib.getRenderStats().summary());
+        }
+        if (tickAllocations != null) {
+            System.out.println(tickAllocations.summary());
+            System.out.println(frameAllocations.summary());
+        }
+        if (profiler != null) System.out.println(profiler.summary());
+   	    System.exit(0);
+	}
+
+    /**
+     * Executa o jogo sem janela, simulando ticks o mais rápido possível e renderizando
+     * cada tick no renderer dado (ex.: NullRenderer, CountingRenderer).
+     * Não encerra a JVM ao terminar.
+     * @param renderer Backend que recebe os comandos de desenho
+     * @param maxTicks Número máximo de ticks a simular
+     * @return Número de ticks simulados (menor que `maxTicks` se o jogo acabou antes)
+     */
+    public long runHeadless(Renderer renderer, long maxTicks) {
+        beginHeadless(renderer);
+        long ticks = 0;
+        while (isRunning && ticks < maxTicks) {
+            long frameStart = profiler != null ? System.nanoTime() : 0;
+            tick();
+            render(1.0);
+            if (profiler != null) profiler.frame.recordSince(frameStart);
+            ticks++;
+        }
+        endHeadless();
+        return ticks;
+    }
+
+    /// Prepara uma execução sem janela em que quem chama controla os ticks (`tick()` e `render()`)
+    void beginHeadless(Renderer renderer) {
+        GameLib.setRenderer(renderer);
+        beginHeadless();
+    }
+
+    /**
+     * Prepara uma execução só da simulação, sem trocar o renderer do GameLib. O `tick()` não
+     * desenha (todo desenho fica no `render()`) e só lê teclas pelo InputSource, então partidas
+     * que não usam `InputSource.Keyboard` nem chamam `render()` podem rodar `tick()` ao mesmo
+     * tempo em threads diferentes
+     */
+    void beginHeadless() {
+        // Sem relógio real o passo precisa ser fixo
+        if (tickRate <= 0) tickRate = DEFAULT_TICK_RATE;
         isRunning = true;
+    }
+
+    /// Ids das threads do pool do update criadas até agora (vazio no update sequencial)
+    long[] updateThreadIds() {
+        return scheduler.workerThreadIds();
+    }
 
+    /// Encerra uma execução sem janela, liberando a entrada, as threads e o carregamento das fases
+    void endHeadless() {
+        isRunning = false;
+        input.close();
+        scheduler.shutdown();
+        levels.close();
+    }
+
+    /// Se a partida continua (falso depois de vitória, derrota ou ESC)
+    boolean isRunning() {
+        return isRunning;
+    }
+
+    /// Loop original: a simulação avança com o tempo decorrido desde o último frame
+    private void runVariableStep() {
         while (isRunning) {
-            delta = System.currentTimeMillis() - currentTime;
-            currentTime = System.currentTimeMillis();
+            if (frameAllocations != null) frameAllocations.begin();
+            long frameStart = isTimed() ? System.nanoTime() : 0;
+            long now = clock.millis();
+            delta = now - currentTime;
+            currentTime = now;
 
-            update();
+            if (tickAllocations != null) tickAllocations.begin();
             read_input();
-            render();
+            update();
+            if (isTimed()) recordSimulation(System.nanoTime() - frameStart);
+            if (tickAllocations != null) tickAllocations.end();
+            render(1.0);
+            if (frameAllocations != null) frameAllocations.end();
+            if (profiler != null) frameStart = profiler.frame.recordSince(frameStart);
 
             // Deixa a thread em _idle_ para normalizar o frame rate
             busyWait(currentTime + 3);
+            if (profiler != null) profiler.idle.recordSince(frameStart);
         }
-   	    System.exit(0);
-	}
+    }
+
+    /// Loop de passo fixo: acumula o tempo real e simula quantos ticks couberem nele,
+    /// renderizando com as posições interpoladas entre os dois últimos ticks
+    private void runFixedStep() {
+        final long stepNanos = 1_000_000_000L / tickRate;
+        long accumulator = 0;
+        long previous = System.nanoTime();
+
+        while (isRunning) {
+            if (frameAllocations != null) frameAllocations.begin();
+            long frameStart = System.currentTimeMillis();
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            int steps = 0;
+            while (accumulator >= stepNanos && steps < maxCatchUpSteps && isRunning) {
+                tick();
+                accumulator -= stepNanos;
+                steps++;
+            }
+            // Se nem o limite de passos alcançou o relógio descarta o atraso,
+            // senão um frame lento faria os próximos ficarem cada vez mais lentos
+            if (accumulator >= stepNanos) {
+                accumulator %= stepNanos;
+            }
+
+            render((double) accumulator / stepNanos);
+            if (frameAllocations != null) frameAllocations.end();
+            if (profiler != null) now = profiler.frame.recordSince(now);
+
+            // Deixa a thread em _idle_ para normalizar o frame rate
+            busyWait(frameStart + 3);
+            if (profiler != null) profiler.idle.recordSince(now);
+        }
+    }
 
 	/// Mantem a thread em estado de espera
 	private static void busyWait(long time){
@@ -0,0 +1,117 @@
+package org.shootemup.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Eventos do JDK Flight Recorder emitidos pelo loop do jogo. Todos levam o tick e o índice da
+ * fase, então uma gravação (`-XX:StartFlightRecording`) pode ser alinhada com as pausas do GC
+ * e as amostras de alocação do mesmo instante.
+ *
+ * Sem gravação ativa o custo é uma leitura de `EventType.isEnabled()` por ponto de emissão:
+ * os eventos só são criados quando o tipo está ligado.
+ */
+public final class GameEvents {
+    static final EventType FRAME = EventType.getEventType(Frame.class);
+    static final EventType SPAWN_BATCH = EventType.getEventType(SpawnBatch.class);
+    static final EventType COLLISION_PASS = EventType.getEventType(CollisionPass.class);
+    static final EventType LEVEL_TRANSITION = EventType.getEventType(LevelTransition.class);
+
+    private GameEvents() {}
+
+    /// Um frame: simulação (ticks do frame), renderização e apresentação, com as entidades vivas no fim
+    @Name("org.shootemup.Frame")
+    @Label("Frame")
+    @Category("Shootemup")
+    @StackTrace(false)
+    public static class Frame extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Fase")
+        public int level;
+        @Label("Ticks simulados")
+        public int ticks;
+        @Label("Simulação")
+        @Timespan(Timespan.NANOSECONDS)
+        public long simulation;
+        @Label("Renderização")
+        @Timespan(Timespan.NANOSECONDS)
+        public long render;
+        @Label("Apresentação")
+        @Timespan(Timespan.NANOSECONDS)
+        public long present;
+        @Label("Latência da entrada")
+        @Description("Da primeira mudança de tecla do frame até o display (0 se nenhuma tecla mudou)")
+        @Timespan(Timespan.NANOSECONDS)
+        public long inputLatency;
+        @Label("Inimigos")
+        public int enemies;
+        @Label("Projéteis")
+        public int projectiles;
+        @Label("Power ups")
+        public int powerups;
+        @Label("Partículas")
+        public int particles;
+    }
+
+    /// Entidades que a fase entregou num tick
+    @Name("org.shootemup.SpawnBatch")
+    @Label("Spawn")
+    @Category("Shootemup")
+    @StackTrace(false)
+    public static class SpawnBatch extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Fase")
+        public int level;
+        @Label("Inimigos")
+        public int enemies;
+        @Label("Power ups")
+        public int powerups;
+    }
+
+    /// Passo de colisões de um tick
+    @Name("org.shootemup.CollisionPass")
+    @Label("Colisões")
+    @Category("Shootemup")
+    @StackTrace(false)
+    public static class CollisionPass extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Fase")
+        public int level;
+        @Label("Projéteis")
+        public int projectiles;
+        @Label("Inimigos")
+        public int enemies;
+        @Label("Pares testados")
+        @Description("Testes de interseção feitos depois da broadphase")
+        public int pairTests;
+        @Label("Acertos")
+        public int hits;
+    }
+
+    /// Troca de fase no `levels.poll()`; a duração inclui a espera pela carga da próxima fase
+    @Name("org.shootemup.LevelTransition")
+    @Label("Troca de fase")
+    @Category("Shootemup")
+    @StackTrace(false)
+    public static class LevelTransition extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Fase")
+        public int level;
+        @Label("Próxima fase")
+        public int nextLevel;
+        @Label("Memória usada")
+        @DataAmount
+        public long usedMemory;
+    }
+}
@@ -1,51 +1,81 @@
 package org.shootemup.engine;
 
-import java.util.PriorityQueue;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.lang.IllegalStateException;
 
-import org.shootemup.GameLib;
 import org.shootemup.components.Vector2D;
+import org.shootemup.ecs.EnemyArchetypes;
 import org.shootemup.entities.Enemy;
 import org.shootemup.entities.Powerup;
+import org.shootemup.utils.RandomSource;
 
 
-/// Classe GameLevel, representa cada nível do jogo, marca o tempo de inicio da fase e spawna inimigos e powerups com base no tempo de spawn
+/**
+ * Classe GameLevel, representa cada nível do jogo, marca o tempo de inicio da fase e spawna inimigos e powerups com base no tempo de spawn.
+ * Os spawns ficam guardados na fase até o `start()`, que os passa para a agenda (TimingWheel) do Game
+ */
 public class GameLevel {
     private long startTimeMillis = 0;
     private boolean hasStarted = false;
-    // Lista de Prioridade com base no tempo de spawn das entidades
-    private PriorityQueue<Map.Entry<Long, Enemy>> enemiesQueue;
-    private PriorityQueue<Map.Entry<Long, Powerup>> powerUpsQueue;
-
-    public GameLevel() {
-        enemiesQueue = new PriorityQueue<>(
-            (self, other) -> (int)(self.getKey() - other.getKey())
-        );
-        powerUpsQueue = new PriorityQueue<>(
-            (self, other) -> (int)(self.getKey() - other.getKey())
-        );
+    private TimingWheel<Spawn> schedule = null; // Agenda do Game, recebida no start()
+    // Spawns adicionados um a um, com o tempo relativo ao início da fase, esperando o start()
+    private final List<Pending> pending = new ArrayList<>();
+    // Spawns compilados do arquivo da fase: as entidades só são criadas quando chega a hora
+    private SpawnTable spawnTable = null;
+    private int nextEnemy = 0; // Próximo registro de inimigo da tabela
+    private int nextPowerup = 0; // Próximo registro de powerup da tabela
+    // Cada seção da tabela tem um único evento na agenda, que se reagenda para o próximo registro
+    private final Spawn tableEnemies = this::spawnTableEnemies;
+    private final Spawn tablePowerups = this::spawnTablePowerups;
+    // Aleatoriedade dos inimigos e powerups criados por esta fase
+    private final RandomSource random;
+
+    /// Evento de spawn na agenda do Game: cria as entidades quando chega a hora
+    @FunctionalInterface
+    interface Spawn {
+        /**
+         * @param now Tempo atual da partida
+         * @return Número de inimigos criados (chefes e linhas de arquétipo)
+         */
+        int spawn(long now, List<Enemy> enemies, EnemyArchetypes archetypes, List<Powerup> powerups);
+    }
+
+    private record Pending(long time, Spawn spawn) {}
+
+    public GameLevel(RandomSource random) {
+        this.random = random;
+    }
+
+    /// Fase com os spawns de uma tabela compilada (ver `LevelCompiler`)
+    public GameLevel(RandomSource random, SpawnTable spawnTable) {
+        this(random);
+        this.spawnTable = spawnTable;
+        this.nextPowerup = spawnTable.enemyCount();
     }
 
     public void addEnemyFromRawData(String enemyType, long spawnTime, int life, int x, int y) throws IllegalStateException {
         switch (enemyType) {
             case "Common":
-                addEnemy(new Enemy.Common(new Vector2D(x, y)), spawnTime);
+                // Common e Flyer viram linhas dos arquétipos: só o tipo e a posição ficam agendados
+                schedule(spawnTime, (now, enemies, archetypes, powerups) -> {
+                    archetypes.spawnCommon(x, y, random);
+                    return 1;
+                });
                 break;
             case "Flyer":
-                addEnemy(new Enemy.Flyer(new Vector2D(x, y), x > GameLib.WIDTH /2 ), spawnTime);
-                for (int i = 1; i < 10; i++) {
-                    addEnemy(new Enemy.Flyer(new Vector2D(x, y), x > GameLib.WIDTH / 2), spawnTime + (i * 120));
+                for (int i = 0; i < 10; i++) {
+                    schedule(spawnTime + (i * 120), (now, enemies, archetypes, powerups) -> {
+                        archetypes.spawnFlyer(x, y, random);
+                        return 1;
+                    });
                 }
                 break;
             case "ShadowPlayer":
-                addEnemy(new Enemy.ShadowPlayer(new Vector2D(x, y), life, spawnTime + 5000), spawnTime);
+                addEnemy(new Enemy.ShadowPlayer(new Vector2D(x, y), life, spawnTime + 5000, random), spawnTime);
                 break;
             case "ZaWarudo":
-                addEnemy(new Enemy.ZaWarudo(new Vector2D(x, y), life, spawnTime + 5000), spawnTime);
+                addEnemy(new Enemy.ZaWarudo(new Vector2D(x, y), life, spawnTime + 5000, random), spawnTime);
                 break;
             default:
                 throw new IllegalStateException("Inimigo de Tipo não suportado: " + enemyType);
@@ -54,53 +84,112 @@ public class GameLevel {
 
     /// Adiciona inimigos com um tempo de spawn relativo ao inicio da fase: 2000 -> inimigo spawna 2 segundos após o inicio da fase
     public void addEnemy(Enemy enemy, long spawnTime) {
-        enemiesQueue.add(new AbstractMap.SimpleEntry<>(spawnTime, enemy) );
+        schedule(spawnTime, (now, enemies, archetypes, powerups) -> {
+            enemies.add(enemy);
+            return 1;
+        });
     }
 
     /// Adiciona powerups com um tempo de spawn relativo ao inicio da fase: 2000 -> powerup spawna 2 segundos após o inicio da fase
     public void addPowerUp(Powerup powerup, long spawnTime) {
-        powerUpsQueue.add(new AbstractMap.SimpleEntry<>(spawnTime, powerup));
+        schedule(spawnTime, (now, enemies, archetypes, powerups) -> {
+            powerups.add(powerup);
+            return 0;
+        });
+    }
+
+    /// Guarda o spawn até o start() ou, com a fase já iniciada, agenda direto
+    private void schedule(long spawnTime, Spawn spawn) {
+        if (hasStarted) {
+            schedule.schedule(startTimeMillis + spawnTime, spawn);
+        } else {
+            pending.add(new Pending(spawnTime, spawn));
+        }
     }
 
     public void addPowerUpFromRawParts(String powerupType, long spawnTime, int x, int y) throws IllegalStateException {
         switch (powerupType) {
             case "LaserMode":
-                addPowerUp(new Powerup.LaserMode(new Vector2D(x, y)), spawnTime);
+                addPowerUp(new Powerup.LaserMode(new Vector2D(x, y), random), spawnTime);
                 break;
             case "ZaWarudo":
-                addPowerUp(new Powerup.ZaWarudo(new Vector2D(x, y)), spawnTime);
+                addPowerUp(new Powerup.ZaWarudo(new Vector2D(x, y), random), spawnTime);
                 break;
             default:
                 throw new IllegalStateException("Tipo de powerup não suportado: " + powerupType);
         }
     }
 
-    /// Retorna uma lista de inimigos com spawntime menor que o tempo atual
-    public List<Enemy> takeEnemiesLessThan(long timeMilis) {
-        List<Enemy> enemies = new ArrayList<>();
-        if (!getHasStarted()) {return enemies; }
-
-        while (enemiesQueue.peek() != null && enemiesQueue.peek().getKey() <= timeMilis - startTimeMillis) {
-            var enemy = enemiesQueue.poll();
-            enemies.add(enemy.getValue());
+    /// Cria os inimigos vencidos da tabela e agenda o evento de novo para o próximo registro
+    private int spawnTableEnemies(long now, List<Enemy> enemies, EnemyArchetypes archetypes, List<Powerup> powerups) {
+        var t = spawnTable;
+        int spawned = 0;
+        while (nextEnemy < t.enemyCount() && startTimeMillis + t.spawn(nextEnemy) <= now) {
+            int i = nextEnemy++;
+            switch (t.type(i)) {
+                case SpawnTable.COMMON -> archetypes.spawnCommon(t.x(i), t.y(i), random);
+                case SpawnTable.FLYER -> archetypes.spawnFlyer(t.x(i), t.y(i), random);
+                default -> enemies.add(createEnemy(i));
+            }
+            spawned++;
         }
-        return enemies;
+        if (nextEnemy < t.enemyCount()) schedule.schedule(startTimeMillis + t.spawn(nextEnemy), tableEnemies);
+        return spawned;
     }
 
-    public List<Powerup> takePowerUpsLessThan(long timeMillis) {
-        List<Powerup> powerups = new ArrayList<>();
-        if (!getHasStarted()) {return powerups;}
-        while (powerUpsQueue.peek() != null && powerUpsQueue.peek().getKey() <= timeMillis - startTimeMillis) {
-            var powerup = powerUpsQueue.poll();
-            powerups.add(powerup.getValue());
+    /// Cria os powerups vencidos da tabela e agenda o evento de novo para o próximo registro
+    private int spawnTablePowerups(long now, List<Enemy> enemies, EnemyArchetypes archetypes, List<Powerup> powerups) {
+        var t = spawnTable;
+        while (nextPowerup < t.size() && startTimeMillis + t.spawn(nextPowerup) <= now) {
+            powerups.add(createPowerup(nextPowerup++));
         }
-        return powerups;
+        if (nextPowerup < t.size()) schedule.schedule(startTimeMillis + t.spawn(nextPowerup), tablePowerups);
+        return 0;
     }
 
-    /// Inicia a fase com o tempo atual
-    public void start(long currentTime) {
+    private Enemy createEnemy(int i) {
+        var t = spawnTable;
+        var position = new Vector2D(t.x(i), t.y(i));
+        return switch (t.type(i)) {
+            case SpawnTable.SHADOW_PLAYER -> new Enemy.ShadowPlayer(position, t.life(i), t.spawn(i) + 5000, random);
+            case SpawnTable.ZA_WARUDO -> new Enemy.ZaWarudo(position, t.life(i), t.spawn(i) + 5000, random);
+            default -> throw new IllegalStateException("Inimigo de Tipo não suportado: " + t.type(i));
+        };
+    }
+
+    private Powerup createPowerup(int i) {
+        var t = spawnTable;
+        var position = new Vector2D(t.x(i), t.y(i));
+        return switch (t.type(i)) {
+            case SpawnTable.LASER_MODE -> new Powerup.LaserMode(position, random);
+            case SpawnTable.ZA_WARUDO_POWERUP -> new Powerup.ZaWarudo(position, random);
+            default -> throw new IllegalStateException("Tipo de powerup não suportado: " + t.type(i));
+        };
+    }
+
+    /**
+     * Inicia a fase com o tempo atual e passa os spawns dela para a agenda do Game
+     * @param schedule Agenda em tempo absoluto onde os spawns são entregues
+     */
+    void start(long currentTime, TimingWheel<Spawn> schedule) {
         hasStarted = true;
         startTimeMillis = currentTime;
+        this.schedule = schedule;
+        if (spawnTable != null) {
+            if (nextEnemy < spawnTable.enemyCount()) {
+                schedule.schedule(currentTime + spawnTable.spawn(nextEnemy), tableEnemies);
+            }
+            if (nextPowerup < spawnTable.size()) {
+                schedule.schedule(currentTime + spawnTable.spawn(nextPowerup), tablePowerups);
+            }
+        }
+        for (var p : pending) schedule.schedule(currentTime + p.time(), p.spawn());
+        pending.clear();
+    }
+
+    /// Gerador usado pelas entidades desta fase
+    public RandomSource getRandom() {
+        return random;
     }
 
     // Getter para saber se a fase começou ou nao
@@ -108,8 +197,4 @@ public class GameLevel {
         return hasStarted;
     }
 
-    public boolean isComplete() {
-        return enemiesQueue.isEmpty() && powerUpsQueue.isEmpty();
-    }
-
 }
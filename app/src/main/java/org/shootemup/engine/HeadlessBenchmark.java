@@ -0,0 +1,273 @@
+package org.shootemup.engine;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.shootemup.GameLib;
+import org.shootemup.config.Config;
+import org.shootemup.entities.Projectile;
+import org.shootemup.entities.ProjectilePool;
+import org.shootemup.input.InputSource;
+import org.shootemup.render.Renderer;
+import org.shootemup.utils.Clock;
+import org.shootemup.utils.LatencyHistogram;
+import org.shootemup.utils.RandomSource;
+
+/**
+ * Roda um cenário sintético de bullet hell sem janela, o mais rápido possível, e mede a
+ * simulação de ponta a ponta: ticks por segundo, percentis do tick e do frame, coletas do GC
+ * e bytes alocados por tick. Diferente dos benchmarks JMH (uma parte do jogo, com entidades
+ * paradas), aqui as entidades nascem, atiram, morrem e explodem como numa partida.
+ *
+ * O cenário vira uma única fase montada pelo código (GameLevel), com os spawns espalhados
+ * ao longo da duração. O player não morre, segura o tiro e anda de um lado para o outro; os
+ * projéteis extras dos inimigos são injetados a uma taxa fixa. Tudo sai da semente do
+ * cenário, então a mesma semente repete a mesma partida.
+ */
+public final class HeadlessBenchmark {
+    private HeadlessBenchmark() {}
+
+    /// Parâmetros do cenário; os campos públicos são preenchidos pela linha de comando
+    public static final class Scenario {
+        public int common = 200;          // Inimigos Common
+        public int flyers = 100;          // Inimigos Flyer (em formações de 10)
+        public int shadowPlayers = 1;     // Chefes ShadowPlayer
+        public int zaWarudos = 1;         // Chefes ZaWarudo
+        public int powerups = 4;          // Powerups (LaserMode e ZaWarudo alternados)
+        public int bossLife = 1500;       // Vida de cada chefe
+        public double bulletsPerSecond = 300; // Projéteis de inimigo injetados além dos disparados
+        public double duration = 60;      // Segundos simulados medidos
+        public double warmup = 10;        // Segundos simulados antes da medição (JIT, pools)
+        public long seed = 1;
+        public int threads = 0;           // Threads do update (<= 1 -> sequencial)
+        public int tickRate = 60;
+
+        /// Número de ticks simulados, com o aquecimento
+        long totalTicks() {
+            return warmupTicks() + Math.round(duration * tickRate);
+        }
+
+        long warmupTicks() {
+            return Math.round(warmup * tickRate);
+        }
+
+        /// Monta a fase do cenário: spawns uniformes no tempo simulado, x aleatório, acima da tela
+        GameLevel buildLevel() {
+            var level = new GameLevel(RandomSource.derive(seed, 1));
+            var random = RandomSource.derive(seed, 2);
+            long span = Math.max(1, totalTicks() * 1000 / tickRate);
+
+            for (int i = 0; i < common; i++) {
+                level.addEnemyFromRawData("Common", spawnTime(random, span), 1, spawnX(random), -20);
+            }
+            // Cada entrada Flyer é uma formação de 10
+            for (int i = 0; i < (flyers + 9) / 10; i++) {
+                level.addEnemyFromRawData("Flyer", spawnTime(random, span), 1, spawnX(random), -10);
+            }
+            for (int i = 0; i < shadowPlayers; i++) {
+                level.addEnemyFromRawData("ShadowPlayer", spawnTime(random, span), bossLife, spawnX(random), -20);
+            }
+            for (int i = 0; i < zaWarudos; i++) {
+                level.addEnemyFromRawData("ZaWarudo", spawnTime(random, span), bossLife, spawnX(random), -20);
+            }
+            for (int i = 0; i < powerups; i++) {
+                level.addPowerUpFromRawParts(i % 2 == 0 ? "LaserMode" : "ZaWarudo", spawnTime(random, span), spawnX(random), -20);
+            }
+            return level;
+        }
+
+        private static long spawnTime(RandomSource random, long span) {
+            return (long) (random.nextDouble() * span);
+        }
+
+        private static int spawnX(RandomSource random) {
+            return 20 + (int) (random.nextDouble() * (GameLib.WIDTH - 40));
+        }
+
+        /// Parâmetros em JSON, repetidos no relatório para cada resultado dizer de onde veio
+        String toJson() {
+            return String.format(Locale.ROOT,
+                "{\"common\":%d,\"flyers\":%d,\"shadowPlayers\":%d,\"zaWarudos\":%d,\"powerups\":%d,\"bossLife\":%d,"
+                    + "\"bulletsPerSecond\":%.1f,\"duration\":%.3f,\"warmup\":%.3f,\"seed\":%d,\"threads\":%d,\"tickRate\":%d}",
+                common, flyers, shadowPlayers, zaWarudos, powerups, bossLife,
+                bulletsPerSecond, duration, warmup, seed, threads, tickRate);
+        }
+    }
+
+    /// Resultado de uma execução (só a parte medida, depois do aquecimento)
+    public static final class Report {
+        public final Scenario scenario;
+        public final LatencyHistogram tick = new LatencyHistogram("tick");
+        public final LatencyHistogram frame = new LatencyHistogram("frame");
+        public long ticks = 0;
+        public long elapsedNanos = 0;
+        public long gcCount = 0;
+        public long gcMillis = 0;
+        public long allocatedBytes = 0;   // Thread que chama run() e workers do pool do update
+        public long injectedBullets = 0;
+        public int peakEnemies = 0;
+        public int peakProjectiles = 0;
+        public int peakParticles = 0;
+        public boolean gameEnded = false; // O jogo acabou antes da duração (todos os inimigos mortos)
+
+        Report(Scenario scenario) {
+            this.scenario = scenario;
+        }
+
+        public double ticksPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : ticks * 1e9 / elapsedNanos;
+        }
+
+        public double allocatedBytesPerTick() {
+            return ticks == 0 ? 0.0 : (double) allocatedBytes / ticks;
+        }
+
+        /// Relatório numa linha de JSON, com as durações em nanossegundos
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                "{\"scenario\":%s,\"ticks\":%d,\"elapsedNanos\":%d,\"ticksPerSecond\":%.1f,\"tickNanos\":%s,\"frameNanos\":%s,"
+                    + "\"gcCount\":%d,\"gcMillis\":%d,\"allocatedBytes\":%d,\"allocatedBytesPerTick\":%.1f,"
+                    + "\"injectedBullets\":%d,\"peakEnemies\":%d,\"peakProjectiles\":%d,\"peakParticles\":%d,\"gameEnded\":%b}",
+                scenario.toJson(), ticks, elapsedNanos, ticksPerSecond(), percentiles(tick), percentiles(frame),
+                gcCount, gcMillis, allocatedBytes, allocatedBytesPerTick(),
+                injectedBullets, peakEnemies, peakProjectiles, peakParticles, gameEnded);
+        }
+
+        private static String percentiles(LatencyHistogram h) {
+            return String.format(Locale.ROOT, "{\"p50\":%d,\"p90\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d,\"mean\":%.1f}",
+                h.percentile(0.50), h.percentile(0.90), h.percentile(0.99), h.percentile(0.999), h.max(), h.mean());
+        }
+    }
+
+    /// Player de teste: segura o tiro e troca de direção (esquerda/direita) a cada `strafeTicks` ticks
+    private static final class ScriptedInput implements InputSource {
+        private final long strafeTicks;
+        private long polls = 0;
+
+        ScriptedInput(long strafeTicks) {
+            this.strafeTicks = Math.max(1, strafeTicks);
+        }
+
+        @Override
+        public int poll() {
+            int direction = (polls++ / strafeTicks) % 2 == 0 ? GameLib.KEY_LEFT : GameLib.KEY_RIGHT;
+            return 1 << GameLib.KEY_CONTROL | 1 << direction;
+        }
+    }
+
+    /**
+     * Executa o cenário até completar a duração ou o jogo acabar.
+     * Troca o renderer do GameLib durante a execução e devolve o anterior no fim; não encerra a JVM
+     * @param renderer Backend que recebe os comandos de desenho (ex.: NullRenderer)
+     */
+    public static Report run(Scenario scenario, Renderer renderer) {
+        var config = new Config(Integer.MAX_VALUE, List.of());
+        config.seed = scenario.seed;
+        config.tickRate = scenario.tickRate;
+        config.threads = scenario.threads;
+        var levels = LevelSource.of(List.of(scenario.buildLevel()));
+        var game = new Game(config, new ScriptedInput(scenario.tickRate * 3L / 2), new Clock.Virtual(0), levels);
+
+        var report = new Report(scenario);
+        var bullets = RandomSource.derive(scenario.seed, 3);
+        double bulletsPerTick = scenario.bulletsPerSecond / scenario.tickRate;
+        double pendingBullets = 0.0;
+        long warmupTicks = scenario.warmupTicks();
+        long totalTicks = scenario.totalTicks();
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        long startNanos = 0, startGcCount = 0, startGcMillis = 0;
+        var startBytes = new HashMap<Long, Long>(); // Por thread; as que nascem depois começam do zero
+
+        var previousRenderer = GameLib.getRenderer();
+        try {
+            game.beginHeadless(renderer);
+            long tick = 0;
+            while (game.isRunning() && tick < totalTicks) {
+                if (tick == warmupTicks) {
+                    startGcCount = gcCount(collectors);
+                    startGcMillis = gcMillis(collectors);
+                    for (long id : measuredThreads(game)) startBytes.put(id, threads.getThreadAllocatedBytes(id));
+                    startNanos = System.nanoTime();
+                }
+                pendingBullets += bulletsPerTick;
+                while (pendingBullets >= 1.0) {
+                    injectBullet(game.getProjectiles(), bullets);
+                    pendingBullets -= 1.0;
+                    if (tick >= warmupTicks) report.injectedBullets++;
+                }
+
+                long frameStart = System.nanoTime();
+                game.tick();
+                long tickEnd = System.nanoTime();
+                game.render(1.0);
+                long frameEnd = System.nanoTime();
+
+                if (tick >= warmupTicks) {
+                    report.tick.record(tickEnd - frameStart);
+                    report.frame.record(frameEnd - frameStart);
+                    report.peakEnemies = Math.max(report.peakEnemies, game.enemyCount());
+                    report.peakProjectiles = Math.max(report.peakProjectiles, game.getProjectiles().size());
+                    report.peakParticles = Math.max(report.peakParticles, game.getParticles().size());
+                    report.ticks++;
+                }
+                tick++;
+            }
+            if (report.ticks > 0) {
+                report.elapsedNanos = System.nanoTime() - startNanos;
+                report.allocatedBytes = allocatedBytes(threads, measuredThreads(game), startBytes);
+                report.gcCount = gcCount(collectors) - startGcCount;
+                report.gcMillis = gcMillis(collectors) - startGcMillis;
+            }
+            report.gameEnded = !game.isRunning();
+        } finally {
+            game.endHeadless();
+            GameLib.setRenderer(previousRenderer);
+        }
+        return report;
+    }
+
+    /// Projétil de inimigo saindo do topo da tela, para baixo com até 30° de desvio
+    private static void injectBullet(ProjectilePool pool, RandomSource random) {
+        double x = random.nextDouble() * GameLib.WIDTH;
+        double angle = Math.PI / 2 + (random.nextDouble() - 0.5) * Math.PI / 3;
+        double speed = 0.15 + random.nextDouble() * 0.15;
+        pool.spawn(Projectile.KIND_BALL, ProjectilePool.FACTION_ENEMY, x, 0.0, Math.cos(angle) * speed, Math.sin(angle) * speed);
+    }
+
+    private static long gcCount(List<GarbageCollectorMXBean> collectors) {
+        long total = 0;
+        for (var gc : collectors) total += Math.max(0, gc.getCollectionCount());
+        return total;
+    }
+
+    private static long gcMillis(List<GarbageCollectorMXBean> collectors) {
+        long total = 0;
+        for (var gc : collectors) total += Math.max(0, gc.getCollectionTime());
+        return total;
+    }
+
+    /// A thread que chama e os workers que o pool do update já criou (ele os cria sob demanda)
+    private static long[] measuredThreads(Game game) {
+        long[] workers = game.updateThreadIds();
+        long[] ids = new long[workers.length + 1];
+        ids[0] = Thread.currentThread().threadId();
+        System.arraycopy(workers, 0, ids, 1, workers.length);
+        return ids;
+    }
+
+    /// Bytes alocados pelas threads `ids` desde `startBytes`; um worker que terminou antes do fim fica de fora
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads, long[] ids, Map<Long, Long> startBytes) {
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) total += bytes[i] - startBytes.getOrDefault(ids[i], 0L);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,25 @@
+package org.shootemup.engine;
+
+import java.util.List;
+
+/**
+ * Sequência de fases de uma partida, na ordem em que são jogadas. O Game só olha a fase
+ * atual (`peek()`), passa para a próxima (`poll()`) e fecha a fonte no fim da partida.
+ */
+public interface LevelSource extends AutoCloseable {
+
+    /// Fase atual, ou null se as fases acabaram
+    GameLevel peek();
+
+    /// Troca para a próxima fase, retornando a que foi jogada (null se já tinham acabado)
+    GameLevel poll();
+
+    /// Libera o que a fonte estiver usando para carregar fases
+    @Override
+    default void close() {}
+
+    /// Fases já carregadas, jogadas na ordem da lista
+    static LevelSource of(List<GameLevel> levels) {
+        return new LoadedLevels(levels);
+    }
+}
@@ -0,0 +1,81 @@
+package org.shootemup.engine;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.shootemup.config.Config;
+
+/**
+ * Fases carregadas sob demanda: só a primeira fase é carregada no construtor e as
+ * próximas `lookahead` fases são preparadas em threads virtuais enquanto a atual é jogada.
+ * O `poll()` entrega a fase seguinte (esperando a carga se ela ainda não terminou) e solta a
+ * fase jogada, então só a fase atual e a janela de fases preparadas ficam na memória.
+ */
+public class LevelStreamer implements LevelSource {
+    private final Config config;
+    private final long seed;
+    private final int lookahead;
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+
+    private GameLevel current; // null -> acabaram as fases
+    private final ArrayDeque<Future<GameLevel>> prepared = new ArrayDeque<>();
+    private int nextIndex; // Próxima fase que ainda não começou a ser carregada
+
+    /**
+     * Carrega a primeira fase e começa a preparar as seguintes
+     * @param config Configuração com a lista de fases
+     * @param seed Semente da partida
+     * @param lookahead Número de fases preparadas além da atual (mínimo 1)
+     */
+    public LevelStreamer(Config config, long seed, int lookahead) {
+        this.config = config;
+        this.seed = seed;
+        this.lookahead = Math.max(1, lookahead);
+        int count = config.phaseFiles.size();
+        current = count > 0 ? config.loadPhase(0, seed) : null;
+        nextIndex = Math.min(1, count);
+        prefetch();
+    }
+
+    /// Completa a janela de fases em carga
+    private void prefetch() {
+        while (prepared.size() < lookahead && nextIndex < config.phaseFiles.size()) {
+            int index = nextIndex++;
+            prepared.addLast(loader.submit(() -> config.loadPhase(index, seed)));
+        }
+    }
+
+    private static GameLevel await(Future<GameLevel> level) {
+        try {
+            return level.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga da fase interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao carregar a fase", e.getCause());
+        }
+    }
+
+    @Override
+    public GameLevel peek() {
+        return current;
+    }
+
+    /// Troca para a próxima fase, retornando a que foi jogada
+    @Override
+    public GameLevel poll() {
+        var played = current;
+        current = prepared.isEmpty() ? null : await(prepared.pollFirst());
+        prefetch();
+        return played;
+    }
+
+    /// Cancela as cargas em andamento
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+}
@@ -0,0 +1,23 @@
+package org.shootemup.engine;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/// Fases todas carregadas de uma vez (ver `LevelSource.of`)
+final class LoadedLevels implements LevelSource {
+    private final ArrayDeque<GameLevel> levels;
+
+    LoadedLevels(List<GameLevel> levels) {
+        this.levels = new ArrayDeque<>(levels);
+    }
+
+    @Override
+    public GameLevel peek() {
+        return levels.peekFirst();
+    }
+
+    @Override
+    public GameLevel poll() {
+        return levels.pollFirst();
+    }
+}
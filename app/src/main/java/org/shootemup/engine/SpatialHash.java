@@ -0,0 +1,112 @@
+package org.shootemup.engine;
+
+import java.util.Arrays;
+
+import org.shootemup.GameLib;
+import org.shootemup.utils.IntList;
+
+/**
+ * Broadphase de colisões: grade uniforme cobrindo a tela (GameLib.WIDTH x GameLib.HEIGHT).
+ * As entradas são círculos identificados por uma chave int (ex.: índice no balde de colisão),
+ * inseridos na célula do seu centro; a grade é remontada a cada tick com um counting sort, sem
+ * alocar depois que os arrays atingem o tamanho máximo da partida.
+ * Entradas fora da tela caem nas células da borda, então a consulta continua conservadora.
+ */
+public class SpatialHash {
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+
+    private final int[] cellStart; // Início de cada célula em `sorted` (cols * rows + 1 posições)
+    private final int[] cursor; // Posição de escrita de cada célula durante o `build()`
+    private int[] cellOf = new int[64]; // Célula de cada entrada inserida
+    private int[] sorted = new int[64]; // Índices das entradas ordenadas por célula
+    private int[] keys = new int[64]; // Chave de cada entrada
+    private int count = 0;
+    private double maxRadius = 0.0; // Maior raio inserido, expande a área das consultas
+
+    /**
+     * Cria a grade cobrindo a tela do jogo
+     * @param cellSize Lado de cada célula em pixels
+     */
+    public SpatialHash(double cellSize) {
+        this.cellSize = cellSize;
+        this.cols = (int) Math.ceil(GameLib.WIDTH / cellSize);
+        this.rows = (int) Math.ceil(GameLib.HEIGHT / cellSize);
+        this.cellStart = new int[cols * rows + 1];
+        this.cursor = new int[cols * rows];
+    }
+
+    /// Remove todas as entradas da grade
+    public void clear() {
+        count = 0;
+        maxRadius = 0.0;
+    }
+
+    /// Adiciona um círculo identificado por `key`, ele só fica visível nas consultas depois de `build()`
+    public void insert(double x, double y, double radius, int key) {
+        if (count == keys.length) {
+            int capacity = count * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            cellOf = Arrays.copyOf(cellOf, capacity);
+            sorted = Arrays.copyOf(sorted, capacity);
+        }
+        cellOf[count] = cellIndex(column(x), row(y));
+        keys[count] = key;
+        maxRadius = Math.max(maxRadius, radius);
+        count++;
+    }
+
+    /// Ordena as entradas inseridas por célula (counting sort)
+    public void build() {
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) {
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        System.arraycopy(cellStart, 0, cursor, 0, cursor.length);
+        for (int i = 0; i < count; i++) {
+            sorted[cursor[cellOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * Coleta as chaves das entradas que podem colidir com o círculo dado
+     * @param x Centro do círculo
+     * @param y Centro do círculo
+     * @param radius Raio do círculo
+     * @param out Lista que recebe os candidatos (não é limpa antes)
+     */
+    public void queryKeys(double x, double y, double radius, IntList out) {
+        double reach = radius + maxRadius;
+        int c0 = column(x - reach), c1 = column(x + reach);
+        int r0 = row(y - reach), r1 = row(y + reach);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = cellIndex(c, r);
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    out.add(keys[sorted[i]]);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private int column(double x) {
+        return Math.clamp((long) Math.floor(x / cellSize), 0, cols - 1);
+    }
+
+    private int row(double y) {
+        return Math.clamp((long) Math.floor(y / cellSize), 0, rows - 1);
+    }
+
+    private int cellIndex(int col, int row) {
+        return row * cols + col;
+    }
+}
@@ -0,0 +1,109 @@
+package org.shootemup.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tabela de spawns de uma fase já compilada (ver `LevelCompiler`): registros de tamanho fixo
+ * lidos direto de um ByteBuffer (normalmente um MappedByteBuffer do arquivo em cache), sem
+ * interpretar texto.
+ *
+ * Formato (big-endian):
+ * - Cabeçalho de 32 bytes: magic "SHLV" (int), versão (int), tamanho e data de modificação do
+ *   arquivo de texto de origem (long, long), número de inimigos (int), número de powerups (int)
+ * - Registros de 24 bytes, primeiro os inimigos e depois os powerups, cada seção ordenada pelo
+ *   tempo de spawn: spawn (long), tipo (byte), 3 bytes de alinhamento, vida (int), x (int), y (int)
+ *
+ * Os registros são indexados de 0 a `size()`: inimigos em [0, enemyCount()) e powerups em
+ * [enemyCount(), size()). Os Flyers já vêm expandidos na onda de 10 naves.
+ */
+public final class SpawnTable {
+    public static final int MAGIC = 0x53484C56; // "SHLV"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 24;
+
+    // Tipos de inimigo
+    public static final byte COMMON = 0;
+    public static final byte FLYER = 1;
+    public static final byte SHADOW_PLAYER = 2;
+    public static final byte ZA_WARUDO = 3;
+    // Tipos de powerup
+    public static final byte LASER_MODE = 0;
+    public static final byte ZA_WARUDO_POWERUP = 1;
+
+    private final ByteBuffer data;
+    private final int enemyCount;
+    private final int powerupCount;
+
+    private SpawnTable(ByteBuffer data) {
+        this.data = data;
+        this.enemyCount = data.getInt(24);
+        this.powerupCount = data.getInt(28);
+    }
+
+    /**
+     * Lê a tabela de um buffer no formato compilado, sem copiar os registros
+     * @throws IllegalArgumentException se o cabeçalho ou o tamanho do buffer não batem
+     */
+    public static SpawnTable wrap(ByteBuffer data) {
+        if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Tabela de spawns inválida");
+        }
+        if (data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Versão da tabela de spawns não suportada: " + data.getInt(4));
+        }
+        long records = (long) data.getInt(24) + data.getInt(28);
+        if (data.getInt(24) < 0 || data.getInt(28) < 0 || data.limit() != HEADER_SIZE + records * RECORD_SIZE) {
+            throw new IllegalArgumentException("Tabela de spawns truncada");
+        }
+        return new SpawnTable(data);
+    }
+
+    /// Tamanho em bytes do arquivo de texto de onde a tabela foi compilada
+    public long sourceSize() {
+        return data.getLong(8);
+    }
+
+    /// Data de modificação (ms) do arquivo de texto de onde a tabela foi compilada
+    public long sourceModified() {
+        return data.getLong(16);
+    }
+
+    public int enemyCount() {
+        return enemyCount;
+    }
+
+    public int powerupCount() {
+        return powerupCount;
+    }
+
+    /// Número total de registros (inimigos + powerups)
+    public int size() {
+        return enemyCount + powerupCount;
+    }
+
+    /// Tempo de spawn do registro `i`, relativo ao início da fase
+    public long spawn(int i) {
+        return data.getLong(offset(i));
+    }
+
+    public byte type(int i) {
+        return data.get(offset(i) + 8);
+    }
+
+    public int life(int i) {
+        return data.getInt(offset(i) + 12);
+    }
+
+    public int x(int i) {
+        return data.getInt(offset(i) + 16);
+    }
+
+    public int y(int i) {
+        return data.getInt(offset(i) + 20);
+    }
+
+    private static int offset(int i) {
+        return HEADER_SIZE + i * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,235 @@
+package org.shootemup.engine;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executa os sistemas do `Game.update()` respeitando as dependências entre eles.
+ * Cada sistema declara os recursos que lê e escreve; dois sistemas conflitam se um escreve
+ * algo que o outro lê ou escreve. Os sistemas são agrupados em estágios na ordem em que foram
+ * adicionados: cada um vai para o estágio seguinte ao último sistema anterior com quem conflita,
+ * então o resultado é o mesmo da execução sequencial na ordem original.
+ * Sem pool (threads <= 1) tudo roda em ordem na thread chamadora, sem alocar.
+ */
+public class SystemScheduler {
+
+    /// Partes do estado do jogo que os sistemas leem ou escrevem
+    public enum Resource {
+        BACKGROUND,
+        PLAYER,
+        ENEMIES,
+        POWERUPS,
+        PROJECTILES,
+        EXPLOSIONS,
+    }
+
+    /// Corpo de uma tarefa dividida em blocos: recebe o índice do bloco e o intervalo [from, to)
+    @FunctionalInterface
+    public interface RangeBody {
+        void run(int chunk, int from, int to);
+    }
+
+    /// Sistema nomeado com os recursos que lê e escreve
+    public record GameSystem(String name, Set<Resource> reads, Set<Resource> writes, Runnable body) {
+        boolean conflictsWith(GameSystem other) {
+            for (var r : writes) {
+                if (other.reads.contains(r) || other.writes.contains(r)) return true;
+            }
+            for (var r : other.writes) {
+                if (reads.contains(r)) return true;
+            }
+            return false;
+        }
+    }
+
+    private final ForkJoinPool pool; // null -> execução sequencial
+    private final Set<Long> workerIds = ConcurrentHashMap.newKeySet(); // Threads que o pool já criou
+    private final int chunkSize;
+    private final List<GameSystem> systems = new ArrayList<>();
+    private GameSystem[][] stages; // Calculados na primeira execução depois de cada `add()`
+    private FrameProfiler profiler = null; // null -> sistemas sem medição
+
+    /**
+     * @param threads Número de threads do pool (<= 1 -> sequencial)
+     * @param chunkSize Tamanho dos blocos das listas divididas com `parallelFor()`
+     */
+    public SystemScheduler(int threads, int chunkSize) {
+        this.pool = threads > 1 ? new ForkJoinPool(threads, this::newWorker, null, false) : null;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Adiciona um sistema ao fim da sequência
+     * @param name Nome do sistema (diagnóstico)
+     * @param reads Recursos lidos
+     * @param writes Recursos escritos
+     * @param body Código do sistema
+     */
+    public SystemScheduler add(String name, Set<Resource> reads, Set<Resource> writes, Runnable body) {
+        systems.add(new GameSystem(name, EnumSet.copyOf(withNone(reads)), EnumSet.copyOf(withNone(writes)), body));
+        stages = null;
+        return this;
+    }
+
+    /// Executa todos os sistemas, um estágio por vez
+    public void run() {
+        if (stages == null) stages = buildStages();
+        for (var stage : stages) {
+            if (pool == null || stage.length == 1) {
+                for (var system : stage) system.body().run();
+            } else {
+                runStage(stage);
+            }
+        }
+    }
+
+    /**
+     * Divide o intervalo [0, n) em blocos de `chunkSize` e executa cada bloco, em paralelo
+     * quando há pool e mais de um bloco. Os blocos são sempre os mesmos para o mesmo `n`,
+     * então resultados guardados por bloco podem ser juntados em ordem de forma determinística.
+     * @param n Número de elementos
+     * @param body Código executado para cada bloco
+     */
+    public void parallelFor(int n, RangeBody body) {
+        int chunks = chunkCount(n);
+        if (pool == null || chunks <= 1) {
+            for (int c = 0; c < chunks; c++) {
+                body.run(c, c * chunkSize, Math.min(n, (c + 1) * chunkSize));
+            }
+            return;
+        }
+        invoke(new RangeTask(body, n, 0, chunks));
+    }
+
+    /// Número de blocos em que `parallelFor(n, ...)` divide o intervalo
+    public int chunkCount(int n) {
+        return (n + chunkSize - 1) / chunkSize;
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /// Ids das threads que o pool criou até agora, inclusive as que já terminaram (vazio sem pool).
+    /// O ForkJoinPool só cria os workers quando recebe trabalho
+    public long[] workerThreadIds() {
+        return workerIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /// Nomes dos sistemas de cada estágio, na ordem de execução
+    public List<List<String>> describeStages() {
+        if (stages == null) stages = buildStages();
+        var out = new ArrayList<List<String>>(stages.length);
+        for (var stage : stages) {
+            var names = new ArrayList<String>(stage.length);
+            for (var system : stage) names.add(system.name());
+            out.add(names);
+        }
+        return out;
+    }
+
+    /// Mede a duração de cada sistema num histograma do profiler (null desliga)
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+        stages = null;
+    }
+
+    /// Encerra as threads do pool
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    private ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        workerIds.add(worker.threadId());
+        return worker;
+    }
+
+    private GameSystem[][] buildStages() {
+        int[] stageOf = new int[systems.size()];
+        int stageCount = 0;
+        for (int i = 0; i < systems.size(); i++) {
+            int stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (systems.get(i).conflictsWith(systems.get(j))) {
+                    stage = Math.max(stage, stageOf[j] + 1);
+                }
+            }
+            stageOf[i] = stage;
+            stageCount = Math.max(stageCount, stage + 1);
+        }
+
+        var grouped = new ArrayList<List<GameSystem>>();
+        for (int s = 0; s < stageCount; s++) grouped.add(new ArrayList<>());
+        for (int i = 0; i < systems.size(); i++) grouped.get(stageOf[i]).add(timed(systems.get(i)));
+
+        var result = new GameSystem[stageCount][];
+        for (int s = 0; s < stageCount; s++) result[s] = grouped.get(s).toArray(GameSystem[]::new);
+        return result;
+    }
+
+    /// Com profiler, embrulha o corpo do sistema numa medição (criado uma vez, não aloca por execução)
+    private GameSystem timed(GameSystem system) {
+        if (profiler == null) return system;
+        var histogram = profiler.system(system.name());
+        Runnable body = system.body();
+        return new GameSystem(system.name(), system.reads(), system.writes(), () -> {
+            long start = System.nanoTime();
+            body.run();
+            histogram.recordSince(start);
+        });
+    }
+
+    private void runStage(GameSystem[] stage) {
+        // O último sistema do estágio roda na thread chamadora enquanto os outros rodam no pool
+        var tasks = new ArrayList<ForkJoinTask<?>>(stage.length - 1);
+        for (int i = 0; i < stage.length - 1; i++) tasks.add(pool.submit(stage[i].body()));
+        stage[stage.length - 1].body().run();
+        for (var task : tasks) task.join();
+    }
+
+    private void invoke(ForkJoinTask<?> task) {
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke(); // Já estamos numa thread do pool (ex.: dentro de um sistema)
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private static Set<Resource> withNone(Set<Resource> set) {
+        return set.isEmpty() ? EnumSet.noneOf(Resource.class) : set;
+    }
+
+    /// Divide o intervalo de blocos ao meio até sobrar um bloco por tarefa
+    @SuppressWarnings("serial") // Tarefas nunca são serializadas
+    private final class RangeTask extends RecursiveAction {
+        private final RangeBody body;
+        private final int n;
+        private final int firstChunk;
+        private final int endChunk;
+
+        RangeTask(RangeBody body, int n, int firstChunk, int endChunk) {
+            this.body = body;
+            this.n = n;
+            this.firstChunk = firstChunk;
+            this.endChunk = endChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (endChunk - firstChunk == 1) {
+                body.run(firstChunk, firstChunk * chunkSize, Math.min(n, (firstChunk + 1) * chunkSize));
+                return;
+            }
+            int mid = (firstChunk + endChunk) >>> 1;
+            invokeAll(new RangeTask(body, n, firstChunk, mid), new RangeTask(body, n, mid, endChunk));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.shootemup.engine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Agenda hierárquica de eventos (timing wheel) com resolução de 1 ms.
+ * São 4 níveis de 64 posições: o nível 0 guarda os eventos dos próximos 64 ms, um por
+ * milissegundo, e cada nível acima cobre 64 vezes mais tempo. Quando o tempo chega no começo
+ * de uma posição de um nível alto os eventos dela descem para os níveis de baixo, então
+ * agendar e entregar um evento custam O(1) amortizado, independente de quantos existem.
+ * Eventos a mais de 2^24 ms (~4,6 h) ficam numa lista à parte, revista a cada volta completa.
+ *
+ * Os eventos ficam em arrays com listas encadeadas por índice e os nós liberados são reusados,
+ * então depois de atingir o maior número de eventos pendentes a agenda não aloca.
+ * Eventos do mesmo instante saem na ordem em que foram agendados se foram agendados no
+ * mesmo `now()`; em qualquer caso a ordem é determinística.
+ */
+public final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final long SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = LEVELS * SLOTS; // Eventos além do último nível
+    private static final int OVERDUE = OVERFLOW + 1; // Eventos agendados para um instante já passado
+    private static final int NONE = -1;
+
+    // Listas de eventos por posição (mais as duas listas especiais)
+    private final int[] head = new int[OVERDUE + 1];
+    private final int[] tail = new int[OVERDUE + 1];
+    private final long[] occupied = new long[LEVELS]; // Bit s -> posição s do nível não está vazia
+
+    // Nós dos eventos
+    private long[] time = new long[64];
+    private Object[] items = new Object[64];
+    private int[] next = new int[64];
+    private int free = NONE;
+    private int allocated = 0;
+    private int size = 0;
+
+    private long now; // Último instante já entregue
+
+    /// @param start Primeiro instante que pode ser entregue
+    public TimingWheel(long start) {
+        now = start - 1;
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+    }
+
+    /// Agenda `item` para o instante `at` (no passado -> sai no próximo `advance`)
+    public void schedule(long at, T item) {
+        int node = allocate();
+        time[node] = at;
+        items[node] = item;
+        if (at <= now) {
+            append(OVERDUE, node);
+        } else {
+            place(node, now);
+        }
+        size++;
+    }
+
+    /**
+     * Avança o tempo até `until`, acrescentando em `out` os eventos com instante <= `until`
+     * em ordem de tempo
+     */
+    public void advance(long until, List<? super T> out) {
+        drain(OVERDUE, out);
+
+        while (now < until) {
+            if (size == 0) {
+                now = until;
+                break;
+            }
+            long t = now + 1;
+            if ((t & SLOT_MASK) == 0) cascade(t);
+
+            // Próxima posição ocupada no bloco atual do nível 0 (ou o fim do bloco)
+            long bits = occupied[0] >>> (t & SLOT_MASK);
+            long due = bits == 0 ? (t | SLOT_MASK) : t + Long.numberOfTrailingZeros(bits);
+            if (due > until) {
+                now = until;
+                break;
+            }
+            now = due;
+            if (bits != 0) drain((int) (due & SLOT_MASK), out);
+        }
+    }
+
+    /// Número de eventos pendentes
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /// Último instante entregue
+    public long now() {
+        return now;
+    }
+
+    /// Põe o nó no nível mais baixo onde o instante dele cabe, olhando a partir de `base`
+    private void place(int node, long base) {
+        long at = time[node];
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if (((at ^ base) >>> shift) == 0) {
+                int slot = (int) ((at >>> (SLOT_BITS * level)) & SLOT_MASK);
+                append(level * SLOTS + slot, node);
+                occupied[level] |= 1L << slot;
+                return;
+            }
+        }
+        append(OVERFLOW, node);
+    }
+
+    /// `t` é o começo de um bloco do nível 0: desce os eventos dos níveis de cima que começam em `t`
+    private void cascade(long t) {
+        if ((t & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) reinsert(OVERFLOW, t);
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long low = (1L << (SLOT_BITS * level)) - 1;
+            if ((t & low) != 0) continue;
+            int slot = (int) ((t >>> (SLOT_BITS * level)) & SLOT_MASK);
+            if ((occupied[level] & (1L << slot)) == 0) continue;
+            occupied[level] &= ~(1L << slot);
+            reinsert(level * SLOTS + slot, t);
+        }
+    }
+
+    private void reinsert(int list, long base) {
+        int node = head[list];
+        head[list] = tail[list] = NONE;
+        while (node != NONE) {
+            int following = next[node];
+            place(node, base);
+            node = following;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain(int list, List<? super T> out) {
+        int node = head[list];
+        if (node == NONE) return;
+        head[list] = tail[list] = NONE;
+        if (list < SLOTS) occupied[0] &= ~(1L << list);
+        while (node != NONE) {
+            int following = next[node];
+            out.add((T) items[node]);
+            items[node] = null;
+            next[node] = free;
+            free = node;
+            size--;
+            node = following;
+        }
+    }
+
+    private void append(int list, int node) {
+        next[node] = NONE;
+        if (tail[list] == NONE) {
+            head[list] = node;
+        } else {
+            next[tail[list]] = node;
+        }
+        tail[list] = node;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int node = free;
+            free = next[node];
+            return node;
+        }
+        if (allocated == time.length) {
+            int capacity = allocated * 2;
+            time = Arrays.copyOf(time, capacity);
+            items = Arrays.copyOf(items, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+}
@@ -1,27 +1,30 @@
 package org.shootemup.entities;
 
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
 
 import org.checkerframework.checker.units.qual.Current;
 import org.shootemup.GameLib;
 import org.shootemup.components.Vector2D;
 import org.shootemup.components.Weapon;
 import org.shootemup.components.LifeBar;
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.CollisionLayer;
+import org.shootemup.utils.RandomSource;
 import org.shootemup.utils.Shooter;
 
-// Classe Abstrata que engloba os diferentes inimigos do jogo
+// Classe Abstrata que engloba os chefes e inimigos especiais do jogo
+// (os inimigos comuns, Common e Flyer, são arquétipos do World: ver ecs.EnemyArchetypes)
 public abstract class Enemy extends Entity implements Shooter {
     protected double rotationSpeed;
-    protected Weapon<? extends Projectile> gun;
+    protected Weapon gun;
     protected int life;
+    protected final RandomSource random; // Aleatoriedade da fase onde o inimigo foi criado
 
-    protected Enemy(Color color, Vector2D pos, double radius, Vector2D velocity, double rotationSpeed, int life) {
+    protected Enemy(Color color, Vector2D pos, double radius, Vector2D velocity, double rotationSpeed, int life, RandomSource random) {
            super(pos, velocity, radius, color);
            this.rotationSpeed = rotationSpeed;
            this.life = life;
+           this.random = random;
     }
 
     public void setLife(int newLife){
@@ -32,128 +35,34 @@ public abstract class Enemy extends Entity implements Shooter {
         return this.life;
     }
 
+    @Override
+    public int getLayer() {
+        return CollisionLayer.ENEMY;
+    }
+
     @Override
 	public void render() {
             GameLib.setColor(color);
             GameLib.drawCircle(position.getX(), position.getY(), radius);
 	}
 
-	// Inimigo tipo comum: se movimenta para frente e atira
-    public static class Common extends Enemy {
-
-        public Common(Vector2D pos) {
-           super(Color.CYAN, pos, 9.0, new Vector2D(0.0, 0.20 + Math.random() * 0.15), 0.0, 1);
-           gun = Weapon.Cannon();
-        }
-
-		@Override
-		public Optional<Projectile> shot(long currentTime) {
-		    var bullet = gun.fire(currentTime, position, new Vector2D(0.0, 0.45));
-			if (bullet.isPresent()) {
-			    gun.setNextShot((long)(currentTime + 200 + Math.random() * gun.getReckoilMilis()));
-			}
-            return bullet.map(b-> (Projectile)b);
-		}
-    }
-
-    /// Inimigo tipo Flyers (voadores), andam em formação, giram e disparam multiplos tiros
-    public static class Flyer extends Enemy {
-        private double angle;
-        private boolean canShoot = false;
-        private long nextShootTime = 0;
-
-        public Flyer(Vector2D pos, boolean spawnOnRight) {
-            super(Color.MAGENTA, pos, 12.0, new Vector2D(0.42, 0.42), 1.0, 1);
-            this.angle = (3 * Math.PI) / 2;
-            this.rotationSpeed = 0.0;
-            gun = Weapon.TripleCannon();
-        }
-
-        @Override
-        public void render() {
-            GameLib.setColor(color);
-            GameLib.drawDiamond(position.getX(), position.getY(), radius);
-        }
-
-        @Override
-        public void move(long dt) {
-            double prevY = position.getY();
-
-            position.x += velocity.getX() * Math.cos(angle) * dt;
-            position.y -= velocity.getY() * Math.sin(angle) * dt;
-
-            angle += rotationSpeed * dt;
-
-            double threshold = GameLib.HEIGHT * 0.30;
-
-            if (prevY < threshold && position.getY() >= threshold) {
-                if (position.getX() < GameLib.WIDTH / 2) {
-                    rotationSpeed = 0.003;
-                } else {
-                    rotationSpeed = -0.003;
-                }
-            }
-
-            if (rotationSpeed > 0 && Math.abs(angle - 3 * Math.PI) < 0.05) {
-                rotationSpeed = 0.0;
-                angle = 3 * Math.PI;
-                canShoot = true;
-            } else if (rotationSpeed < 0 && Math.abs(angle) < 0.05) {
-                rotationSpeed = 0.0;
-                angle = 0.0;
-                canShoot = true;
-            }
-        }
-
-        @Override
-        public Optional<Projectile> shot(long currentTime) {
-            return Optional.empty();
-        }
-
-        // Dispara multiplos tiros
-        public List<Projectile> shotMultiple(long currentTime) {
-            List<Projectile> projectiles = new ArrayList<>();
-
-            if (!canShoot || currentTime < nextShootTime) {
-                return projectiles;
-            }
-
-            canShoot = false;
-            nextShootTime = currentTime + 1000;
-
-            double[] angles = { Math.PI/2 + Math.PI/8, Math.PI/2, Math.PI/2 - Math.PI/8 };
-
-            for (double shotAngle : angles) {
-                double finalAngle = shotAngle + Math.random() * Math.PI/6 - Math.PI/12;
-                double vx = Math.cos(finalAngle) * 0.30;
-                double vy = Math.sin(finalAngle) * 0.30;
-
-                Vector2D velocity = new Vector2D(vx, vy);
-
-                Projectile ball = new Projectile.Ball(position, velocity);
-                projectiles.add(ball);
-            }
-
-            return projectiles;
-        }
-    }
-
     /// Inimigo ShadowPlayer: versão maior e maligna do player, se movimenta em circulos
     public static class ShadowPlayer extends Enemy{
+        private static final Sprite SPRITE = Sprite.of("Enemy.ShadowPlayer", Color.RED, 30.0, Sprite.Shape.SHADOW_SHIP);
 
         private double angle;
         private LifeBar bossLife;
 
         private boolean isAlive = true;
-        private Weapon<? extends Projectile> pistolGun;
-        private Weapon<? extends Projectile> laserGun;
+        private Weapon pistolGun;
+        private Weapon laserGun;
         private long laserModeTimer = 0;
         private boolean canLaser = true;
         private long nextBossLaser;
 
 
-        public ShadowPlayer(Vector2D pos, int life, long nextBossLaser) {
-           super(Color.RED, pos, 30.0, new Vector2D(0.05, 0.05), 1.0, life);
+        public ShadowPlayer(Vector2D pos, int life, long nextBossLaser, RandomSource random) {
+           super(Color.RED, pos, 30.0, new Vector2D(0.05, 0.05), 1.0, life, random);
            pistolGun = Weapon.Cannon();
            laserGun = Weapon.LaserPistol();
            this.angle = (3 * Math.PI) / 2;
@@ -169,11 +78,10 @@ public abstract class Enemy extends Entity implements Shooter {
             }
         }
 
+        /// Consulta o timer e rearma o laser quando ele acaba; o efeito é desenhado em `render()`
         public boolean isLaserModeActive(long currentTime) {
-
             boolean result = laserModeTimer > 0;
-            if(result) Powerup.LaserMode.renderEffect(position, laserModeTimer, false);
-            else{
+            if(!result){
                 if(!canLaser){
                     nextBossLaser = currentTime + 10000;
                     canLaser = true;
@@ -187,26 +95,27 @@ public abstract class Enemy extends Entity implements Shooter {
         }
 
         @Override
-		public Optional<Projectile> shot(long currentTime) {
+		public boolean shot(long currentTime, ProjectilePool projectiles) {
             if (isLaserModeActive(currentTime)) {
-                return laserShot(currentTime);
+                return laserShot(currentTime, projectiles);
             } else {
-                var bullet = pistolGun.fire(currentTime, position.addVector(new Vector2D(0.0, 20)), new Vector2D(0.0, 0.45));
-                if (bullet.isPresent()) {
-                    pistolGun.setNextShot((long)(currentTime + 5 + Math.random() * pistolGun.getReckoilMilis()));
+                boolean fired = pistolGun.fire(currentTime, position.x, position.y + 20, 0.0, 0.45, projectiles, ProjectilePool.FACTION_ENEMY);
+                if (fired) {
+                    pistolGun.setNextShot((long)(currentTime + 5 + random.nextDouble() * pistolGun.getReckoilMilis()));
                 }
-                return bullet.map(b-> (Projectile)b);
+                return fired;
             }
 		}
 
 		/// Tiro com laser
-        public Optional<Projectile> laserShot(long currentTime) {
-            if (!isAlive) return Optional.empty();
+        public boolean laserShot(long currentTime, ProjectilePool projectiles) {
+            if (!isAlive) return false;
             return laserGun.fire(
                 currentTime,
-                new Vector2D(position.x, position.y + 2 * radius),
-                new Vector2D(0.0, 2.0)
-            ).map(b -> (Projectile)b);
+                position.x, position.y + 2 * radius,
+                0.0, 2.0,
+                projectiles, ProjectilePool.FACTION_ENEMY
+            );
         }
 
         @Override
@@ -232,11 +141,8 @@ public abstract class Enemy extends Entity implements Shooter {
 
 		@Override
         public void render() {
-            GameLib.setColor(color);
-            GameLib.drawLine(position.getX() - radius, position.getY() - radius, position.getX(), position.getY() + radius);
-            GameLib.drawLine(position.getX() + radius, position.getY() - radius, position.getX(), position.getY() + radius);
-            GameLib.drawLine(position.getX() - radius, position.getY() - radius, position.getX(), position.getY() - radius * 0.5);
-            GameLib.drawLine(position.getX() + radius, position.getY() - radius, position.getX(), position.getY() - radius * 0.5);
+            if (laserModeTimer > 0) Powerup.LaserMode.renderEffect(position.x, position.y, laserModeTimer, false);
+            GameLib.drawSprite(SPRITE, position.getX(), position.getY());
             bossLife.setFinalLife(this.getLife());
             bossLife.render();
         }
@@ -244,9 +150,16 @@ public abstract class Enemy extends Entity implements Shooter {
 
     /// Inimigo ZaWarudo: oscila entre Diamond/Circle e para o tempo periodicamente
     public static class ZaWarudo extends Enemy{
+        // Alterna entre as duas formas a cada frame
+        private static final Sprite DIAMOND_SPRITE = Sprite.of("Enemy.ZaWarudo.Diamond", Color.YELLOW, 30.0, Sprite.Shape.DIAMOND);
+        private static final Sprite CIRCLE_SPRITE = Sprite.of("Enemy.ZaWarudo.Circle", Color.YELLOW, 30.0, Sprite.Shape.CIRCLE);
+
+        // Anda 1 pixel a cada 3 ms, o ritmo do loop original (um update a cada ~3 ms, 1 pixel por update)
+        private static final long MILLIS_PER_PIXEL = 3;
 
         private LifeBar bossLife;
         private boolean shift = true;
+        private long moveMillis = 0; // Tempo acumulado ainda não convertido em pixels
 
         private long zaWarudoTimer = 0;
         private boolean canZawarudo = true;
@@ -257,25 +170,35 @@ public abstract class Enemy extends Entity implements Shooter {
         double thresholdRightX = GameLib.WIDTH * 0.85;
         double thresholdLeftX = GameLib.WIDTH * 0.15;
 
-        public ZaWarudo(Vector2D pos, int life, long nextBossZawarudo) {
-           super(Color.YELLOW, pos, 30.0, new Vector2D(0.05, 0.05), 1.0, life);
+        public ZaWarudo(Vector2D pos, int life, long nextBossZawarudo, RandomSource random) {
+           super(Color.YELLOW, pos, 30.0, new Vector2D(0.05, 0.05), 1.0, life, random);
            gun = Weapon.zapCannon();
            bossLife = new LifeBar(this.color, life, 105.0, 100.0);
            this.nextBossZawarudo = nextBossZawarudo;
         }
 
         @Override
-        public Optional<Projectile> shot(long currentTime) {
+        public boolean shot(long currentTime, ProjectilePool projectiles) {
             double senseOfShot = position.getY() == thresholdDownY ? -1.0 : 1.0;
             return gun.fire(
                 currentTime,
-                new Vector2D(position.x, position.y),
-                new Vector2D(0.0, senseOfShot)
-            ).map(b -> (Projectile)b);
+                position.x, position.y,
+                0.0, senseOfShot,
+                projectiles, ProjectilePool.FACTION_ENEMY
+            );
         }
 
+        /// Percorre o trajeto pixel a pixel, para as comparações exatas com os limites continuarem valendo
         @Override
         public void move(long dt) {
+            moveMillis += dt;
+            while (moveMillis >= MILLIS_PER_PIXEL) {
+                step();
+                moveMillis -= MILLIS_PER_PIXEL;
+            }
+        }
+
+        private void step() {
             if(position.getY() < thresholdUpY || position.getX() == thresholdRightX && position.getY() < thresholdDownY){
                 position.y += 1;
             }
@@ -297,14 +220,11 @@ public abstract class Enemy extends Entity implements Shooter {
             }
         }
 
+        /// Consulta o timer e rearma o ZaWarudo quando ele acaba; o efeito é desenhado em `render()`
         public boolean isZaWarudoActive(long currentTime){
-            if(zaWarudoTimer > 0){
-                Powerup.ZaWarudo.renderEffect(position, zaWarudoTimer, Color.YELLOW);
-            } else {
-                if(!canZawarudo){
-                    nextBossZawarudo = currentTime + 10000;
-                    canZawarudo = true;
-                }
+            if(zaWarudoTimer <= 0 && !canZawarudo){
+                nextBossZawarudo = currentTime + 10000;
+                canZawarudo = true;
             }
             return zaWarudoTimer > 0;
         }
@@ -315,12 +235,12 @@ public abstract class Enemy extends Entity implements Shooter {
 
 		@Override
         public void render() {
-            GameLib.setColor(color);
+            if (zaWarudoTimer > 0) Powerup.ZaWarudo.renderEffect(position.x, position.y, zaWarudoTimer, Color.YELLOW);
             if(shift){
-                GameLib.drawDiamond(position.getX(), position.getY(), 30);
+                GameLib.drawSprite(DIAMOND_SPRITE, position.getX(), position.getY());
                 shift = false;
             } else{
-                GameLib.drawCircle(position.getX(), position.getY(), 30);
+                GameLib.drawSprite(CIRCLE_SPRITE, position.getX(), position.getY());
                 shift = true;
             }
             bossLife.setFinalLife(this.getLife());
@@ -9,12 +9,15 @@ import org.shootemup.utils.Renderable;
 /// Menor unidade básica interagivel no jogo
 public abstract class Entity implements Renderable, Movable, Collidable {
     protected Vector2D position;
+    protected Vector2D previousPosition; // Posição no tick anterior, usada para interpolar a renderização
     protected Vector2D velocity;
     protected double radius;
     protected Color color;
 
+    /// @param pos Posição inicial (copiada: `move` altera a posição no lugar e não pode mexer na de outra entidade)
     public Entity(Vector2D pos, Vector2D velocity, double radius, Color color) {
-        this.position = pos;
+        this.position = new Vector2D(pos.x, pos.y);
+        this.previousPosition = new Vector2D(pos.x, pos.y);
         this.velocity = velocity;
         this.radius = radius;
         this.color = color;
@@ -22,13 +25,42 @@ public abstract class Entity implements Renderable, Movable, Collidable {
 
     @Override
     public void move(long dt) {
-        position = position.addVector(velocity.multiplyScalar(dt));
+        position.addScaledInPlace(velocity, dt);
+    }
+
+    /// Guarda a posição atual antes de um tick da simulação
+    public void savePreviousState() {
+        previousPosition.setLocation(position);
+    }
+
+    /**
+     * Renderiza a entidade numa posição interpolada entre o tick anterior e o atual
+     * @param alpha Fração do próximo tick já decorrida (0 -> tick anterior, 1 -> tick atual)
+     */
+    public void renderInterpolated(double alpha) {
+        if (alpha >= 1.0) {
+            render();
+            return;
+        }
+        double x = position.x;
+        double y = position.y;
+        position.x = previousPosition.x + (x - previousPosition.x) * alpha;
+        position.y = previousPosition.y + (y - previousPosition.y) * alpha;
+        render();
+        position.x = x;
+        position.y = y;
     }
 
     @Override
     public boolean intersects(Collidable other) {
-        double dist = position.distance(other.getPosition());
-        return dist < radius + other.getRadius();
+        var otherPos = other.getPosition();
+        return intersects(otherPos.getX(), otherPos.getY(), other.getRadius());
+    }
+
+    /// Colisão com um círculo que não é uma entidade (ex.: projéteis do ProjectilePool)
+    public boolean intersects(double x, double y, double otherRadius) {
+        double reach = radius + otherRadius;
+        return position.distanceSquared(x, y) < reach * reach;
     }
 
     @Override
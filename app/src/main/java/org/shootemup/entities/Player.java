@@ -1,13 +1,13 @@
 package org.shootemup.entities;
 
 import java.awt.Color;
-import java.util.Optional;
 
 import org.shootemup.GameLib;
 import org.shootemup.components.Vector2D;
 import org.shootemup.components.Weapon;
 import org.shootemup.components.LifeBar;
-import org.shootemup.utils.Collidable;
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.CollisionLayer;
 import org.shootemup.utils.Direction;
 import org.shootemup.utils.Shooter;
 
@@ -16,16 +16,20 @@ public class Player extends Entity implements Shooter {
     private int hp; // Pontos de vida
     private LifeBar playerLife;
     private long damageCoolDown = 0;
+    // Fração do raio usada nas colisões: a hitbox é um pouco menor que o desenho da nave
+    public static final double HITBOX_SCALE = 0.8;
     private boolean isAlive = true;
-    private Weapon<? extends Projectile> pistolGun;
-    private Weapon<? extends Projectile> laserGun;
+    private Weapon pistolGun;
+    private Weapon laserGun;
     private long zaWarudoTimer = 0;
     private long laserModeTimer = 0;
+    private final Sprite sprite;
 
     public Player(int hp, Vector2D pos, double radius, Vector2D velocity) {
         super(pos, velocity, radius, Color.BLUE);
         this.hp = hp;
         playerLife = new LifeBar(this.color, hp, 655.0, 650.0);
+        sprite = Sprite.of("Player", color, radius, Sprite.Shape.SHIP);
         pistolGun = Weapon.Pistol();
         laserGun = Weapon.LaserPistol();
     }
@@ -73,17 +77,13 @@ public class Player extends Entity implements Shooter {
         }
     }
 
-    public boolean isZaWarudoActive()
-    {
-        boolean result = zaWarudoTimer > 0;
-        if(result) Powerup.ZaWarudo.renderEffect(position, zaWarudoTimer, Color.WHITE);
-        return result;
+    /// Só consulta o timer: o efeito é desenhado em `render()`, uma vez por frame
+    public boolean isZaWarudoActive() {
+        return zaWarudoTimer > 0;
     }
 
     public boolean isLaserModeActive() {
-        boolean result = laserModeTimer > 0;
-        if(result) Powerup.LaserMode.renderEffect(position, laserModeTimer, true);
-        return result;
+        return laserModeTimer > 0;
     }
 
     public void updatePowerUpTimers(long dt) {
@@ -92,51 +92,61 @@ public class Player extends Entity implements Shooter {
     }
 
     @Override
-    public Optional<Projectile> shot(long currentTime) {
+    public boolean shot(long currentTime, ProjectilePool projectiles) {
         if (isLaserModeActive()) {
-            return laserShot(currentTime);
+            return laserShot(currentTime, projectiles);
         } else {
-            return pistolShot(currentTime);
+            return pistolShot(currentTime, projectiles);
         }
     }
 
     /// Tiro com pistola
-    public Optional<Projectile> pistolShot(long currentTime) {
-            if (!isAlive) return Optional.empty();
+    public boolean pistolShot(long currentTime, ProjectilePool projectiles) {
+            if (!isAlive) return false;
             return pistolGun.fire(
                 currentTime,
-                new Vector2D(position.x, position.y - 2 * radius),
-                new Vector2D(0.0, -1.0)
-            ).map(b -> (Projectile)b);
+                position.x, position.y - 2 * radius,
+                0.0, -1.0,
+                projectiles, ProjectilePool.FACTION_PLAYER
+            );
         }
 
     /// Tiro com laser
-    public Optional<Projectile> laserShot(long currentTime) {
-        if (!isAlive) return Optional.empty();
+    public boolean laserShot(long currentTime, ProjectilePool projectiles) {
+        if (!isAlive) return false;
         // angulando os tiros com o passar do tempo
         //double vx = ((Math.cos(currentTime / 25) * Math.PI / 10) - Math.PI / 20);
         return laserGun.fire(
             currentTime,
-            new Vector2D(position.x, position.y - 2 * radius),
-            new Vector2D(0.0, -2.0)
-        ).map(b -> (Projectile)b);
+            position.x, position.y - 2 * radius,
+            0.0, -2.0,
+            projectiles, ProjectilePool.FACTION_PLAYER
+        );
     }
 
 	@Override
 	public void render() {
 	    if (!isAlive) return;
-    	GameLib.setColor(color);
-		GameLib.drawPlayer(position.getX(), position.getY(), radius);
+	    // Efeitos dos power ups ativos, na posição (interpolada) da nave
+	    if (zaWarudoTimer > 0) Powerup.ZaWarudo.renderEffect(position.x, position.y, zaWarudoTimer, Color.WHITE);
+	    if (laserModeTimer > 0) Powerup.LaserMode.renderEffect(position.x, position.y, laserModeTimer, true);
+		GameLib.drawSprite(sprite, position.getX(), position.getY());
 		playerLife.setFinalLife(this.getHP());
         playerLife.render();
 	}
 
 
 	@Override
-	public boolean intersects(Collidable other) {
+	public boolean intersects(double x, double y, double otherRadius) {
 	    if (!isAlive) return false;
-		double dist = position.distance(other.getPosition());
-		return dist < (radius + other.getRadius()) * 0.8;
+		double reach = (radius + otherRadius) * HITBOX_SCALE;
+		return position.distanceSquared(x, y) < reach * reach;
+	}
+
+	/// Só colide enquanto está vivo
+	@Override
+	public int getLayer() {
+	    return isAlive ? CollisionLayer.PLAYER : CollisionLayer.NONE;
 	}
 
 }
@@ -4,11 +4,17 @@ import java.awt.Color;
 
 import org.shootemup.GameLib;
 import org.shootemup.components.Vector2D;
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.CollisionLayer;
+import org.shootemup.utils.RandomSource;
 
 /// Representa powerups adquiriveis pelo player
 public abstract class Powerup extends Entity {
+    private final Sprite sprite; // Losango da cor do power up, um sprite por tipo
+
     protected Powerup(Color color, Vector2D pos, double radius, Vector2D velocity) {
            super(pos, velocity, radius, color);
+           sprite = Sprite.of("Powerup." + getClass().getSimpleName(), color, radius, Sprite.Shape.DIAMOND);
     }
 
 
@@ -16,32 +22,37 @@ public abstract class Powerup extends Entity {
     public static class ZaWarudo extends Powerup {
         public final static long duration = 4000;
 
-        public ZaWarudo(Vector2D pos) {
-           super(Color.YELLOW, pos, 8.0, new Vector2D(0.0, 0.08 + Math.random() * 0.07));
+        public ZaWarudo(Vector2D pos, RandomSource random) {
+           super(Color.YELLOW, pos, 8.0, new Vector2D(0.0, 0.08 + random.nextDouble() * 0.07));
         }
 
-        public static void renderEffect(Vector2D position, long timeLeft, Color color) {
+        /**
+         * Desenha as ondas do efeito em volta de (x, y). Chamado só na renderização, com a
+         * posição já interpolada de quem ativou o efeito
+         * @param timeLeft Tempo restante do efeito em ms
+         */
+        public static void renderEffect(double x, double y, long timeLeft, Color color) {
             if(timeLeft > 3600) {
                 long r = (long)((4000 - timeLeft) * 1.6);
                 GameLib.setColor(color);
-                GameLib.drawCircle(position.x, position.y, r);
+                GameLib.drawCircle(x, y, r);
                 r = r - 50 < 0 ? 0 : r - 50;
                 GameLib.setColor(Color.LIGHT_GRAY);
-                GameLib.drawCircle(position.x, position.y, r);
+                GameLib.drawCircle(x, y, r);
                 r = r - 50 < 0 ? 0 : r - 50;
                 GameLib.setColor(Color.DARK_GRAY);
-                GameLib.drawCircle(position.x, position.y, r);
+                GameLib.drawCircle(x, y, r);
             }
             if(timeLeft < 500) {
                 double r = (timeLeft * 0.75) - 100;
                 GameLib.setColor(color);
-                if(r >= 0) GameLib.drawCircle(position.x, position.y, r);
+                if(r >= 0) GameLib.drawCircle(x, y, r);
                 r = r + 50 < 0 ? 0 : r + 50;
                 GameLib.setColor(Color.LIGHT_GRAY);
-                if(r >= 0) GameLib.drawCircle(position.x, position.y, r);
+                if(r >= 0) GameLib.drawCircle(x, y, r);
                 r = r + 50 < 0 ? 0 : r + 50;
                 GameLib.setColor(Color.DARK_GRAY);
-                if(r >= 0) GameLib.drawCircle(position.x, position.y, r);
+                if(r >= 0) GameLib.drawCircle(x, y, r);
             }
         }
     }
@@ -50,31 +61,39 @@ public abstract class Powerup extends Entity {
     public static class LaserMode extends Powerup {
         public final static long duration = 8000;
 
-        public LaserMode(Vector2D pos) {
-            super(Color.ORANGE, pos, 8.0, new Vector2D(0.0, 0.08 + Math.random() * 0.07));
+        public LaserMode(Vector2D pos, RandomSource random) {
+            super(Color.ORANGE, pos, 8.0, new Vector2D(0.0, 0.08 + random.nextDouble() * 0.07));
         }
 
-        public static void renderEffect(Vector2D position, long timeLeft, boolean isPlayerShooting) {
-
-
-            double y = isPlayerShooting ? position.y - 15: position.y + 45;
-            double x1 = position.x - ((double)timeLeft / (double)duration) * 24;
-            double x2 = position.x + ((double)timeLeft / (double)duration) * 24;
+        /**
+         * Desenha o canhão do laser na frente da nave em (x, y). Chamado só na renderização,
+         * com a posição já interpolada
+         * @param timeLeft Tempo restante do efeito em ms
+         * @param isPlayerShooting true -> canhão para cima (player), false -> para baixo (chefe)
+         */
+        public static void renderEffect(double x, double y, long timeLeft, boolean isPlayerShooting) {
+            double ly = isPlayerShooting ? y - 15: y + 45;
+            double x1 = x - ((double)timeLeft / (double)duration) * 24;
+            double x2 = x + ((double)timeLeft / (double)duration) * 24;
             GameLib.setColor(Color.RED);
-            GameLib.drawLine(x1, y, x2, y);
-            x1 = position.x - ((double)timeLeft / (double)duration) * 16;
-            x2 = position.x + ((double)timeLeft / (double)duration) * 16;
+            GameLib.drawLine(x1, ly, x2, ly);
+            x1 = x - ((double)timeLeft / (double)duration) * 16;
+            x2 = x + ((double)timeLeft / (double)duration) * 16;
 
-            y = isPlayerShooting ? y - 6: y + 6;
-            GameLib.drawLine(x1, y, x2, y);
-            y = isPlayerShooting ? y - 4: y + 4;
-            GameLib.drawCircle(position.x, y, 4);
+            ly = isPlayerShooting ? ly - 6: ly + 6;
+            GameLib.drawLine(x1, ly, x2, ly);
+            ly = isPlayerShooting ? ly - 4: ly + 4;
+            GameLib.drawCircle(x, ly, 4);
         }
     }
 
+    @Override
+    public int getLayer() {
+        return CollisionLayer.POWERUP;
+    }
+
     @Override
     public void render() {
-        GameLib.setColor(color);
-        GameLib.drawDiamond(position.getX(), position.getY(), radius);
+        GameLib.drawSprite(sprite, position.getX(), position.getY());
     }
 }
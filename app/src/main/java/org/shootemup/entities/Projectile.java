@@ -4,15 +4,56 @@ import java.awt.Color;
 
 import org.shootemup.GameLib;
 import org.shootemup.components.Vector2D;
+import org.shootemup.render.Sprite;
+import org.shootemup.utils.CollisionLayer;
 
 /// Classe abstrata que representa um projétil
 public abstract class Projectile extends Entity {
+    // Tipos de projétil, usados pelo ProjectilePool no lugar das subclasses
+    public static final byte KIND_BULLET = 0;
+    public static final byte KIND_LASER = 1;
+    public static final byte KIND_BALL = 2;
+    public static final byte KIND_TIME_BALL = 3;
 
     protected Projectile(Vector2D position, Vector2D velocity, Color color) {
         // Todos os projéteis tem raio 1.0
         super(position, velocity, 1.0, color);
     }
 
+    /// Tipo do projétil no ProjectilePool
+    public abstract byte kind();
+
+    /// Sem camada: a camada de um projétil vem da facção com que ele entra no ProjectilePool
+    @Override
+    public int getLayer() {
+        return CollisionLayer.NONE;
+    }
+
+    /// Desenha um projétil do tipo `kind` na posição (x, y)
+    public static void draw(byte kind, double x, double y) {
+        switch (kind) {
+            case KIND_BULLET:
+                Bullet.draw(x, y);
+                break;
+            case KIND_LASER:
+                Laser.draw(x, y);
+                break;
+            case KIND_BALL:
+                Ball.draw(x, y);
+                break;
+            case KIND_TIME_BALL:
+                timeBall.draw(x, y);
+                break;
+            default:
+                throw new IllegalStateException("Tipo de projétil não suportado: " + kind);
+        }
+    }
+
+    /// Raio de um projétil do tipo `kind`
+    public static double radiusOf(byte kind) {
+        return kind == KIND_BALL || kind == KIND_TIME_BALL ? 2.0 : 1.0;
+    }
+
     /// Representa um projétil em formato de bala (um conjunto de 3 linhas)
     public static class Bullet extends Projectile {
 
@@ -20,14 +61,22 @@ public abstract class Projectile extends Entity {
             super(position, velocity, Color.GREEN);
         }
 
+        @Override
+        public byte kind() {
+            return KIND_BULLET;
+        }
+
   		@Override
   		public void render() {
-            GameLib.setColor(color);
-            GameLib.drawLine(position.getX(), position.getY() - 5, position.getX(), position.getY() + 5);
-            GameLib.drawLine(position.getX() - 1, position.getY() - 3, position.getX() - 1, position.getY() + 3);
-            GameLib.drawLine(position.getX() + 1, position.getY() - 3, position.getX() + 1, position.getY() + 3);
+            draw(position.getX(), position.getY());
   		}
 
+        private static final Sprite SPRITE = Sprite.of("Projectile.Bullet", Color.GREEN, 1.0, Sprite.Shape.BULLET);
+
+        public static void draw(double x, double y) {
+            GameLib.drawSprite(SPRITE, x, y);
+        }
+
     }
 
     /// Representa um projétil em formato de laser
@@ -37,10 +86,20 @@ public abstract class Projectile extends Entity {
             super(position, velocity, Color.RED);
         }
 
+        @Override
+        public byte kind() {
+            return KIND_LASER;
+        }
+
         @Override
         public void render() {
-            GameLib.setColor(color);
-            GameLib.drawLine(position.getX(), position.getY() - 20, position.getX() - 1, position.getY() + 20);
+            draw(position.getX(), position.getY());
+        }
+
+        private static final Sprite SPRITE = Sprite.of("Projectile.Laser", Color.RED, 1.0, Sprite.Shape.LASER);
+
+        public static void draw(double x, double y) {
+            GameLib.drawSprite(SPRITE, x, y);
         }
 
     }
@@ -53,11 +112,21 @@ public abstract class Projectile extends Entity {
             radius = 2.0;
         }
 
+        @Override
+        public byte kind() {
+            return KIND_BALL;
+        }
+
 		@Override
 		public void render() {
-			GameLib.setColor(color);
-			GameLib.drawCircle(position.getX(), position.getY(), radius);
+			draw(position.getX(), position.getY());
 		}
+
+        private static final Sprite SPRITE = Sprite.of("Projectile.Ball", Color.RED, 2.0, Sprite.Shape.CIRCLE);
+
+        public static void draw(double x, double y) {
+            GameLib.drawSprite(SPRITE, x, y);
+        }
     }
 
     public static class timeBall extends Projectile {
@@ -67,11 +136,21 @@ public abstract class Projectile extends Entity {
             radius = 2.0;
         }
 
+        @Override
+        public byte kind() {
+            return KIND_TIME_BALL;
+        }
+
 		@Override
 		public void render() {
-			GameLib.setColor(color);
-			GameLib.drawCircle(position.getX(), position.getY(), radius);
+			draw(position.getX(), position.getY());
 		}
+
+        private static final Sprite SPRITE = Sprite.of("Projectile.timeBall", Color.LIGHT_GRAY, 2.0, Sprite.Shape.CIRCLE);
+
+        public static void draw(double x, double y) {
+            GameLib.drawSprite(SPRITE, x, y);
+        }
     }
 
 }
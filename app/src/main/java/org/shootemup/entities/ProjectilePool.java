@@ -0,0 +1,166 @@
+package org.shootemup.entities;
+
+import java.util.Arrays;
+
+import org.shootemup.GameLib;
+import org.shootemup.utils.CollisionLayer;
+
+/**
+ * Armazena todos os projéteis em arrays primitivos (structure of arrays).
+ * Cada projétil é um índice: posição, velocidade, raio, tipo e facção ficam em arrays paralelos.
+ * Remoções trocam o último projétil para o lugar do removido (swap-remove), então a ordem
+ * dos índices não é estável e índices não devem ser guardados entre chamadas.
+ */
+public class ProjectilePool {
+    // Facção dona do projétil, decide contra quem ele colide
+    public static final byte FACTION_PLAYER = 0;
+    public static final byte FACTION_ENEMY = 1;
+
+    private double[] x, y;
+    private double[] prevX, prevY; // Posição no tick anterior, para interpolar a renderização
+    private double[] sweepX, sweepY; // Posição no último passo de colisões: o trajeto até (x, y) é testado inteiro
+    private double[] vx, vy;
+    private double[] radius;
+    private byte[] kind;
+    private byte[] owner;
+    private int size = 0;
+
+    public ProjectilePool(int initialCapacity) {
+        x = new double[initialCapacity];
+        y = new double[initialCapacity];
+        prevX = new double[initialCapacity];
+        prevY = new double[initialCapacity];
+        sweepX = new double[initialCapacity];
+        sweepY = new double[initialCapacity];
+        vx = new double[initialCapacity];
+        vy = new double[initialCapacity];
+        radius = new double[initialCapacity];
+        kind = new byte[initialCapacity];
+        owner = new byte[initialCapacity];
+    }
+
+    /**
+     * Adiciona um projétil
+     * @param kind Tipo do projétil (Projectile.KIND_*)
+     * @param owner Facção que disparou (FACTION_*)
+     * @return Índice do projétil
+     */
+    public int spawn(byte kind, byte owner, double x, double y, double vx, double vy) {
+        if (size == this.x.length) grow();
+        int i = size++;
+        this.x[i] = this.prevX[i] = this.sweepX[i] = x;
+        this.y[i] = this.prevY[i] = this.sweepY[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.radius[i] = Projectile.radiusOf(kind);
+        this.kind[i] = kind;
+        this.owner[i] = owner;
+        return i;
+    }
+
+    /// Copia um projétil disparado por uma arma para o pool
+    public int add(Projectile projectile, byte owner) {
+        var pos = projectile.getPosition();
+        var vel = projectile.getVelocity();
+        return spawn(projectile.kind(), owner, pos.getX(), pos.getY(), vel.getX(), vel.getY());
+    }
+
+    /**
+     * Movimenta os projéteis de uma facção e remove os que saíram da tela
+     * @param owner Facção a ser movimentada
+     * @param dt Tempo decorrido em milissegundos
+     */
+    public void moveAndCull(byte owner, long dt) {
+        int i = 0;
+        while (i < size) {
+            if (this.owner[i] != owner) {
+                i++;
+                continue;
+            }
+            double nx = x[i] + vx[i] * dt;
+            double ny = y[i] + vy[i] * dt;
+            if (nx < 0 || nx > GameLib.WIDTH || ny < 0 || ny > GameLib.HEIGHT) {
+                remove(i); // o índice i passa a ter outro projétil, não avança
+            } else {
+                x[i] = nx;
+                y[i] = ny;
+                i++;
+            }
+        }
+    }
+
+    /// Guarda a posição atual de todos os projéteis antes de um tick da simulação
+    public void savePreviousState() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /// Marca as posições atuais como início do trajeto testado no próximo passo de colisões
+    public void endSweep() {
+        System.arraycopy(x, 0, sweepX, 0, size);
+        System.arraycopy(y, 0, sweepY, 0, size);
+    }
+
+    /**
+     * Renderiza todos os projéteis interpolando entre o tick anterior e o atual
+     * @param alpha Fração do próximo tick já decorrida (1 -> posição atual)
+     */
+    public void render(double alpha) {
+        for (int i = 0; i < size; i++) {
+            double rx = prevX[i] + (x[i] - prevX[i]) * alpha;
+            double ry = prevY[i] + (y[i] - prevY[i]) * alpha;
+            Projectile.draw(kind[i], rx, ry);
+        }
+    }
+
+    /// Remove o projétil do índice `i` trazendo o último para o seu lugar
+    public void remove(int i) {
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        sweepX[i] = sweepX[last];
+        sweepY[i] = sweepY[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        radius[i] = radius[last];
+        kind[i] = kind[last];
+        owner[i] = owner[last];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public double x(int i) { return x[i]; }
+    public double y(int i) { return y[i]; }
+    public double sweepX(int i) { return sweepX[i]; }
+    public double sweepY(int i) { return sweepY[i]; }
+    public double vx(int i) { return vx[i]; }
+    public double vy(int i) { return vy[i]; }
+    public double radius(int i) { return radius[i]; }
+    public byte kind(int i) { return kind[i]; }
+    public byte owner(int i) { return owner[i]; }
+
+    /// Camada de colisão do projétil (CollisionLayer), dada pela facção que disparou
+    public int layer(int i) {
+        return owner[i] == FACTION_PLAYER ? CollisionLayer.PLAYER_PROJECTILE : CollisionLayer.ENEMY_PROJECTILE;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        sweepX = Arrays.copyOf(sweepX, capacity);
+        sweepY = Arrays.copyOf(sweepY, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+    }
+}
@@ -0,0 +1,170 @@
+package org.shootemup.input;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.shootemup.GameLib;
+
+/**
+ * Log binário com o estado das teclas de cada tick de uma partida.
+ * Cabeçalho: mágico "SHRP", versão, semente, tick rate e tempo inicial da simulação.
+ * Corpo: sequências (máscara das teclas em 1 byte, quantidade de ticks em varint),
+ * então segurar uma tecla por um minuto a 60 Hz ocupa 3 bytes.
+ *
+ * Versão 2: as teclas de um tick são lidas antes do update dele (na versão 1 eram lidas
+ * depois), então logs da versão 1 não reproduzem mais a mesma partida.
+ * Versão 3: as entidades das fases compiladas são criadas quando nascem, em ordem de spawn,
+ * e não mais ao carregar a fase, o que muda a ordem em que consomem o gerador aleatório.
+ * Versão 4: os spawns de um tick saem da agenda do Game em ordem de tempo, inimigos e powerups
+ * misturados (antes todos os inimigos vinham antes dos powerups).
+ * Versão 5: Common e Flyer são linhas de arquétipos do World, atualizadas tabela por tabela
+ * e não mais na ordem da lista de inimigos, então os tiros deles sorteiam em outra ordem.
+ * Versão 6: o chefe ZaWarudo anda conforme o tempo do tick (1 pixel a cada 3 ms), não 1 pixel por tick.
+ */
+public class InputLog {
+    private static final int MAGIC = 0x53485250; // "SHRP"
+    private static final short VERSION = 6;
+
+    private InputLog() {}
+
+    /// Repassa a entrada de outra fonte e grava cada tick no log
+    public static class Recorder implements InputSource {
+        private final InputSource source;
+        private final DataOutputStream out;
+        private int runKeys = -1;
+        private long runLength = 0;
+
+        public Recorder(InputSource source, Path file, long seed, int tickRate, long startTime) throws IOException {
+            this.source = source;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            out.writeInt(tickRate);
+            out.writeLong(startTime);
+        }
+
+        @Override
+        public int poll() {
+            int keys = source.poll();
+            if (keys != runKeys && runLength > 0) {
+                writeRun();
+            }
+            runKeys = keys;
+            runLength++;
+            return keys;
+        }
+
+        @Override
+        public long lastChangeNanos() {
+            return source.lastChangeNanos();
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (runLength > 0) writeRun();
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            source.close();
+        }
+
+        private void writeRun() {
+            try {
+                out.writeByte(runKeys);
+                writeVarLong(out, runLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            runLength = 0;
+        }
+    }
+
+    /// Reproduz um log gravado. Quando o log acaba pressiona ESC para encerrar a partida
+    public static class Replay implements InputSource {
+        private final DataInputStream in;
+        private final long seed;
+        private final int tickRate;
+        private final long startTime;
+        private int runKeys = 0;
+        private long runLeft = 0;
+        private boolean finished = false;
+
+        public Replay(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            if (in.readInt() != MAGIC) {
+                in.close();
+                throw new IOException("Arquivo não é um log de entrada: " + file);
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                in.close();
+                throw new IOException("Versão de log não suportada: " + version);
+            }
+            seed = in.readLong();
+            tickRate = in.readInt();
+            startTime = in.readLong();
+        }
+
+        @Override
+        public int poll() {
+            if (finished) return 1 << GameLib.KEY_ESCAPE;
+            if (runLeft == 0) {
+                try {
+                    runKeys = in.readUnsignedByte();
+                    runLeft = readVarLong(in);
+                } catch (EOFException e) {
+                    finished = true;
+                    return 1 << GameLib.KEY_ESCAPE;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            runLeft--;
+            return runKeys;
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public long getSeed() { return seed; }
+        public int getTickRate() { return tickRate; }
+        public long getStartTime() { return startTime; }
+        public boolean isFinished() { return finished; }
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
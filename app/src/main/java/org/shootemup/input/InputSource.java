@@ -0,0 +1,80 @@
+package org.shootemup.input;
+
+import org.shootemup.GameLib;
+
+/// Origem do estado das teclas do jogo, lida uma vez por tick
+public interface InputSource extends AutoCloseable {
+    int KEY_COUNT = 6;
+
+    /**
+     * Estado das teclas no tick atual
+     * @return Máscara de bits: o bit `1 << GameLib.KEY_*` está ligado se a tecla está pressionada
+     */
+    int poll();
+
+    /**
+     * Instante (`System.nanoTime()`) da primeira mudança de tecla entregue pelo último `poll()`,
+     * usado para medir a latência da entrada até a tela
+     * @return 0 se nenhuma tecla mudou ou se a fonte não tem instantes reais (ex.: replay)
+     */
+    default long lastChangeNanos() { return 0; }
+
+    /// Libera os recursos da fonte (ex.: fecha o arquivo de gravação)
+    @Override
+    default void close() {}
+
+    /**
+     * Teclado real da janela do jogo. Cada `poll()` consome todos os eventos publicados na
+     * fila do GameLib desde o anterior, então uma tecla pressionada e solta entre dois ticks
+     * ainda aparece no tick seguinte.
+     */
+    public static class Keyboard implements InputSource {
+        // Uma tecla solta há menos que isso continua pressionada: a repetição automática de
+        // alguns sistemas manda "solta" e "pressionada" em seguida enquanto a tecla é segurada
+        private static final long RELEASE_GRACE_NANOS = 5_000_000L;
+
+        private final KeyEventRing.Consumer onEvent = this::apply; // Guardado para o poll não alocar
+        private int down = 0;    // Teclas pressionadas agora
+        private int latched = 0; // Teclas pressionadas em algum momento desde o último poll
+        private final long[] releasedAt = new long[KEY_COUNT];
+        private long firstChange = 0;
+
+        @Override
+        public int poll() {
+            firstChange = 0;
+            var events = GameLib.getKeyEvents();
+            // Sem janela não há teclado
+            if (events == null) return 0;
+
+            events.drain(onEvent);
+            int keys = down | latched;
+            latched = 0;
+
+            long now = System.nanoTime();
+            for (int key = 0; key < KEY_COUNT; key++) {
+                if ((keys & (1 << key)) == 0 && releasedAt[key] != 0 && now - releasedAt[key] <= RELEASE_GRACE_NANOS) {
+                    keys |= 1 << key;
+                }
+            }
+            return keys;
+        }
+
+        private void apply(long nanos, int key, boolean pressed) {
+            int bit = 1 << key;
+            boolean changed = ((down & bit) != 0) != pressed;
+            if (changed && firstChange == 0) firstChange = nanos;
+            if (pressed) {
+                down |= bit;
+                latched |= bit;
+            } else {
+                down &= ~bit;
+                releasedAt[key] = nanos;
+            }
+        }
+
+        @Override
+        public long lastChangeNanos() {
+            return firstChange;
+        }
+    }
+}
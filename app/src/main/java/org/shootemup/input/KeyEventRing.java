@@ -0,0 +1,111 @@
+package org.shootemup.input;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fila circular de eventos de tecla (instante, tecla, pressionada/solta) sem locks, com um
+ * único produtor (a thread de eventos do AWT) e um único consumidor (a thread do jogo).
+ *
+ * Cada lado só escreve o seu índice: o produtor grava o evento no slot e publica `tail` com
+ * release, o consumidor lê `tail` com acquire, consome os slots e devolve o espaço publicando
+ * `head`. Os slots são arrays primitivos, então publicar um evento não aloca.
+ *
+ * Se a fila enche (o jogo parou de consumir) os eventos novos são descartados e contados em
+ * `dropped()`; com a capacidade padrão isso só acontece se a simulação ficar travada.
+ */
+public final class KeyEventRing {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(KeyEventRing.class, "head", long.class);
+            TAIL = lookup.findVarHandle(KeyEventRing.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /// Recebe os eventos entregues por `drain`, na ordem em que foram publicados
+    @FunctionalInterface
+    public interface Consumer {
+        /**
+         * @param nanos Instante do evento (`System.nanoTime()` na thread do AWT)
+         * @param key Índice da tecla (GameLib.KEY_*)
+         * @param pressed Se a tecla foi pressionada (senão foi solta)
+         */
+        void accept(long nanos, int key, boolean pressed);
+    }
+
+    private final int mask;
+    private final long[] times;
+    private final byte[] events; // Índice da tecla, com o bit 7 ligado se foi pressionada
+
+    @SuppressWarnings("unused") // Acessado pelo VarHandle
+    private long head = 0; // Próximo slot a consumir (só o consumidor escreve)
+    @SuppressWarnings("unused") // Acessado pelo VarHandle
+    private long tail = 0; // Próximo slot a publicar (só o produtor escreve)
+    private volatile long dropped = 0;
+
+    public KeyEventRing() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /// @param capacity Número de eventos pendentes, arredondado para uma potência de 2
+    public KeyEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.times = new long[size];
+        this.events = new byte[size];
+    }
+
+    /**
+     * Publica um evento (só a thread produtora)
+     * @return false se a fila está cheia e o evento foi descartado
+     */
+    public boolean publish(long nanos, int key, boolean pressed) {
+        long t = (long) TAIL.get(this);
+        if (t - (long) HEAD.getAcquire(this) > mask) {
+            dropped = dropped + 1;
+            return false;
+        }
+        int slot = (int) t & mask;
+        times[slot] = nanos;
+        events[slot] = (byte) (pressed ? key | 0x80 : key);
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Entrega todos os eventos publicados até agora para `consumer` (só a thread consumidora)
+     * @return Número de eventos entregues
+     */
+    public int drain(Consumer consumer) {
+        long h = (long) HEAD.get(this);
+        long t = (long) TAIL.getAcquire(this);
+        for (long i = h; i < t; i++) {
+            int slot = (int) i & mask;
+            int event = events[slot];
+            consumer.accept(times[slot], event & 0x7F, (event & 0x80) != 0);
+        }
+        if (t != h) HEAD.setRelease(this, t);
+        return (int) (t - h);
+    }
+
+    /// Eventos publicados e ainda não consumidos
+    public int pending() {
+        return (int) ((long) TAIL.getAcquire(this) - (long) HEAD.getAcquire(this));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /// Eventos descartados porque a fila estava cheia
+    public long dropped() {
+        return dropped;
+    }
+}
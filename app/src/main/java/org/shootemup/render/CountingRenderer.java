@@ -0,0 +1,107 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+
+/**
+ * Conta as chamadas de desenho de cada frame e repassa para outro renderer.
+ * Com um NullRenderer por baixo mede o custo de gerar os comandos sem rasterizar nada.
+ */
+public class CountingRenderer implements Renderer {
+    private final Renderer target;
+
+    // Contadores do frame atual, zerados em `display()`
+    private long colorChanges, lines, circles, diamonds, rects, sprites, texts, layers;
+    // Contadores do último frame apresentado
+    private long lastColorChanges, lastLines, lastCircles, lastDiamonds, lastRects, lastSprites, lastTexts, lastLayers;
+    private long frames = 0;
+    private long totalCalls = 0;
+
+    public CountingRenderer(Renderer target) {
+        this.target = target;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        colorChanges++;
+        target.setColor(c);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        lines++;
+        target.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        circles++;
+        target.drawCircle(cx, cy, radius);
+    }
+
+    @Override
+    public void drawDiamond(double x, double y, double radius) {
+        diamonds++;
+        target.drawDiamond(x, y, radius);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, double x, double y) {
+        sprites++;
+        target.drawSprite(sprite, x, y);
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        texts++;
+        target.drawText(text, x, y);
+    }
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        layers++;
+        target.drawLayer(layer, offsetY);
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        rects++;
+        target.fillRect(cx, cy, width, height);
+    }
+
+    @Override
+    public void display() {
+        lastColorChanges = colorChanges;
+        lastLines = lines;
+        lastCircles = circles;
+        lastDiamonds = diamonds;
+        lastRects = rects;
+        lastSprites = sprites;
+        lastTexts = texts;
+        lastLayers = layers;
+        totalCalls += colorChanges + lines + circles + diamonds + rects + sprites + texts + layers;
+        frames++;
+        colorChanges = lines = circles = diamonds = rects = sprites = texts = layers = 0;
+        target.display();
+    }
+
+    @Override
+    public RenderStats getStats() {
+        return target.getStats();
+    }
+
+    public long getFrames() { return frames; }
+    public long getTotalCalls() { return totalCalls; }
+    public long getLastColorChanges() { return lastColorChanges; }
+    public long getLastLines() { return lastLines; }
+    public long getLastCircles() { return lastCircles; }
+    public long getLastDiamonds() { return lastDiamonds; }
+    public long getLastRects() { return lastRects; }
+    public long getLastSprites() { return lastSprites; }
+    public long getLastTexts() { return lastTexts; }
+    public long getLastLayers() { return lastLayers; }
+
+    /// Total de chamadas de desenho (incluindo trocas de cor) do último frame
+    public long getLastFrameCalls() {
+        return lastColorChanges + lastLines + lastCircles + lastDiamonds + lastRects + lastSprites + lastTexts + lastLayers;
+    }
+}
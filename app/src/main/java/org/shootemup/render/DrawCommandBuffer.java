@@ -0,0 +1,174 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Renderer que só grava os comandos de desenho de um frame em arrays primitivos, para serem
+ * reproduzidos depois em outro renderer (ex.: por uma thread de renderização).
+ * Cada comando ocupa um byte de operação, seus argumentos vão em sequência no array de
+ * coordenadas e as cores (imutáveis) num array próprio. Depois de atingir o tamanho do
+ * maior frame a gravação não aloca.
+ */
+public class DrawCommandBuffer implements Renderer {
+    // Operações gravadas
+    private static final byte OP_COLOR = 0;
+    private static final byte OP_LINE = 1; // x1 y1 x2 y2
+    private static final byte OP_CIRCLE = 2; // cx cy radius
+    private static final byte OP_DIAMOND = 3; // x y radius
+    private static final byte OP_RECT = 4; // cx cy width height
+    private static final byte OP_SPRITE = 5; // x y (o sprite vai no array de sprites)
+    private static final byte OP_TEXT = 6; // x y (o texto vai no array de textos)
+    private static final byte OP_LAYER = 7; // offsetY (a camada vai no array de camadas)
+
+    private byte[] ops = new byte[1024];
+    private double[] args = new double[4096];
+    private Color[] colors = new Color[256];
+    private Sprite[] sprites = new Sprite[256];
+    private String[] texts = new String[16];
+    private TiledLayer[] layers = new TiledLayer[4];
+    private int opCount = 0;
+    private int argCount = 0;
+    private int colorCount = 0;
+    private int spriteCount = 0;
+    private int textCount = 0;
+    private int layerCount = 0;
+
+    @Override
+    public void setColor(Color c) {
+        if (colorCount == colors.length) colors = Arrays.copyOf(colors, colors.length * 2);
+        colors[colorCount++] = c;
+        op(OP_COLOR, 0);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        op(OP_LINE, 4);
+        args[argCount++] = x1;
+        args[argCount++] = y1;
+        args[argCount++] = x2;
+        args[argCount++] = y2;
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        op(OP_CIRCLE, 3);
+        args[argCount++] = cx;
+        args[argCount++] = cy;
+        args[argCount++] = radius;
+    }
+
+    @Override
+    public void drawDiamond(double x, double y, double radius) {
+        op(OP_DIAMOND, 3);
+        args[argCount++] = x;
+        args[argCount++] = y;
+        args[argCount++] = radius;
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, double x, double y) {
+        if (spriteCount == sprites.length) sprites = Arrays.copyOf(sprites, sprites.length * 2);
+        sprites[spriteCount++] = sprite;
+        op(OP_SPRITE, 2);
+        args[argCount++] = x;
+        args[argCount++] = y;
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        if (textCount == texts.length) texts = Arrays.copyOf(texts, texts.length * 2);
+        texts[textCount++] = text;
+        op(OP_TEXT, 2);
+        args[argCount++] = x;
+        args[argCount++] = y;
+    }
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        if (layerCount == layers.length) layers = Arrays.copyOf(layers, layers.length * 2);
+        layers[layerCount++] = layer;
+        op(OP_LAYER, 1);
+        args[argCount++] = offsetY;
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        op(OP_RECT, 4);
+        args[argCount++] = cx;
+        args[argCount++] = cy;
+        args[argCount++] = width;
+        args[argCount++] = height;
+    }
+
+    /// O fim do frame é controlado por quem troca os buffers (ThreadedRenderer), aqui não faz nada
+    @Override
+    public void display() {}
+
+    /**
+     * Reproduz os comandos gravados, na ordem, em outro renderer.
+     * Não chama `display()` no destino
+     */
+    public void replay(Renderer target) {
+        int a = 0;
+        int c = 0;
+        int s = 0;
+        int t = 0;
+        int l = 0;
+        for (int i = 0; i < opCount; i++) {
+            switch (ops[i]) {
+                case OP_COLOR -> target.setColor(colors[c++]);
+                case OP_LINE -> {
+                    target.drawLine(args[a], args[a + 1], args[a + 2], args[a + 3]);
+                    a += 4;
+                }
+                case OP_CIRCLE -> {
+                    target.drawCircle(args[a], args[a + 1], args[a + 2]);
+                    a += 3;
+                }
+                case OP_DIAMOND -> {
+                    target.drawDiamond(args[a], args[a + 1], args[a + 2]);
+                    a += 3;
+                }
+                case OP_RECT -> {
+                    target.fillRect(args[a], args[a + 1], args[a + 2], args[a + 3]);
+                    a += 4;
+                }
+                case OP_SPRITE -> {
+                    target.drawSprite(sprites[s++], args[a], args[a + 1]);
+                    a += 2;
+                }
+                case OP_TEXT -> {
+                    target.drawText(texts[t++], args[a], args[a + 1]);
+                    a += 2;
+                }
+                case OP_LAYER -> target.drawLayer(layers[l++], args[a++]);
+                default -> throw new IllegalStateException("Comando de desenho inválido: " + ops[i]);
+            }
+        }
+    }
+
+    /// Descarta os comandos gravados, mantendo a capacidade dos arrays
+    public void clear() {
+        opCount = argCount = 0;
+        // Solta as cores para não segurar as criadas por frame (explosões)
+        Arrays.fill(colors, 0, colorCount, null);
+        colorCount = 0;
+        Arrays.fill(texts, 0, textCount, null);
+        textCount = 0;
+        spriteCount = 0; // Sprites são registrados e vivem o jogo todo, não precisam ser soltos
+        Arrays.fill(layers, 0, layerCount, null);
+        layerCount = 0;
+    }
+
+    /// Número de comandos gravados (incluindo trocas de cor)
+    public int size() {
+        return opCount;
+    }
+
+    private void op(byte op, int argc) {
+        if (opCount == ops.length) ops = Arrays.copyOf(ops, ops.length * 2);
+        if (argCount + argc > args.length) args = Arrays.copyOf(args, args.length * 2);
+        ops[opCount++] = op;
+    }
+}
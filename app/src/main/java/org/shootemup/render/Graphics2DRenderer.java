@@ -0,0 +1,46 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+/// Desenha cada primitiva direto num Graphics2D, com o mesmo arredondamento do SwingRenderer
+class Graphics2DRenderer implements Renderer {
+    private final Graphics2D g;
+
+    Graphics2DRenderer(Graphics2D g) {
+        this.g = g;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        g.setColor(c);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        g.drawLine((int) Math.round(x1), (int) Math.round(y1), (int) Math.round(x2), (int) Math.round(y2));
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        int x = (int) Math.round(cx - radius);
+        int y = (int) Math.round(cy - radius);
+        int size = (int) Math.round(2 * radius);
+        g.drawOval(x, y, size, size);
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        g.drawString(text, (int) Math.round(x), (int) Math.round(y));
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        int x = (int) Math.round(cx - width/2);
+        int y = (int) Math.round(cy - height/2);
+        g.fillRect(x, y, (int) Math.round(width), (int) Math.round(height));
+    }
+
+    @Override
+    public void display() {}
+}
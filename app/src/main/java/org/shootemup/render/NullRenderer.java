@@ -0,0 +1,27 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+
+/// Renderer que descarta tudo: permite rodar a simulação sem janela (CI, containers, benchmarks)
+public class NullRenderer implements Renderer {
+    @Override
+    public void setColor(Color c) {}
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {}
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {}
+
+    @Override
+    public void drawDiamond(double x, double y, double radius) {}
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {}
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {}
+
+    @Override
+    public void display() {}
+}
@@ -0,0 +1,130 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+
+/**
+ * Agrupa as primitivas de um frame por cor: linhas e círculos de cada cor viram um único
+ * Path2D desenhado com um `draw`, retângulos preenchidos viram um Path2D desenhado com um `fill`.
+ * No `flush()` as cores são desenhadas na ordem em que apareceram no frame, primeiro todos os
+ * preenchimentos (só o fundo de estrelas usa) e depois todos os contornos.
+ *
+ * Como cores diferentes não respeitam mais a ordem original, contornos de cores diferentes que
+ * se cruzam podem trocar quem fica por cima; no jogo são linhas de 1 pixel e a diferença não aparece.
+ */
+class PrimitiveBatch {
+    private static final int NONE = -1;
+
+    private Color[] colors = new Color[32];
+    private Path2D.Float[] strokes = new Path2D.Float[32];
+    private Path2D.Float[] fills = new Path2D.Float[32];
+    private int count = 0;
+    private int current = NONE; // Lote da cor atual
+
+    // Tabela de hash aberta: RGB -> índice do lote, limpa a cada frame
+    private int[] slotKeys = new int[64];
+    private int[] slotValues = new int[64];
+    private final Ellipse2D.Float ellipse = new Ellipse2D.Float(); // Reaproveitada: `append` copia os segmentos
+
+    PrimitiveBatch() {
+        Arrays.fill(slotValues, NONE);
+    }
+
+    void setColor(Color c) {
+        int rgb = c.getRGB();
+        int mask = slotKeys.length - 1;
+        int slot = mix(rgb) & mask;
+        while (slotValues[slot] != NONE) {
+            if (slotKeys[slot] == rgb) {
+                current = slotValues[slot];
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (count == colors.length) growBatches();
+        slotKeys[slot] = rgb;
+        slotValues[slot] = count;
+        colors[count] = c;
+        if (strokes[count] == null) {
+            strokes[count] = new Path2D.Float();
+            fills[count] = new Path2D.Float();
+        }
+        current = count++;
+        if (count * 2 > slotKeys.length) growTable();
+    }
+
+    void line(int x1, int y1, int x2, int y2) {
+        var path = strokes[current];
+        path.moveTo(x1, y1);
+        path.lineTo(x2, y2);
+    }
+
+    void circle(int x, int y, int width, int height) {
+        ellipse.setFrame(x, y, width, height);
+        strokes[current].append(ellipse, false);
+    }
+
+    void rect(int x, int y, int width, int height) {
+        var path = fills[current];
+        path.moveTo(x, y);
+        path.lineTo(x + width, y);
+        path.lineTo(x + width, y + height);
+        path.lineTo(x, y + height);
+        path.closePath();
+    }
+
+    /// Desenha os lotes acumulados e limpa o lote para o próximo frame
+    void flush(Graphics2D g, RenderStats stats) {
+        for (int i = 0; i < count; i++) {
+            if (fills[i].getCurrentPoint() == null) continue;
+            g.setColor(colors[i]);
+            g.fill(fills[i]);
+            stats.stateChanges++;
+            stats.drawCalls++;
+        }
+        for (int i = 0; i < count; i++) {
+            if (strokes[i].getCurrentPoint() == null) continue;
+            g.setColor(colors[i]);
+            g.draw(strokes[i]);
+            stats.stateChanges++;
+            stats.drawCalls++;
+        }
+        for (int i = 0; i < count; i++) {
+            strokes[i].reset();
+            fills[i].reset();
+            colors[i] = null;
+        }
+        count = 0;
+        current = NONE;
+        Arrays.fill(slotValues, NONE);
+    }
+
+    private void growBatches() {
+        int capacity = colors.length * 2;
+        colors = Arrays.copyOf(colors, capacity);
+        strokes = Arrays.copyOf(strokes, capacity);
+        fills = Arrays.copyOf(fills, capacity);
+    }
+
+    private void growTable() {
+        slotKeys = new int[slotKeys.length * 2];
+        slotValues = new int[slotKeys.length];
+        Arrays.fill(slotValues, NONE);
+        int mask = slotKeys.length - 1;
+        for (int i = 0; i < count; i++) {
+            int rgb = colors[i].getRGB();
+            int slot = mix(rgb) & mask;
+            while (slotValues[slot] != NONE) slot = (slot + 1) & mask;
+            slotKeys[slot] = rgb;
+            slotValues[slot] = i;
+        }
+    }
+
+    private static int mix(int rgb) {
+        int h = rgb * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
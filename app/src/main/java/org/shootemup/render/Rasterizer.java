@@ -0,0 +1,158 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+/**
+ * Rasterizador em software: escreve as primitivas direto num array de pixels RGB
+ * (linha a linha, `width` pixels por linha). Só escreve nas linhas [clipTop, clipBottom),
+ * assim várias instâncias podem desenhar faixas diferentes do mesmo array em paralelo.
+ * Arredonda as coordenadas como o SwingRenderer.
+ */
+class Rasterizer implements Renderer {
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private int clipTop;
+    private int clipBottom;
+    private int color = 0xFFFFFF;
+
+    Rasterizer(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        setClip(0, height);
+    }
+
+    /// Restringe o desenho às linhas [top, bottom)
+    void setClip(int top, int bottom) {
+        clipTop = Math.max(0, top);
+        clipBottom = Math.min(height, bottom);
+    }
+
+    /// Pinta a faixa de preto e volta para a cor padrão (branco)
+    void clear() {
+        Arrays.fill(pixels, clipTop * width, clipBottom * width, 0);
+        color = 0xFFFFFF;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        color = c.getRGB() & 0xFFFFFF;
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        line((int) Math.round(x1), (int) Math.round(y1), (int) Math.round(x2), (int) Math.round(y2));
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        // Mesmo retângulo do drawOval: canto em (x, y) e lado `size`
+        int x = (int) Math.round(cx - radius);
+        int y = (int) Math.round(cy - radius);
+        int size = (int) Math.round(2 * radius);
+        circle(x + size / 2, y + size / 2, size / 2);
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        int x = (int) Math.round(cx - width/2);
+        int y = (int) Math.round(cy - height/2);
+        rect(x, y, (int) Math.round(width), (int) Math.round(height));
+    }
+
+    /// Copia os trechos opacos da camada, linha a linha, sem desenhar cada retângulo
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        layer.drawSpans(pixels, width, clipTop, clipBottom, offsetY);
+    }
+
+    @Override
+    public void display() {}
+
+    /// Linha de Bresenham incluindo as duas pontas
+    private void line(int x0, int y0, int x1, int y1) {
+        // Descarta linhas inteiras fora da faixa ou da tela
+        if ((y0 < clipTop && y1 < clipTop) || (y0 >= clipBottom && y1 >= clipBottom)) return;
+        if ((x0 < 0 && x1 < 0) || (x0 >= width && x1 >= width)) return;
+
+        if (y0 == y1) {
+            hline(Math.min(x0, x1), Math.max(x0, x1), y0);
+            return;
+        }
+        if (x0 == x1) {
+            int top = Math.max(Math.min(y0, y1), clipTop);
+            int bottom = Math.min(Math.max(y0, y1), clipBottom - 1);
+            for (int y = top, i = top * width + x0; y <= bottom; y++, i += width) pixels[i] = color;
+            return;
+        }
+
+        int dx = Math.abs(x1 - x0), sx = x0 < x1 ? 1 : -1;
+        int dy = -Math.abs(y1 - y0), sy = y0 < y1 ? 1 : -1;
+        int err = dx + dy;
+        while (true) {
+            plot(x0, y0);
+            if (x0 == x1 && y0 == y1) break;
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x0 += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y0 += sy;
+            }
+        }
+    }
+
+    private void hline(int x0, int x1, int y) {
+        if (y < clipTop || y >= clipBottom) return;
+        x0 = Math.max(x0, 0);
+        x1 = Math.min(x1, width - 1);
+        if (x0 > x1) return;
+        int row = y * width;
+        Arrays.fill(pixels, row + x0, row + x1 + 1, color);
+    }
+
+    /// Círculo pelo algoritmo do ponto médio (só o contorno)
+    private void circle(int cx, int cy, int r) {
+        if (cy + r < clipTop || cy - r >= clipBottom || cx + r < 0 || cx - r >= width) return;
+        int x = r, y = 0;
+        int err = 1 - r;
+        while (x >= y) {
+            plot(cx + x, cy + y);
+            plot(cx - x, cy + y);
+            plot(cx + x, cy - y);
+            plot(cx - x, cy - y);
+            plot(cx + y, cy + x);
+            plot(cx - y, cy + x);
+            plot(cx + y, cy - x);
+            plot(cx - y, cy - x);
+            y++;
+            if (err < 0) {
+                err += 2 * y + 1;
+            } else {
+                x--;
+                err += 2 * (y - x) + 1;
+            }
+        }
+    }
+
+    private void rect(int x, int y, int w, int h) {
+        int top = Math.max(y, clipTop);
+        int bottom = Math.min(y + h, clipBottom);
+        int left = Math.max(x, 0);
+        int right = Math.min(x + w, width);
+        if (left >= right) return;
+        for (int row = top; row < bottom; row++) {
+            Arrays.fill(pixels, row * width + left, row * width + right, color);
+        }
+    }
+
+    private void plot(int x, int y) {
+        if (x >= 0 && x < width && y >= clipTop && y < clipBottom) {
+            pixels[y * width + x] = color;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.shootemup.render;
+
+/**
+ * Contadores de desenho por frame de um renderer: quantas primitivas o jogo pediu e quantas
+ * trocas de cor fez, contra quantas chamadas de desenho e trocas de estado chegaram ao Java2D.
+ * Os contadores do frame atual são fechados em `endFrame()`.
+ */
+public class RenderStats {
+    // Frame atual (incrementados pelo renderer)
+    long primitives, colorChanges, drawCalls, stateChanges;
+    // Último frame fechado
+    private long lastPrimitives, lastColorChanges, lastDrawCalls, lastStateChanges;
+    // Somas de todos os frames, para médias
+    private long totalPrimitives, totalColorChanges, totalDrawCalls, totalStateChanges;
+    private long frames = 0;
+
+    void endFrame() {
+        lastPrimitives = primitives;
+        lastColorChanges = colorChanges;
+        lastDrawCalls = drawCalls;
+        lastStateChanges = stateChanges;
+        totalPrimitives += primitives;
+        totalColorChanges += colorChanges;
+        totalDrawCalls += drawCalls;
+        totalStateChanges += stateChanges;
+        frames++;
+        primitives = colorChanges = drawCalls = stateChanges = 0;
+    }
+
+    /// Primitivas (linhas, círculos, retângulos) pedidas pelo jogo no último frame
+    public long getLastPrimitives() { return lastPrimitives; }
+    /// Chamadas de `setColor` feitas pelo jogo no último frame
+    public long getLastColorChanges() { return lastColorChanges; }
+    /// Chamadas de desenho feitas no Graphics no último frame
+    public long getLastDrawCalls() { return lastDrawCalls; }
+    /// Trocas de cor feitas no Graphics no último frame
+    public long getLastStateChanges() { return lastStateChanges; }
+    public long getFrames() { return frames; }
+
+    /// Médias por frame desde o início
+    public String summary() {
+        if (frames == 0) return "Nenhum frame desenhado";
+        return String.format(
+            "Por frame: %.1f primitivas -> %.1f chamadas de desenho, %.1f trocas de cor -> %.1f trocas de estado (%d frames)",
+            (double) totalPrimitives / frames, (double) totalDrawCalls / frames,
+            (double) totalColorChanges / frames, (double) totalStateChanges / frames, frames);
+    }
+}
@@ -0,0 +1,59 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+
+/// Backend de desenho usado pela GameLib. Coordenadas em pixels da tela do jogo
+public interface Renderer {
+    void setColor(Color c);
+
+    void drawLine(double x1, double y1, double x2, double y2);
+
+    void drawCircle(double cx, double cy, double radius);
+
+    /// Losango centrado em (x, y), por padrão desenhado com 4 linhas
+    default void drawDiamond(double x, double y, double radius) {
+        double x1 = Math.round(x);
+        double y1 = Math.round(y - radius);
+
+        double x2 = Math.round(x + radius);
+        double y2 = Math.round(y);
+
+        double x3 = Math.round(x);
+        double y3 = Math.round(y + radius);
+
+        double x4 = Math.round(x - radius);
+        double y4 = Math.round(y);
+
+        drawLine(x1, y1, x2, y2);
+        drawLine(x2, y2, x3, y3);
+        drawLine(x3, y3, x4, y4);
+        drawLine(x4, y4, x1, y1);
+    }
+
+    /// Sprite centrado em (x, y); por padrão desenha a forma vetorial dele
+    default void drawSprite(Sprite sprite, double x, double y) {
+        sprite.drawVector(this, x, y);
+    }
+
+    /**
+     * Camada que se repete na vertical, deslocada `offsetY` pixels para baixo.
+     * Por padrão desenha os retângulos dela um a um
+     */
+    default void drawLayer(TiledLayer layer, double offsetY) {
+        layer.drawVector(this, offsetY);
+    }
+
+    /// Texto com a linha de base começando em (x, y); por padrão ignorado (backends sem fonte)
+    default void drawText(String text, double x, double y) {}
+
+    /// Retângulo preenchido centrado em (cx, cy)
+    void fillRect(double cx, double cy, double width, double height);
+
+    /// Apresenta o frame desenhado e limpa o próximo
+    void display();
+
+    /// Contadores de desenho por frame, null se o backend não mede
+    default RenderStats getStats() {
+        return null;
+    }
+}
@@ -0,0 +1,193 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.swing.JFrame;
+
+/**
+ * Renderer que rasteriza em software direto no array de pixels de uma BufferedImage
+ * (TYPE_INT_RGB), sem passar pelo Graphics, e apresenta o frame com um único `drawImage`.
+ * Útil em máquinas sem aceleração, onde o pipeline de software do Java2D é o gargalo.
+ *
+ * Com uma faixa desenha cada primitiva na hora. Com mais faixas grava o frame num
+ * DrawCommandBuffer e no `display()` cada thread limpa e redesenha o frame inteiro só nas
+ * suas linhas da imagem, então as faixas nunca escrevem no mesmo pixel.
+ * Textos (overlay) não são rasterizados: são desenhados com Java2D sobre a imagem pronta.
+ */
+public class SoftwareRenderer implements Renderer {
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final JFrame frame; // null -> só rasteriza (sem janela)
+
+    // Uma faixa: desenha direto
+    private final Rasterizer direct;
+    private boolean presented = false; // O frame anterior já foi apresentado e precisa ser limpo
+    // Várias faixas: grava o frame e redesenha em paralelo
+    private final DrawCommandBuffer commands;
+    private final ForkJoinPool pool;
+    private final List<Callable<Void>> bandTasks = new ArrayList<>();
+
+    // Textos do frame, desenhados depois da rasterização
+    private Color color = Color.WHITE;
+    private final List<String> texts = new ArrayList<>();
+    private final List<Color> textColors = new ArrayList<>();
+    private double[] textX = new double[8], textY = new double[8];
+    private Graphics2D textGraphics = null;
+
+    /**
+     * Renderer sem janela, útil para medir o custo de rasterização
+     * @param width Largura da imagem
+     * @param height Altura da imagem
+     * @param bands Número de faixas de linhas rasterizadas em paralelo (<= 1 -> uma thread)
+     */
+    public SoftwareRenderer(int width, int height, int bands) {
+        this(null, width, height, bands);
+    }
+
+    /**
+     * @param frame Janela já visível onde os frames são apresentados
+     * @param bands Número de faixas de linhas rasterizadas em paralelo (<= 1 -> uma thread)
+     */
+    public SoftwareRenderer(JFrame frame, int bands) {
+        this(frame, frame.getWidth(), frame.getHeight(), bands);
+    }
+
+    private SoftwareRenderer(JFrame frame, int width, int height, int bands) {
+        this.frame = frame;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        if (frame != null) frame.createBufferStrategy(2);
+
+        if (bands <= 1) {
+            direct = new Rasterizer(pixels, width, height);
+            commands = null;
+            pool = null;
+        } else {
+            direct = null;
+            commands = new DrawCommandBuffer();
+            pool = new ForkJoinPool(bands);
+            int rows = (height + bands - 1) / bands;
+            for (int b = 0; b < bands; b++) {
+                var band = new Rasterizer(pixels, width, height);
+                band.setClip(b * rows, (b + 1) * rows);
+                bandTasks.add(() -> {
+                    band.clear();
+                    commands.replay(band);
+                    return null;
+                });
+            }
+        }
+    }
+
+    private Renderer target() {
+        if (direct == null) return commands;
+        // Limpa só quando o próximo frame começa, assim `getImage()` mostra o último frame
+        if (presented) {
+            direct.clear();
+            presented = false;
+        }
+        return direct;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        color = c;
+        target().setColor(c);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        target().drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        target().drawCircle(cx, cy, radius);
+    }
+
+    @Override
+    public void drawDiamond(double x, double y, double radius) {
+        target().drawDiamond(x, y, radius);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, double x, double y) {
+        target().drawSprite(sprite, x, y);
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        int i = texts.size();
+        if (i == textX.length) {
+            textX = Arrays.copyOf(textX, i * 2);
+            textY = Arrays.copyOf(textY, i * 2);
+        }
+        texts.add(text);
+        textColors.add(color);
+        textX[i] = x;
+        textY[i] = y;
+    }
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        target().drawLayer(layer, offsetY);
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        target().fillRect(cx, cy, width, height);
+    }
+
+    @Override
+    public void display() {
+        if (commands != null) {
+            // `resultNow()` repassa uma falha de qualquer faixa
+            for (var band : pool.invokeAll(bandTasks)) band.resultNow();
+            commands.clear();
+        }
+        if (!texts.isEmpty()) drawTexts();
+
+        if (frame != null) {
+            var strategy = frame.getBufferStrategy();
+            Graphics g = strategy.getDrawGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+        }
+
+        // Com uma faixa a imagem é limpa no começo do próximo frame; com várias, cada faixa limpa as suas linhas
+        presented = true;
+        color = Color.WHITE;
+    }
+
+    private void drawTexts() {
+        if (textGraphics == null) textGraphics = image.createGraphics();
+        for (int i = 0; i < texts.size(); i++) {
+            textGraphics.setColor(textColors.get(i));
+            textGraphics.drawString(texts.get(i), (int) Math.round(textX[i]), (int) Math.round(textY[i]));
+        }
+        texts.clear();
+        textColors.clear();
+    }
+
+    /// Imagem com o último frame apresentado
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /// Encerra as threads das faixas
+    public void close() {
+        if (pool != null) pool.shutdown();
+    }
+}
@@ -0,0 +1,149 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma fixa de uma entidade (forma, cor e raio) que pode ser rasterizada uma única vez num
+ * SpriteAtlas e depois desenhada com uma cópia de imagem. Renderers sem atlas desenham a
+ * forma vetorial, com as mesmas chamadas que a entidade fazia antes.
+ *
+ * Sprites são registrados por chave (derivada do tipo da entidade) e recebem um id sequencial,
+ * usado pelos atlas para achar a região do sprite sem hash.
+ */
+public final class Sprite {
+
+    /// Formas vetoriais conhecidas, desenhadas centradas em (x, y)
+    public enum Shape {
+        CIRCLE {
+            @Override
+            void draw(Renderer r, double x, double y, double radius) {
+                r.drawCircle(x, y, radius);
+            }
+        },
+        DIAMOND {
+            @Override
+            void draw(Renderer r, double x, double y, double radius) {
+                r.drawDiamond(x, y, radius);
+            }
+        },
+        /// Nave do player: ponta para cima
+        SHIP {
+            @Override
+            void draw(Renderer r, double x, double y, double size) {
+                r.drawLine(x - size, y + size, x, y - size);
+                r.drawLine(x + size, y + size, x, y - size);
+                r.drawLine(x - size, y + size, x, y + size * 0.5);
+                r.drawLine(x + size, y + size, x, y + size * 0.5);
+            }
+        },
+        /// Nave invertida do chefe ShadowPlayer: ponta para baixo
+        SHADOW_SHIP {
+            @Override
+            void draw(Renderer r, double x, double y, double size) {
+                r.drawLine(x - size, y - size, x, y + size);
+                r.drawLine(x + size, y - size, x, y + size);
+                r.drawLine(x - size, y - size, x, y - size * 0.5);
+                r.drawLine(x + size, y - size, x, y - size * 0.5);
+            }
+        },
+        /// Projétil do player: três traços verticais
+        BULLET {
+            @Override
+            void draw(Renderer r, double x, double y, double radius) {
+                r.drawLine(x, y - 5, x, y + 5);
+                r.drawLine(x - 1, y - 3, x - 1, y + 3);
+                r.drawLine(x + 1, y - 3, x + 1, y + 3);
+            }
+
+            @Override
+            double halfSize(double radius) {
+                return 5;
+            }
+        },
+        /// Laser do player: traço longo levemente inclinado
+        LASER {
+            @Override
+            void draw(Renderer r, double x, double y, double radius) {
+                r.drawLine(x, y - 20, x - 1, y + 20);
+            }
+
+            @Override
+            double halfSize(double radius) {
+                return 20;
+            }
+        };
+
+        abstract void draw(Renderer r, double x, double y, double radius);
+
+        /// Metade do lado do quadrado que contém a forma
+        double halfSize(double radius) {
+            return radius;
+        }
+    }
+
+    private static final List<Sprite> registry = new ArrayList<>();
+
+    private final int id;
+    private final String key;
+    private final Color color;
+    private final double radius;
+    private final Shape shape;
+
+    private Sprite(int id, String key, Color color, double radius, Shape shape) {
+        this.id = id;
+        this.key = key;
+        this.color = color;
+        this.radius = radius;
+        this.shape = shape;
+    }
+
+    /**
+     * Devolve o sprite registrado com a chave, criando se ainda não existe
+     * @param key Chave única, normalmente o nome do tipo da entidade (ex.: "Enemy.Flyer")
+     * @param color Cor do contorno
+     * @param radius Raio (ou tamanho) da forma
+     * @param shape Forma vetorial
+     */
+    public static synchronized Sprite of(String key, Color color, double radius, Shape shape) {
+        for (var sprite : registry) {
+            if (sprite.key.equals(key)) {
+                if (sprite.shape != shape || sprite.radius != radius || !sprite.color.equals(color)) {
+                    throw new IllegalArgumentException("Sprite " + key + " já registrado com outra forma");
+                }
+                return sprite;
+            }
+        }
+        var sprite = new Sprite(registry.size(), key, color, radius, shape);
+        registry.add(sprite);
+        return sprite;
+    }
+
+    /// Número de sprites registrados (ids vão de 0 a count - 1)
+    public static synchronized int count() {
+        return registry.size();
+    }
+
+    /// Desenha a forma vetorial do sprite, com a troca de cor
+    public void drawVector(Renderer r, double x, double y) {
+        r.setColor(color);
+        shape.draw(r, x, y, radius);
+    }
+
+    public int getId() { return id; }
+    public String getKey() { return key; }
+    public Color getColor() { return color; }
+    public double getRadius() { return radius; }
+    public Shape getShape() { return shape; }
+
+    /// Metade do lado do quadrado que contém o sprite, em pixels
+    public double getHalfSize() {
+        return shape.halfSize(radius);
+    }
+
+    @Override
+    public String toString() {
+        return "Sprite[" + key + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package org.shootemup.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Imagem única com todos os sprites já rasterizados, empacotados em prateleiras (linhas de
+ * altura variável). Cada sprite é rasterizado na primeira vez que é desenhado e depois vira
+ * uma cópia da sua região do atlas. A imagem é criada compatível com a tela (managed image),
+ * então o Java2D pode mantê-la na memória de vídeo.
+ *
+ * Os sprites são rasterizados na escala da tela; se a janela mudar de tela ou de escala
+ * `regenerate()` descarta o atlas e os sprites são rasterizados de novo sob demanda.
+ */
+public final class SpriteAtlas {
+    private static final int PADDING = 2; // Borda em volta de cada sprite para o traço de 1 pixel
+    private static final int INITIAL_SIZE = 256;
+
+    private GraphicsConfiguration config; // null -> imagem comum, sem aceleração
+    private double scale = 1.0;
+    private BufferedImage image;
+    private Graphics2D g;
+
+    // Região de cada sprite, indexada pelo id (width 0 -> ainda não rasterizado)
+    private int[] regionX = new int[16], regionY = new int[16];
+    private int[] regionWidth = new int[16], regionHeight = new int[16];
+    private int[] centerX = new int[16], centerY = new int[16];
+
+    // Empacotamento em prateleiras
+    private int shelfX, shelfY, shelfHeight;
+    private int cached = 0;
+
+    /// @param config Configuração da tela onde o atlas será desenhado (null para uma imagem comum)
+    public SpriteAtlas(GraphicsConfiguration config) {
+        regenerate(config);
+    }
+
+    /**
+     * Descarta todos os sprites rasterizados e recria o atlas para a tela dada.
+     * Usado quando a escala ou a tela da janela muda
+     */
+    public void regenerate(GraphicsConfiguration config) {
+        this.config = config;
+        this.scale = config == null ? 1.0 : config.getDefaultTransform().getScaleX();
+        allocate(INITIAL_SIZE, INITIAL_SIZE);
+        Arrays.fill(regionWidth, 0);
+        cached = 0;
+    }
+
+    /**
+     * Copia o sprite centrado em (x, y) para o Graphics dado, rasterizando antes se preciso
+     * @param target Destino da cópia, em coordenadas da tela do jogo
+     */
+    public void blit(Graphics2D target, Sprite sprite, double x, double y) {
+        int id = sprite.getId();
+        if (id >= regionWidth.length || regionWidth[id] == 0) rasterize(sprite);
+
+        int sx = regionX[id], sy = regionY[id];
+        int sw = regionWidth[id], sh = regionHeight[id];
+        if (scale == 1.0) {
+            // Arredonda o centro como o desenho vetorial arredonda cada ponto
+            int dx = (int) Math.round(x) - centerX[id];
+            int dy = (int) Math.round(y) - centerY[id];
+            target.drawImage(image, dx, dy, dx + sw, dy + sh, sx, sy, sx + sw, sy + sh, null);
+        } else {
+            double left = Math.round(x) - centerX[id] / scale;
+            double top = Math.round(y) - centerY[id] / scale;
+            int dx = (int) Math.round(left), dy = (int) Math.round(top);
+            int dw = (int) Math.round(sw / scale), dh = (int) Math.round(sh / scale);
+            target.drawImage(image, dx, dy, dx + dw, dy + dh, sx, sy, sx + sw, sy + sh, null);
+        }
+    }
+
+    /// Número de sprites rasterizados no atlas atual
+    public int size() {
+        return cached;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    private void rasterize(Sprite sprite) {
+        int id = sprite.getId();
+        if (id >= regionWidth.length) growRegions(Math.max(id + 1, Sprite.count()));
+
+        int half = (int) Math.ceil(sprite.getHalfSize() * scale);
+        int size = 2 * (half + PADDING) + 1;
+        if (shelfX + size > image.getWidth()) {
+            // Prateleira cheia: abre outra embaixo
+            shelfX = 0;
+            shelfY += shelfHeight;
+            shelfHeight = 0;
+        }
+        if (size > image.getWidth() || shelfY + size > image.getHeight()) {
+            // Sem espaço: dobra o atlas e rasteriza tudo de novo
+            int width = Math.max(image.getWidth(), size);
+            allocate(width * 2, image.getHeight() * 2);
+            Arrays.fill(regionWidth, 0);
+            cached = 0;
+            rasterize(sprite);
+            return;
+        }
+
+        regionX[id] = shelfX;
+        regionY[id] = shelfY;
+        regionWidth[id] = regionHeight[id] = size;
+        centerX[id] = centerY[id] = half + PADDING;
+        shelfX += size;
+        shelfHeight = Math.max(shelfHeight, size);
+        cached++;
+
+        // A forma é desenhada no centro inteiro da região, na escala da tela
+        var canvas = new Graphics2DRenderer(g);
+        sprite.drawVector(canvas, (regionX[id] + centerX[id]) / scale, (regionY[id] + centerY[id]) / scale);
+    }
+
+    private void allocate(int width, int height) {
+        if (g != null) g.dispose();
+        image = config != null
+            ? config.createCompatibleImage(width, height, Transparency.BITMASK)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setColor(new Color(0, 0, 0, 0));
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.scale(scale, scale);
+        shelfX = shelfY = shelfHeight = 0;
+    }
+
+    private void growRegions(int capacity) {
+        regionX = Arrays.copyOf(regionX, capacity);
+        regionY = Arrays.copyOf(regionY, capacity);
+        regionWidth = Arrays.copyOf(regionWidth, capacity);
+        regionHeight = Arrays.copyOf(regionHeight, capacity);
+        centerX = Arrays.copyOf(centerX, capacity);
+        centerY = Arrays.copyOf(centerY, capacity);
+    }
+}
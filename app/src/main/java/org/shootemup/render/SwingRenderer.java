@@ -0,0 +1,282 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Toolkit;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.swing.JFrame;
+
+/**
+ * Renderer original do jogo: desenha com Java2D no BufferStrategy da janela.
+ * No modo seguro desenha numa BufferedImage e copia para a janela a cada frame.
+ * Com batching as primitivas são agrupadas por cor (PrimitiveBatch) e desenhadas só no
+ * `display()`, uma chamada de desenho por cor em vez de uma por primitiva.
+ * Com o cache de sprites as formas fixas das entidades são copiadas de um SpriteAtlas;
+ * com batching as cópias também esperam o `display()` e são feitas depois dos contornos.
+ * Textos (overlay) com batching também esperam e são desenhados por cima de tudo.
+ * Camadas (TiledLayer) são convertidas numa imagem compatível com a tela na primeira vez e
+ * desenhadas na hora com duas cópias; com batching ficam por baixo do resto, como um fundo.
+ * As imagens das camadas são soltas junto com a camada e refeitas se a janela mudar de tela.
+ */
+public class SwingRenderer implements Renderer {
+    private final JFrame frame;
+    private final boolean safeMode;
+    private BufferedImage buffer = null;
+    private Graphics2D g;
+
+    private PrimitiveBatch batch = null; // null -> desenha cada primitiva na hora
+    private final RenderStats stats = new RenderStats();
+
+    private SpriteAtlas atlas = null; // null -> sprites desenhados como formas vetoriais
+    private GraphicsConfiguration atlasConfig;
+    // Cópias de sprites pendentes (só com batching)
+    private Sprite[] pendingSprites = new Sprite[256];
+    private double[] pendingX = new double[256], pendingY = new double[256];
+    private int pendingCount = 0;
+    // Textos pendentes (só com batching) e a cor de cada um
+    private final List<String> pendingTexts = new ArrayList<>();
+    private final List<Color> pendingTextColors = new ArrayList<>();
+    private double[] pendingTextX = new double[8], pendingTextY = new double[8];
+    private Color color = Color.WHITE; // Cor atual, guardada para os textos pendentes
+    // Imagem de cada camada já convertida; some quando ninguém mais usa a camada
+    private final Map<TiledLayer, BufferedImage> layerImages = new WeakHashMap<>();
+    private GraphicsConfiguration layerConfig; // Tela para a qual as imagens das camadas foram criadas
+
+    /**
+     * @param frame Janela já visível onde o jogo é desenhado
+     * @param safeMode Desenha numa imagem intermediária (use se nada aparecer na janela)
+     */
+    public SwingRenderer(JFrame frame, boolean safeMode) {
+        this.frame = frame;
+        this.safeMode = safeMode;
+
+        if (safeMode) {
+            frame.createBufferStrategy(1);
+            buffer = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+            g = buffer.createGraphics();
+            System.out.println(frame.getBufferStrategy());
+        } else {
+            frame.createBufferStrategy(2);
+            g = (Graphics2D) frame.getBufferStrategy().getDrawGraphics();
+        }
+    }
+
+    /// Liga ou desliga o agrupamento de primitivas por cor (vale a partir do próximo frame)
+    public void setBatching(boolean enabled) {
+        if (enabled == (batch != null)) return;
+        if (batch != null) batch.flush(g, stats);
+        batch = enabled ? new PrimitiveBatch() : null;
+        if (batch != null) batch.setColor(Color.WHITE);
+    }
+
+    public boolean isBatching() {
+        return batch != null;
+    }
+
+    /// Liga ou desliga o cache de sprites pré-rasterizados
+    public void setSpriteCache(boolean enabled) {
+        if (enabled == (atlas != null)) return;
+        flushSprites();
+        atlasConfig = frame.getGraphicsConfiguration();
+        atlas = enabled ? new SpriteAtlas(atlasConfig) : null;
+    }
+
+    /// Rasteriza os sprites de novo (ex.: depois de mudar a resolução ou a escala da tela)
+    public void regenerateSprites() {
+        if (atlas == null) return;
+        flushSprites();
+        atlasConfig = frame.getGraphicsConfiguration();
+        atlas.regenerate(atlasConfig);
+    }
+
+    public SpriteAtlas getSpriteAtlas() {
+        return atlas;
+    }
+
+    @Override
+    public void setColor(Color c) {
+        stats.colorChanges++;
+        color = c;
+        if (batch != null) {
+            batch.setColor(c);
+        } else {
+            g.setColor(c);
+            stats.stateChanges++;
+        }
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        stats.primitives++;
+        int ix1 = (int) Math.round(x1), iy1 = (int) Math.round(y1);
+        int ix2 = (int) Math.round(x2), iy2 = (int) Math.round(y2);
+        if (batch != null) {
+            batch.line(ix1, iy1, ix2, iy2);
+        } else {
+            g.drawLine(ix1, iy1, ix2, iy2);
+            stats.drawCalls++;
+        }
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        stats.primitives++;
+        int x = (int) Math.round(cx - radius);
+        int y = (int) Math.round(cy - radius);
+        int width = (int) Math.round(2 * radius);
+        int height = (int) Math.round(2 * radius);
+
+        if (batch != null) {
+            batch.circle(x, y, width, height);
+        } else {
+            g.drawOval(x, y, width, height);
+            stats.drawCalls++;
+        }
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, double x, double y) {
+        if (atlas == null) {
+            Renderer.super.drawSprite(sprite, x, y);
+            return;
+        }
+        stats.primitives++;
+        if (batch != null) {
+            if (pendingCount == pendingSprites.length) {
+                int capacity = pendingCount * 2;
+                pendingSprites = Arrays.copyOf(pendingSprites, capacity);
+                pendingX = Arrays.copyOf(pendingX, capacity);
+                pendingY = Arrays.copyOf(pendingY, capacity);
+            }
+            pendingSprites[pendingCount] = sprite;
+            pendingX[pendingCount] = x;
+            pendingY[pendingCount] = y;
+            pendingCount++;
+        } else {
+            atlas.blit(g, sprite, x, y);
+            stats.drawCalls++;
+        }
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        stats.primitives++;
+        if (batch != null) {
+            int i = pendingTexts.size();
+            if (i == pendingTextX.length) {
+                pendingTextX = Arrays.copyOf(pendingTextX, i * 2);
+                pendingTextY = Arrays.copyOf(pendingTextY, i * 2);
+            }
+            pendingTexts.add(text);
+            pendingTextColors.add(color);
+            pendingTextX[i] = x;
+            pendingTextY[i] = y;
+        } else {
+            g.drawString(text, (int) Math.round(x), (int) Math.round(y));
+            stats.drawCalls++;
+        }
+    }
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        stats.primitives++;
+        var image = layerImage(layer);
+        int top = layer.topCopy(offsetY);
+        g.drawImage(image, 0, top, null);
+        g.drawImage(image, 0, top + layer.getHeight(), null);
+        stats.drawCalls += 2;
+    }
+
+    private BufferedImage layerImage(TiledLayer layer) {
+        var config = frame.getGraphicsConfiguration();
+        if (config != layerConfig) {
+            // Imagens compatíveis com a tela anterior: são refeitas para a nova
+            layerImages.clear();
+            layerConfig = config;
+        }
+        var image = layerImages.get(layer);
+        if (image == null) {
+            int width = layer.getWidth(), height = layer.getHeight();
+            image = config.createCompatibleImage(width, height, Transparency.BITMASK);
+            image.setRGB(0, 0, width, height, layer.getPixels(), 0, width);
+            layerImages.put(layer, image);
+        }
+        return image;
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        stats.primitives++;
+        int x = (int) Math.round(cx - width/2);
+        int y = (int) Math.round(cy - height/2);
+        int w = (int) Math.round(width);
+        int h = (int) Math.round(height);
+
+        if (batch != null) {
+            batch.rect(x, y, w, h);
+        } else {
+            g.fillRect(x, y, w, h);
+            stats.drawCalls++;
+        }
+    }
+
+    @Override
+    public void display() {
+        if (batch != null) batch.flush(g, stats);
+        flushSprites();
+        flushTexts();
+        stats.endFrame();
+
+        if (safeMode) {
+            frame.getBufferStrategy().getDrawGraphics().drawImage(buffer, 0, 0, null);
+            frame.getBufferStrategy().show();
+            Toolkit.getDefaultToolkit().sync();
+        } else {
+            g.dispose();
+            frame.getBufferStrategy().show();
+            Toolkit.getDefaultToolkit().sync();
+            g = (Graphics2D) frame.getBufferStrategy().getDrawGraphics();
+        }
+
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, frame.getWidth() - 1, frame.getHeight() - 1);
+        g.setColor(Color.WHITE);
+        color = Color.WHITE;
+        if (batch != null) batch.setColor(Color.WHITE);
+
+        // A janela mudou de tela (ou de escala): os sprites precisam ser rasterizados de novo
+        if (atlas != null && frame.getGraphicsConfiguration() != atlasConfig) regenerateSprites();
+    }
+
+    private void flushSprites() {
+        for (int i = 0; i < pendingCount; i++) {
+            atlas.blit(g, pendingSprites[i], pendingX[i], pendingY[i]);
+            stats.drawCalls++;
+        }
+        pendingCount = 0;
+    }
+
+    private void flushTexts() {
+        for (int i = 0; i < pendingTexts.size(); i++) {
+            g.setColor(pendingTextColors.get(i));
+            g.drawString(pendingTexts.get(i), (int) Math.round(pendingTextX[i]), (int) Math.round(pendingTextY[i]));
+            stats.drawCalls++;
+            stats.stateChanges++;
+        }
+        pendingTexts.clear();
+        pendingTextColors.clear();
+    }
+
+    @Override
+    public RenderStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,147 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renderiza numa thread própria: a simulação grava os comandos de cada frame num
+ * DrawCommandBuffer e a thread de renderização reproduz o último frame pronto no renderer
+ * de destino (ex.: SwingRenderer). Assim a simulação do frame N+1 roda enquanto o
+ * frame N é rasterizado.
+ *
+ * Usa três buffers: um sendo gravado, um sendo desenhado e um trocado entre as threads
+ * por um único AtomicInteger (índice do buffer do meio + bit de "frame novo"), sem locks.
+ * Se a renderização atrasar, o frame pendente é substituído pelo mais recente.
+ */
+public final class ThreadedRenderer implements Renderer {
+    private static final int FRESH = 1 << 2; // Bit do estado: o buffer do meio tem um frame ainda não desenhado
+    private static final int INDEX = 3;
+
+    private final Renderer target;
+    private final DrawCommandBuffer[] buffers = {
+        new DrawCommandBuffer(), new DrawCommandBuffer(), new DrawCommandBuffer()
+    };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int writing = 0; // Só a simulação mexe
+    private int reading = 2; // Só a thread de renderização mexe
+
+    private Thread thread; // Criada em start()
+    private volatile boolean running = true;
+    private volatile Throwable failure = null;
+
+    // Estatísticas (escritas por uma thread cada)
+    private volatile long publishedFrames = 0;
+    private volatile long renderedFrames = 0;
+
+    /// @param target Renderer onde os frames são desenhados, usado só pela thread de renderização
+    public ThreadedRenderer(Renderer target) {
+        this.target = target;
+    }
+
+    /// Inicia a thread de renderização; chamar uma vez, antes do primeiro `display()`
+    public void start() {
+        if (thread != null) throw new IllegalStateException("Thread de renderização já iniciada");
+        thread = new Thread(this::renderLoop, "render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void setColor(Color c) {
+        buffers[writing].setColor(c);
+    }
+
+    @Override
+    public void drawLine(double x1, double y1, double x2, double y2) {
+        buffers[writing].drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawCircle(double cx, double cy, double radius) {
+        buffers[writing].drawCircle(cx, cy, radius);
+    }
+
+    @Override
+    public void drawDiamond(double x, double y, double radius) {
+        buffers[writing].drawDiamond(x, y, radius);
+    }
+
+    @Override
+    public void drawSprite(Sprite sprite, double x, double y) {
+        buffers[writing].drawSprite(sprite, x, y);
+    }
+
+    @Override
+    public void drawText(String text, double x, double y) {
+        buffers[writing].drawText(text, x, y);
+    }
+
+    @Override
+    public void drawLayer(TiledLayer layer, double offsetY) {
+        buffers[writing].drawLayer(layer, offsetY);
+    }
+
+    @Override
+    public void fillRect(double cx, double cy, double width, double height) {
+        buffers[writing].fillRect(cx, cy, width, height);
+    }
+
+    /// Publica o frame gravado para a thread de renderização e começa a gravar o próximo
+    @Override
+    public void display() {
+        if (failure != null) {
+            throw new IllegalStateException("Falha na thread de renderização", failure);
+        }
+        int previous = middle.getAndSet(writing | FRESH);
+        writing = previous & INDEX;
+        buffers[writing].clear(); // Frame já desenhado ou descartado por um mais novo
+        publishedFrames++;
+        LockSupport.unpark(thread);
+    }
+
+    /// Contadores do renderer de destino (atualizados pela thread de renderização)
+    @Override
+    public RenderStats getStats() {
+        return target.getStats();
+    }
+
+    /// Para a thread de renderização depois de desenhar o frame que estiver em andamento
+    public void close() {
+        running = false;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /// Frames publicados pela simulação
+    public long getPublishedFrames() {
+        return publishedFrames;
+    }
+
+    /// Frames efetivamente desenhados (os demais foram substituídos antes de serem desenhados)
+    public long getRenderedFrames() {
+        return renderedFrames;
+    }
+
+    private void renderLoop() {
+        try {
+            while (running) {
+                if ((middle.get() & FRESH) == 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                reading = middle.getAndSet(reading) & INDEX;
+                buffers[reading].replay(target);
+                target.display();
+                renderedFrames++;
+            }
+        } catch (Throwable t) {
+            failure = t;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.shootemup.render;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Camada fixa (ex.: um fundo de estrelas) que se repete na vertical, montada uma única vez a
+ * partir de retângulos preenchidos. Os renderers desenham a camada com um deslocamento
+ * vertical; como ela se repete, bastam duas cópias da imagem por frame, qualquer que seja o
+ * número de retângulos.
+ *
+ * Guarda os pixels (ARGB, alpha 0 é transparente) para os renderers que copiam imagens, os
+ * trechos opacos de cada linha para o rasterizador em software e os retângulos originais para
+ * os renderers sem cache, que desenham a forma vetorial como antes.
+ */
+public final class TiledLayer {
+    private final int width;
+    private final int height;
+    private final int[] pixels;
+
+    // Trechos opacos da linha y: índices [rowStart[y], rowStart[y + 1]) dos arrays de trechos
+    private final int[] rowStart;
+    private final int[] spanX, spanLength, spanColor;
+
+    // Retângulos originais (centro e tamanho) e a cor de cada um
+    private final double[] rects;
+    private final Color[] colors;
+
+    private TiledLayer(Builder builder) {
+        this.width = builder.width;
+        this.height = builder.height;
+        this.rects = Arrays.copyOf(builder.rects, builder.count * 4);
+        this.colors = builder.colors.toArray(Color[]::new);
+        this.pixels = new int[width * height];
+        for (int i = 0; i < colors.length; i++) {
+            paint(rects[4 * i], rects[4 * i + 1], rects[4 * i + 2], rects[4 * i + 3], colors[i].getRGB() | 0xFF000000);
+        }
+
+        // Agrupa os pixels opacos de cada linha em trechos da mesma cor
+        rowStart = new int[height + 1];
+        var x = new int[64];
+        var length = new int[64];
+        var color = new int[64];
+        int spans = 0;
+        for (int y = 0; y < height; y++) {
+            rowStart[y] = spans;
+            int row = y * width;
+            for (int px = 0; px < width; px++) {
+                int argb = pixels[row + px];
+                if (argb == 0) continue;
+                if (spans > 0 && rowStart[y] < spans && x[spans - 1] + length[spans - 1] == px && color[spans - 1] == argb) {
+                    length[spans - 1]++;
+                    continue;
+                }
+                if (spans == x.length) {
+                    x = Arrays.copyOf(x, spans * 2);
+                    length = Arrays.copyOf(length, spans * 2);
+                    color = Arrays.copyOf(color, spans * 2);
+                }
+                x[spans] = px;
+                length[spans] = 1;
+                color[spans] = argb;
+                spans++;
+            }
+        }
+        rowStart[height] = spans;
+        spanX = Arrays.copyOf(x, spans);
+        spanLength = Arrays.copyOf(length, spans);
+        spanColor = Arrays.copyOf(color, spans);
+    }
+
+    /// Pinta o retângulo com o arredondamento do `fillRect`, dando a volta na vertical
+    private void paint(double cx, double cy, double w, double h, int argb) {
+        int left = (int) Math.round(cx - w/2);
+        int top = (int) Math.round(cy - h/2);
+        int right = Math.min(left + (int) Math.round(w), width);
+        left = Math.max(left, 0);
+        if (left >= right) return;
+        for (int y = top; y < top + (int) Math.round(h); y++) {
+            int row = Math.floorMod(y, height) * width;
+            Arrays.fill(pixels, row + left, row + right, argb);
+        }
+    }
+
+    /**
+     * Desenha os retângulos um a um, deslocados e dando a volta na vertical.
+     * Usado pelos renderers que não guardam a imagem da camada
+     */
+    public void drawVector(Renderer r, double offsetY) {
+        Color current = null;
+        for (int i = 0; i < colors.length; i++) {
+            if (colors[i] != current) {
+                current = colors[i];
+                r.setColor(current);
+            }
+            r.fillRect(rects[4 * i], (rects[4 * i + 1] + offsetY) % height, rects[4 * i + 2], rects[4 * i + 3]);
+        }
+    }
+
+    /**
+     * Desenha os trechos opacos da camada deslocada em `offsetY` nas linhas [top, bottom)
+     * de um array de pixels RGB com `width` pixels por linha
+     */
+    void drawSpans(int[] target, int targetWidth, int top, int bottom, double offsetY) {
+        int shift = (int) Math.round(offsetY);
+        int right = Math.min(width, targetWidth);
+        for (int y = top; y < bottom; y++) {
+            int source = Math.floorMod(y - shift, height);
+            int row = y * targetWidth;
+            for (int s = rowStart[source]; s < rowStart[source + 1]; s++) {
+                int from = spanX[s];
+                if (from >= right) break;
+                int to = Math.min(from + spanLength[s], right);
+                Arrays.fill(target, row + from, row + to, spanColor[s] & 0xFFFFFF);
+            }
+        }
+    }
+
+    /// Deslocamento inteiro da cópia de cima, em [-height, 0); a de baixo fica `height` pixels abaixo
+    int topCopy(double offsetY) {
+        return Math.floorMod((int) Math.round(offsetY), height) - height;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    /// Número de retângulos da camada
+    public int size() { return colors.length; }
+
+    /// Pixels ARGB da camada, linha a linha (não alterar)
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    /// Monta uma camada a partir de retângulos preenchidos
+    public static class Builder {
+        private final int width;
+        private final int height;
+        private double[] rects = new double[64];
+        private final List<Color> colors = new ArrayList<>();
+        private int count = 0;
+
+        /**
+         * @param width Largura da camada
+         * @param height Altura da camada (período da repetição vertical)
+         */
+        public Builder(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        /// Retângulo preenchido centrado em (cx, cy), como `Renderer.fillRect`
+        public Builder fillRect(Color color, double cx, double cy, double w, double h) {
+            if (4 * count + 4 > rects.length) rects = Arrays.copyOf(rects, rects.length * 2);
+            rects[4 * count] = cx;
+            rects[4 * count + 1] = cy;
+            rects[4 * count + 2] = w;
+            rects[4 * count + 3] = h;
+            colors.add(color);
+            count++;
+            return this;
+        }
+
+        public TiledLayer build() {
+            return new TiledLayer(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.shootemup.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mede quantos bytes a thread atual alocou entre `begin()` e `end()`.
+ * Usa o contador de alocação por thread da JVM (com.sun.management.ThreadMXBean),
+ * então não precisa de profiler e custa só duas leituras por medição.
+ */
+public class AllocationMeter {
+    private final com.sun.management.ThreadMXBean threads;
+    private final String label;
+    private long startBytes;
+    private long totalBytes = 0;
+    private long samples = 0;
+    private long maxBytes = 0;
+
+    /// @param label Nome da medição, usado no resumo (ex.: "tick")
+    public AllocationMeter(String label) {
+        this.label = label;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    public void begin() {
+        startBytes = threads.getCurrentThreadAllocatedBytes();
+    }
+
+    public void end() {
+        long bytes = threads.getCurrentThreadAllocatedBytes() - startBytes;
+        totalBytes += bytes;
+        maxBytes = Math.max(maxBytes, bytes);
+        samples++;
+    }
+
+    public double averageBytes() {
+        return samples == 0 ? 0.0 : (double) totalBytes / samples;
+    }
+
+    /// Resumo legível: média e máximo de bytes alocados por medição
+    public String summary() {
+        return String.format("Alocação por %s: média %.1f bytes, máximo %d bytes (%d amostras)",
+            label, averageBytes(), maxBytes, samples);
+    }
+}
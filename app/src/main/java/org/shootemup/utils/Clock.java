@@ -0,0 +1,30 @@
+package org.shootemup.utils;
+
+/// Fonte de tempo da simulação em milissegundos
+public interface Clock {
+    long millis();
+
+    /// Relógio real do sistema
+    public static class Wall implements Clock {
+        @Override
+        public long millis() {
+            return System.currentTimeMillis();
+        }
+    }
+
+    /// Relógio parado num instante dado: partidas gravadas e simulações sem janela não dependem
+    /// da hora em que rodam. Com passo fixo o Game só lê o relógio na criação e daí em diante
+    /// o tempo da simulação anda um passo por tick (o passo variável precisa do relógio real)
+    public static class Virtual implements Clock {
+        private final long now;
+
+        public Virtual(long startMillis) {
+            this.now = startMillis;
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
+    }
+}
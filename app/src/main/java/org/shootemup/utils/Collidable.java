@@ -7,4 +7,6 @@ public interface Collidable {
     public boolean intersects(Collidable other);
     public Vector2D getPosition();
     public double getRadius();
+    /// Camadas em que o objeto está (bits de CollisionLayer)
+    public int getLayer();
 }
@@ -0,0 +1,24 @@
+package org.shootemup.utils;
+
+/**
+ * Camadas de colisão. Cada entidade colidível tem uma máscara com as camadas em que está
+ * (normalmente uma só) e a `CollisionMatrix` do jogo diz quais pares de camadas são testados.
+ */
+public final class CollisionLayer {
+    /// Não colide com nada (ex.: player morto)
+    public static final int NONE = 0;
+    public static final int PLAYER = 1;
+    public static final int PLAYER_PROJECTILE = 1 << 1;
+    public static final int ENEMY = 1 << 2;
+    public static final int ENEMY_PROJECTILE = 1 << 3;
+    public static final int POWERUP = 1 << 4;
+    /// Número de camadas
+    public static final int COUNT = 5;
+
+    private CollisionLayer() {}
+
+    /// Posição da camada (um único bit) nos arrays indexados por camada
+    public static int index(int layer) {
+        return Integer.numberOfTrailingZeros(layer);
+    }
+}
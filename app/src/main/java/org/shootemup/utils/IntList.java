@@ -0,0 +1,38 @@
+package org.shootemup.utils;
+
+import java.util.Arrays;
+
+/// Lista de ints sem boxing, reusada entre ticks (limpar não libera o array)
+public class IntList {
+    private int[] values;
+    private int size = 0;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        values = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = value;
+    }
+
+    public int get(int i) {
+        return values[i];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
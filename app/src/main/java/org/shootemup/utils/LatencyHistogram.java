@@ -0,0 +1,110 @@
+package org.shootemup.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de durações em nanossegundos, sem locks: cada amostra é um incremento atômico
+ * no seu intervalo, então várias threads (ex.: sistemas do update rodando em paralelo) podem
+ * registrar ao mesmo tempo e o resumo pode ser lido de outra thread.
+ *
+ * Os intervalos são log-lineares: cada potência de 2 é dividida em 16 partes, então os
+ * percentis têm erro relativo de no máximo 1/16 (~6%) para qualquer duração.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final String label;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+    private volatile long last = 0;
+
+    /// @param label Nome da medição, usado no resumo (ex.: "render")
+    public LatencyHistogram(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /// Registra uma duração em nanossegundos (negativas contam como 0)
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        samples.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+        last = value;
+    }
+
+    /**
+     * Registra o tempo decorrido desde `start` e retorna o instante atual, que pode ser usado
+     * como início da próxima medição
+     * @param start Instante de início, de `System.nanoTime()`
+     */
+    public long recordSince(long start) {
+        long now = System.nanoTime();
+        record(now - start);
+        return now;
+    }
+
+    public long count() {
+        return samples.get();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /// Última duração registrada
+    public long last() {
+        return last;
+    }
+
+    public double mean() {
+        long n = samples.get();
+        return n == 0 ? 0.0 : (double) total.get() / n;
+    }
+
+    /**
+     * Duração abaixo da qual estão `p` das amostras (limite superior do intervalo)
+     * @param p Fração entre 0 e 1 (ex.: 0.99 para o p99)
+     */
+    public long percentile(double p) {
+        long n = samples.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /// Resumo legível em milissegundos: p50, p99, máximo e média
+    public String summary() {
+        return String.format("%-20s p50 %7.3f ms  p99 %7.3f ms  máx %8.3f ms  média %7.3f ms  (%d amostras)",
+            label, percentile(0.50) / 1e6, percentile(0.99) / 1e6, max() / 1e6, mean() / 1e6, count());
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BITS
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return (1L << exponent) + (sub + 1) * width - 1;
+    }
+}
@@ -0,0 +1,28 @@
+package org.shootemup.utils;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de números aleatórios com semente, usado no lugar de `Math.random()`.
+ * Cada partida (e cada fase) tem o seu, então a mesma semente reproduz a mesma partida.
+ */
+public class RandomSource {
+    private final SplittableRandom random;
+
+    public RandomSource(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Cria uma fonte independente para um fluxo da partida (ex.: o índice de uma fase),
+     * reprodutível a partir da semente da partida e do número do fluxo
+     */
+    public static RandomSource derive(long seed, long stream) {
+        return new RandomSource(seed ^ (stream * 0x9E3779B97F4A7C15L));
+    }
+
+    /// Número no intervalo [0, 1), como `Math.random()`
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+}
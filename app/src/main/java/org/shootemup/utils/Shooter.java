@@ -1,9 +1,9 @@
 package org.shootemup.utils;
 
-import java.util.Optional;
-import org.shootemup.entities.Projectile;
+import org.shootemup.entities.ProjectilePool;
 
 /// Classes que implementam essa interface são capazes de disparar projeteis
 public interface Shooter {
-    public Optional<Projectile> shot(long currentTime);
+    /// Tenta disparar, escrevendo os projéteis direto no pool. Retorna se algum tiro saiu
+    public boolean shot(long currentTime, ProjectilePool projectiles);
 }
@@ -0,0 +1,111 @@
+package org.shootemup.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.shootemup.engine.SpawnTable;
+
+public class LevelCompilerTest {
+    private static final String LEVEL = String.join("\n",
+        "CHEFE ShadowPlayer 50 3000 100 -20",
+        "INIMIGO Flyer 500 40 -10",
+        "INIMIGO Common 200 30 -20",
+        "POWERUP LaserMode 1000 60 -20",
+        "");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String name, String text) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.writeString(file, text);
+        return file;
+    }
+
+    @Test
+    public void compiledTableHoldsTheSortedSpawns() throws IOException {
+        Path source = write("fase.txt", LEVEL);
+
+        var table = SpawnTable.wrap(LevelCompiler.compile(source));
+
+        assertEquals(Files.size(source), table.sourceSize());
+        assertEquals(Files.getLastModifiedTime(source).toMillis(), table.sourceModified());
+        assertEquals(12, table.enemyCount()); // Common + onda de 10 Flyers + chefe
+        assertEquals(1, table.powerupCount());
+
+        assertEquals(SpawnTable.COMMON, table.type(0));
+        assertEquals(200, table.spawn(0));
+        assertEquals(30, table.x(0));
+        assertEquals(-20, table.y(0));
+        assertEquals(1, table.life(0));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(SpawnTable.FLYER, table.type(1 + i));
+            assertEquals(500 + 120 * i, table.spawn(1 + i));
+        }
+        assertEquals(SpawnTable.SHADOW_PLAYER, table.type(11));
+        assertEquals(3000, table.spawn(11));
+        assertEquals(50, table.life(11));
+
+        assertEquals(SpawnTable.LASER_MODE, table.type(12));
+        assertEquals(1000, table.spawn(12));
+        assertEquals(60, table.x(12));
+    }
+
+    @Test
+    public void loadMapsTheSameTableAsCompile() throws IOException {
+        Path source = write("mapeada.txt", LEVEL);
+
+        var compiled = SpawnTable.wrap(LevelCompiler.compile(source));
+        var loaded = LevelCompiler.load(source);
+        var cached = LevelCompiler.load(source);
+
+        assertEquals(compiled.size(), loaded.size());
+        assertEquals(compiled.size(), cached.size());
+        for (int i = 0; i < compiled.size(); i++) {
+            assertEquals(compiled.spawn(i), cached.spawn(i));
+            assertEquals(compiled.type(i), cached.type(i));
+            assertEquals(compiled.life(i), cached.life(i));
+            assertEquals(compiled.x(i), cached.x(i));
+            assertEquals(compiled.y(i), cached.y(i));
+        }
+    }
+
+    @Test
+    public void changedSourceInvalidatesTheCache() throws IOException {
+        Path source = write("alterada.txt", LEVEL);
+        FileTime before = Files.getLastModifiedTime(source);
+        assertEquals(200, LevelCompiler.load(source).spawn(0));
+
+        // Mesmo tamanho: só a data de modificação denuncia a mudança
+        Files.writeString(source, LEVEL.replace("Common 200", "Common 300"));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(before.toMillis() + 2000));
+
+        var table = LevelCompiler.load(source);
+        assertEquals(300, table.spawn(0));
+        assertEquals(before.toMillis() + 2000, table.sourceModified());
+    }
+
+    @Test
+    public void wrapRejectsAnotherVersion() throws IOException {
+        ByteBuffer data = LevelCompiler.compile(write("versao.txt", LEVEL));
+        data.putInt(4, SpawnTable.VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> SpawnTable.wrap(data));
+    }
+
+    @Test
+    public void malformedLineIsRejected() throws IOException {
+        Path source = write("invalida.txt", "INIMIGO Common 200 30\n");
+
+        assertThrows(IllegalArgumentException.class, () -> LevelCompiler.compile(source));
+    }
+}
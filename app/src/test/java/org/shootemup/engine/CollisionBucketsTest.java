@@ -0,0 +1,135 @@
+package org.shootemup.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.shootemup.utils.CollisionLayer;
+import org.shootemup.utils.IntList;
+
+public class CollisionBucketsTest {
+    private static final int ALL = CollisionLayer.PLAYER | CollisionLayer.PLAYER_PROJECTILE | CollisionLayer.ENEMY
+        | CollisionLayer.ENEMY_PROJECTILE | CollisionLayer.POWERUP;
+
+    /// Acertos da regra (a, b) como "ref em a-ref em b", na ordem em que a regra os reporta
+    private static List<String> hits(CollisionBuckets buckets, int a, int b) {
+        var walked = buckets.get(a);
+        var queried = buckets.get(b);
+        queried.buildGrid();
+        var pairs = new IntList();
+        walked.findPairs(queried, 0, walked.size(), new IntList(), pairs);
+
+        var out = new ArrayList<String>();
+        for (int k = 0; k < pairs.size(); k += 2) {
+            out.add(walked.ref(pairs.get(k)) + "-" + queried.ref(pairs.get(k + 1)));
+        }
+        return out;
+    }
+
+    @Test
+    public void entryGoesToEveryStoredLayerOfItsMask() {
+        var buckets = new CollisionBuckets(CollisionLayer.ENEMY | CollisionLayer.POWERUP, 32.0);
+        buckets.add(CollisionLayer.ENEMY | CollisionLayer.POWERUP, 100, 100, 5, 1);
+        buckets.add(CollisionLayer.ENEMY_PROJECTILE, 100, 100, 5, 2); // Camada não guardada
+
+        assertEquals(1, buckets.get(CollisionLayer.ENEMY).size());
+        assertEquals(1, buckets.get(CollisionLayer.POWERUP).size());
+        assertEquals(0, buckets.get(CollisionLayer.ENEMY_PROJECTILE).size());
+    }
+
+    @Test
+    public void ruleOnlyTestsItsTwoLayers() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 100, 100, 2, 7);
+        buckets.add(CollisionLayer.ENEMY, 105, 100, 5, 3);
+        // Tudo no mesmo lugar, mas em camadas fora da regra
+        buckets.add(CollisionLayer.ENEMY_PROJECTILE, 100, 100, 2, 9);
+        buckets.add(CollisionLayer.POWERUP, 100, 100, 5, 4);
+        buckets.add(CollisionLayer.PLAYER, 100, 100, 10, 0);
+
+        assertEquals(List.of("7-3"), hits(buckets, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+        assertEquals(List.of("9-0"), hits(buckets, CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER));
+    }
+
+    @Test
+    public void pairsFollowTheOrderOfTheWalkedLayer() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.ENEMY, 200, 200, 8, 10);
+        buckets.add(CollisionLayer.ENEMY, 300, 200, 8, 11);
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 302, 200, 2, 1);
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 400, 400, 2, 2); // Não acerta ninguém
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 199, 201, 2, 3);
+
+        assertEquals(List.of("1-11", "3-10"), hits(buckets, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+    }
+
+    @Test
+    public void touchingRadiiAreNotAHit() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.PLAYER, 100, 100, 10, 0);
+        buckets.add(CollisionLayer.POWERUP, 115, 100, 5, 1); // Distância = soma dos raios
+
+        assertEquals(List.of(), hits(buckets, CollisionLayer.PLAYER, CollisionLayer.POWERUP));
+    }
+
+    @Test
+    public void reachScaleShrinksTheTestsOfALayer() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.ENEMY_PROJECTILE, 210, 200, 2, 5);
+        buckets.add(CollisionLayer.PLAYER, 200, 200, 10, 0);
+        assertEquals(List.of("5-0"), hits(buckets, CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER));
+
+        buckets.setReachScale(CollisionLayer.PLAYER, 0.5); // Alcance (10 + 2) * 0,5 = 6 < 10
+        assertEquals(List.of(), hits(buckets, CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER));
+    }
+
+    @Test
+    public void clearEmptiesEveryLayer() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.ENEMY, 100, 100, 5, 1);
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 100, 100, 2, 2);
+        assertEquals(List.of("2-1"), hits(buckets, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+
+        buckets.clear();
+        buckets.add(CollisionLayer.PLAYER_PROJECTILE, 100, 100, 2, 2);
+        assertEquals(0, buckets.get(CollisionLayer.ENEMY).size());
+        assertEquals(List.of(), hits(buckets, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+    }
+
+    @Test
+    public void sweptProjectileHitsWhatItCrossedDuringTheTick() {
+        var point = new CollisionBuckets(ALL, 32.0);
+        var swept = new CollisionBuckets(ALL, 32.0);
+        for (var buckets : List.of(point, swept)) buckets.add(CollisionLayer.ENEMY, 200, 200, 8, 1);
+        // Projétil rápido: de y = 300 até y = 100 num tick, atravessando o inimigo
+        point.add(CollisionLayer.PLAYER_PROJECTILE, 200, 100, 2, 7);
+        swept.addSwept(CollisionLayer.PLAYER_PROJECTILE, 200, 300, 200, 100, 2, 7);
+
+        assertEquals(List.of(), hits(point, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+        assertEquals(List.of("7-1"), hits(swept, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+    }
+
+    @Test
+    public void sweptSegmentIsClampedToItsEnds() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        buckets.add(CollisionLayer.ENEMY, 212, 200, 8, 1);  // Ao lado do trajeto: 12 > 8 + 2
+        buckets.add(CollisionLayer.ENEMY, 200, 320, 8, 2);  // Atrás do início: 20 > 10
+        buckets.add(CollisionLayer.ENEMY, 200, 91, 8, 3);   // Logo depois do fim: 9 < 10
+        buckets.addSwept(CollisionLayer.PLAYER_PROJECTILE, 200, 300, 200, 100, 2, 7);
+
+        assertEquals(List.of("7-3"), hits(buckets, CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+    }
+
+    @Test
+    public void sweepIsIgnoredOnTheQueriedLayer() {
+        var buckets = new CollisionBuckets(ALL, 32.0);
+        // O trajeto do projétil de inimigo passa pelo player, mas aqui ele é a camada consultada
+        buckets.addSwept(CollisionLayer.ENEMY_PROJECTILE, 200, 300, 200, 100, 2, 5);
+        buckets.add(CollisionLayer.PLAYER, 200, 200, 10, 0);
+
+        assertEquals(List.of(), hits(buckets, CollisionLayer.PLAYER, CollisionLayer.ENEMY_PROJECTILE));
+        assertEquals(List.of("5-0"), hits(buckets, CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER));
+    }
+}
@@ -0,0 +1,96 @@
+package org.shootemup.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.shootemup.GameLib;
+import org.shootemup.utils.IntList;
+
+public class SpatialHashTest {
+    private static final double CELL = 32.0;
+
+    private static boolean contains(IntList list, int key) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == key) return true;
+        }
+        return false;
+    }
+
+    private static IntList query(SpatialHash grid, double x, double y, double radius) {
+        var out = new IntList();
+        grid.queryKeys(x, y, radius, out);
+        return out;
+    }
+
+    @Test
+    public void queryReachesAcrossCellBoundary() {
+        var grid = new SpatialHash(CELL);
+        grid.insert(33.0, 10.0, 0.0, 7); // célula (1, 0)
+        grid.build();
+
+        // O círculo em (31, 10) com raio 2 encosta na célula vizinha
+        assertTrue(contains(query(grid, 31.0, 10.0, 2.0), 7));
+    }
+
+    @Test
+    public void cellsAreHalfOpen() {
+        var grid = new SpatialHash(CELL);
+        grid.insert(CELL - 0.01, 10.0, 0.0, 1); // última posição da célula 0
+        grid.insert(CELL, 10.0, 0.0, 2);        // primeira posição da célula 1
+        grid.build();
+
+        var out = query(grid, CELL, 10.0, 0.0);
+        assertTrue(contains(out, 2));
+        assertFalse(contains(out, 1));
+    }
+
+    @Test
+    public void farEntriesAreNotCandidates() {
+        var grid = new SpatialHash(CELL);
+        grid.insert(200.0, 200.0, 4.0, 1);
+        grid.insert(12.0, 12.0, 4.0, 2);
+        grid.build();
+
+        var out = query(grid, 10.0, 10.0, 1.0);
+        assertTrue(contains(out, 2));
+        assertFalse(contains(out, 1));
+    }
+
+    @Test
+    public void largestRadiusWidensEveryQuery() {
+        var grid = new SpatialHash(CELL);
+        grid.insert(100.0, 100.0, 50.0, 1); // círculo grande: alcança duas células para cada lado
+        grid.build();
+
+        assertTrue(contains(query(grid, 145.0, 100.0, 1.0), 1));
+    }
+
+    @Test
+    public void offscreenEntriesFallInBorderCells() {
+        var grid = new SpatialHash(CELL);
+        grid.insert(-50.0, -50.0, 1.0, 1);
+        grid.insert(GameLib.WIDTH + 80.0, GameLib.HEIGHT + 80.0, 1.0, 2);
+        grid.build();
+
+        assertTrue(contains(query(grid, 0.0, 0.0, 1.0), 1));
+        assertTrue(contains(query(grid, GameLib.WIDTH - 1.0, GameLib.HEIGHT - 1.0, 1.0), 2));
+        // Consultas fora da tela também são limitadas às células da borda
+        assertTrue(contains(query(grid, -500.0, -500.0, 1.0), 1));
+    }
+
+    @Test
+    public void clearRemovesEntriesAndGrows() {
+        var grid = new SpatialHash(CELL);
+        for (int i = 0; i < 200; i++) grid.insert(5.0, 5.0, 1.0, i); // passa da capacidade inicial
+        grid.build();
+        assertEquals(200, grid.size());
+        assertEquals(200, query(grid, 5.0, 5.0, 1.0).size());
+
+        grid.clear();
+        grid.build();
+        assertEquals(0, grid.size());
+        assertEquals(0, query(grid, 5.0, 5.0, 1.0).size());
+    }
+}
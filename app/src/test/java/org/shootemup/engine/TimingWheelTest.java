@@ -0,0 +1,122 @@
+package org.shootemup.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+    private static final long LEVEL_1 = 64;             // Primeiro instante fora do nível 0, a partir de 0
+    private static final long LEVEL_2 = 64 * 64;
+    private static final long LEVEL_3 = 64 * 64 * 64;
+    private static final long OVERFLOW = 1L << 24;      // Além do último nível
+
+    /// Confere que `item` não sai até `at - 1` e sai exatamente em `at`
+    private static void assertDueAt(TimingWheel<String> wheel, long at, String item) {
+        var out = new ArrayList<String>();
+        wheel.advance(at - 1, out);
+        assertEquals(List.of(), out);
+        wheel.advance(at, out);
+        assertEquals(List.of(item), out);
+    }
+
+    @Test
+    public void eventsCascadeDownToTheirExactInstant() {
+        var wheel = new TimingWheel<String>(0);
+        wheel.schedule(5, "nível 0");
+        wheel.schedule(LEVEL_1 + 6, "nível 1");
+        wheel.schedule(LEVEL_2 + 3 * LEVEL_1 + 7, "nível 2");
+        wheel.schedule(2 * LEVEL_3 + LEVEL_2 + 11, "nível 3");
+
+        assertDueAt(wheel, 5, "nível 0");
+        assertDueAt(wheel, LEVEL_1 + 6, "nível 1");
+        assertDueAt(wheel, LEVEL_2 + 3 * LEVEL_1 + 7, "nível 2");
+        assertDueAt(wheel, 2 * LEVEL_3 + LEVEL_2 + 11, "nível 3");
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void oneAdvanceDeliversInTimeOrder() {
+        var wheel = new TimingWheel<String>(0);
+        wheel.schedule(LEVEL_2 + 1, "d");
+        wheel.schedule(LEVEL_1, "b");
+        wheel.schedule(3, "a");
+        wheel.schedule(LEVEL_1 + 40, "c");
+        wheel.schedule(LEVEL_2 + 2, "e");
+
+        var out = new ArrayList<String>();
+        wheel.advance(LEVEL_3, out);
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), out);
+        assertEquals(LEVEL_3, wheel.now());
+    }
+
+    @Test
+    public void sameInstantKeepsScheduleOrder() {
+        var wheel = new TimingWheel<String>(0);
+        for (String item : List.of("1", "2", "3", "4")) wheel.schedule(LEVEL_2 + 9, item);
+
+        var out = new ArrayList<String>();
+        wheel.advance(LEVEL_2 + 9, out);
+
+        assertEquals(List.of("1", "2", "3", "4"), out);
+    }
+
+    @Test
+    public void overdueEventsLeaveOnTheNextAdvance() {
+        var wheel = new TimingWheel<String>(0);
+        var out = new ArrayList<String>();
+        wheel.advance(100, out);
+
+        wheel.schedule(50, "passado");
+        wheel.schedule(100, "agora");
+        wheel.schedule(101, "futuro");
+        assertEquals(3, wheel.size());
+
+        wheel.advance(100, out);
+        assertEquals(List.of("passado", "agora"), out);
+        assertEquals(1, wheel.size());
+        assertDueAt(wheel, 101, "futuro");
+    }
+
+    @Test
+    public void overflowEventsAreReinsertedWhenTheirRangeComes() {
+        var wheel = new TimingWheel<String>(0);
+        long far = 3 * OVERFLOW + LEVEL_2 + 5;
+        wheel.schedule(far, "longe");
+        wheel.schedule(OVERFLOW + 1, "perto");
+
+        assertDueAt(wheel, OVERFLOW + 1, "perto");
+        assertDueAt(wheel, far, "longe");
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void emptyWheelJumpsAndSchedulesFromTheNewInstant() {
+        var wheel = new TimingWheel<String>(1_000);
+        var out = new ArrayList<String>();
+        wheel.advance(1_000_000, out);
+        assertEquals(1_000_000, wheel.now());
+
+        wheel.schedule(1_000_000 + LEVEL_2, "depois");
+        assertDueAt(wheel, 1_000_000 + LEVEL_2, "depois");
+    }
+
+    @Test
+    public void drainedWheelCanBeFilledAgain() {
+        var wheel = new TimingWheel<Integer>(0);
+        var out = new ArrayList<Integer>();
+        for (int round = 0; round < 3; round++) {
+            long base = wheel.now();
+            for (int i = 0; i < 200; i++) wheel.schedule(base + 1 + i * 37L, i);
+            wheel.advance(base + 200 * 37L, out);
+            assertEquals(200, out.size());
+            for (int i = 0; i < 200; i++) assertEquals(Integer.valueOf(i), out.get(i));
+            out.clear();
+        }
+        assertTrue(wheel.isEmpty());
+    }
+}
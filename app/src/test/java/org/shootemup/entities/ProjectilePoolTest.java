@@ -0,0 +1,88 @@
+package org.shootemup.entities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.shootemup.GameLib;
+
+public class ProjectilePoolTest {
+    private static final byte PLAYER = ProjectilePool.FACTION_PLAYER;
+    private static final byte ENEMY = ProjectilePool.FACTION_ENEMY;
+
+    /// Posições x ordenadas, já que a ordem dos índices muda a cada remoção
+    private static List<Double> xs(ProjectilePool pool) {
+        var out = new ArrayList<Double>();
+        for (int i = 0; i < pool.size(); i++) out.add(pool.x(i));
+        Collections.sort(out);
+        return out;
+    }
+
+    @Test
+    public void cullRechecksTheProjectileSwappedIntoARemovedSlot() {
+        var pool = new ProjectilePool(4);
+        pool.spawn(Projectile.KIND_BULLET, PLAYER, 10.0, 1.0, 0.0, -1.0); // sai pelo topo
+        pool.spawn(Projectile.KIND_BULLET, PLAYER, 20.0, 100.0, 0.0, -1.0);
+        pool.spawn(Projectile.KIND_BULLET, PLAYER, 30.0, 2.0, 0.0, -1.0); // último: vai para o índice 0 e também sai
+
+        pool.moveAndCull(PLAYER, 10);
+
+        assertEquals(1, pool.size());
+        assertEquals(20.0, pool.x(0), 0.0);
+        assertEquals(90.0, pool.y(0), 1e-9);
+    }
+
+    @Test
+    public void cullRemovesARunOfLeavingProjectiles() {
+        var pool = new ProjectilePool(2); // cresce durante os spawns
+        for (int i = 0; i < 10; i++) {
+            boolean leaves = i % 3 != 0;
+            pool.spawn(Projectile.KIND_BULLET, PLAYER, i, leaves ? GameLib.HEIGHT - 1.0 : 50.0, 0.0, 1.0);
+        }
+
+        pool.moveAndCull(PLAYER, 5);
+
+        assertEquals(List.of(0.0, 3.0, 6.0, 9.0), xs(pool));
+    }
+
+    @Test
+    public void cullLeavesTheOtherFactionUntouched() {
+        var pool = new ProjectilePool(4);
+        pool.spawn(Projectile.KIND_BALL, ENEMY, 10.0, 1.0, 0.0, -1.0); // sairia, mas é de outra facção
+        pool.spawn(Projectile.KIND_BULLET, PLAYER, 20.0, 1.0, 0.0, -1.0);
+        pool.spawn(Projectile.KIND_BALL, ENEMY, 30.0, 50.0, 0.0, -1.0);
+
+        pool.moveAndCull(PLAYER, 10);
+
+        assertEquals(2, pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(ENEMY, pool.owner(i));
+            assertEquals(Projectile.KIND_BALL, pool.kind(i));
+        }
+        assertEquals(List.of(10.0, 30.0), xs(pool));
+    }
+
+    @Test
+    public void removeMovesEveryColumnOfTheLastProjectile() {
+        var pool = new ProjectilePool(4);
+        pool.spawn(Projectile.KIND_BULLET, PLAYER, 1.0, 2.0, 0.1, 0.2);
+        pool.spawn(Projectile.KIND_BALL, ENEMY, 3.0, 4.0, 0.3, 0.4);
+        pool.endSweep();
+
+        pool.remove(0);
+
+        assertEquals(1, pool.size());
+        assertEquals(3.0, pool.x(0), 0.0);
+        assertEquals(4.0, pool.y(0), 0.0);
+        assertEquals(3.0, pool.sweepX(0), 0.0);
+        assertEquals(4.0, pool.sweepY(0), 0.0);
+        assertEquals(0.3, pool.vx(0), 0.0);
+        assertEquals(0.4, pool.vy(0), 0.0);
+        assertEquals(Projectile.radiusOf(Projectile.KIND_BALL), pool.radius(0), 0.0);
+        assertEquals(Projectile.KIND_BALL, pool.kind(0));
+        assertEquals(ENEMY, pool.owner(0));
+    }
+}
@@ -0,0 +1,126 @@
+package org.shootemup.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.shootemup.GameLib;
+
+public class InputLogTest {
+    private static final int HEADER_SIZE = 26; // mágico, versão, semente, tick rate e tempo inicial
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /// Fonte que devolve as máscaras dadas, uma por poll
+    private static final class Scripted implements InputSource {
+        private final int[] keys;
+        private int next = 0;
+        boolean closed = false;
+
+        Scripted(int[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int poll() {
+            return keys[next++];
+        }
+
+        @Override
+        public long lastChangeNanos() {
+            return 1000L + next;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    /// 5 ticks com A, 300 com B (contagem em varint de 2 bytes) e 1 com A
+    private static int[] script(int a, int b) {
+        var keys = new int[306];
+        for (int i = 0; i < keys.length; i++) keys[i] = i < 5 || i == 305 ? a : b;
+        return keys;
+    }
+
+    @Test
+    public void replayReproducesTheRecordedTicks() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("partida.rec");
+        int a = 1 << GameLib.KEY_CONTROL;
+        int b = (1 << GameLib.KEY_LEFT) | (1 << GameLib.KEY_CONTROL);
+        int[] keys = script(a, b);
+
+        var source = new Scripted(keys);
+        var recorder = new InputLog.Recorder(source, file, 42L, 60, 1_700_000_000_000L);
+        for (int expected : keys) {
+            assertEquals(expected, recorder.poll());
+        }
+        assertEquals(source.lastChangeNanos(), recorder.lastChangeNanos());
+        recorder.close();
+        assertTrue(source.closed);
+
+        // Três sequências: (máscara, 5), (máscara, 300 em 2 bytes), (máscara, 1)
+        assertEquals(HEADER_SIZE + 2 + 3 + 2, Files.size(file));
+
+        try (var replay = new InputLog.Replay(file)) {
+            assertEquals(42L, replay.getSeed());
+            assertEquals(60, replay.getTickRate());
+            assertEquals(1_700_000_000_000L, replay.getStartTime());
+            for (int expected : keys) {
+                assertEquals(expected, replay.poll());
+            }
+            assertFalse(replay.isFinished());
+            // Depois do fim o replay segura ESC para encerrar a partida
+            assertEquals(1 << GameLib.KEY_ESCAPE, replay.poll());
+            assertTrue(replay.isFinished());
+            assertEquals(1 << GameLib.KEY_ESCAPE, replay.poll());
+        }
+    }
+
+    @Test
+    public void emptyRecordingReplaysAsImmediateEscape() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("vazio.rec");
+        new InputLog.Recorder(new Scripted(new int[0]), file, 1L, 60, 0L).close();
+
+        assertEquals(HEADER_SIZE, Files.size(file));
+        try (var replay = new InputLog.Replay(file)) {
+            assertEquals(1 << GameLib.KEY_ESCAPE, replay.poll());
+        }
+    }
+
+    @Test
+    public void replayRejectsOtherVersions() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("antigo.rec");
+        new InputLog.Recorder(new Scripted(new int[] {0}), file, 1L, 60, 0L).close();
+        // Troca a versão (bytes 4 e 5, logo depois do mágico) pela 1
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[4] = 0;
+        bytes[5] = 1;
+        Files.write(file, bytes);
+
+        var e = assertThrows(IOException.class, () -> new InputLog.Replay(file));
+        assertTrue(e.getMessage().contains("1"));
+    }
+
+    @Test
+    public void replayRejectsFilesThatAreNotLogs() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("outro.bin");
+        try (var out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x12345678);
+            out.writeShort(2);
+        }
+
+        assertThrows(IOException.class, () -> new InputLog.Replay(file));
+    }
+}
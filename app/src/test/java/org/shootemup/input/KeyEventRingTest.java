@@ -0,0 +1,99 @@
+package org.shootemup.input;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class KeyEventRingTest {
+
+    /// Eventos drenados como "instante:tecla:+/-"
+    private static List<String> drain(KeyEventRing ring) {
+        var out = new ArrayList<String>();
+        int n = ring.drain((nanos, key, pressed) -> out.add(nanos + ":" + key + ":" + (pressed ? "+" : "-")));
+        assertEquals(out.size(), n);
+        return out;
+    }
+
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(4, new KeyEventRing(4).capacity());
+        assertEquals(8, new KeyEventRing(5).capacity());
+        assertEquals(KeyEventRing.DEFAULT_CAPACITY, new KeyEventRing().capacity());
+    }
+
+    @Test
+    public void eventsSurviveManyWrapArounds() {
+        var ring = new KeyEventRing(4);
+        long nanos = 0;
+        for (int round = 0; round < 10; round++) {
+            // 3 eventos por rodada: os índices passam pelo fim do array em quase todas
+            var expected = new ArrayList<String>();
+            for (int i = 0; i < 3; i++) {
+                int key = (round + i) % 6;
+                boolean pressed = i % 2 == 0;
+                assertTrue(ring.publish(++nanos, key, pressed));
+                expected.add(nanos + ":" + key + ":" + (pressed ? "+" : "-"));
+            }
+            assertEquals(3, ring.pending());
+            assertEquals(expected, drain(ring));
+            assertEquals(0, ring.pending());
+        }
+        assertEquals(0, ring.dropped());
+    }
+
+    @Test
+    public void fullRingDropsNewEventsAndKeepsTheOldOnes() {
+        var ring = new KeyEventRing(4);
+        for (int i = 1; i <= 4; i++) assertTrue(ring.publish(i, i, true));
+
+        assertFalse(ring.publish(5, 5, true));
+        assertFalse(ring.publish(6, 6, false));
+        assertEquals(2, ring.dropped());
+        assertEquals(4, ring.pending());
+
+        assertEquals(List.of("1:1:+", "2:2:+", "3:3:+", "4:4:+"), drain(ring));
+        // O espaço devolvido volta a ser usado
+        assertTrue(ring.publish(7, 2, false));
+        assertEquals(List.of("7:2:-"), drain(ring));
+        assertEquals(2, ring.dropped());
+    }
+
+    @Test
+    public void keyIndexKeepsAllSevenBits() {
+        var ring = new KeyEventRing(4);
+        ring.publish(1, 0x7F, true);
+        ring.publish(2, 0x7F, false);
+
+        assertEquals(List.of("1:127:+", "2:127:-"), drain(ring));
+    }
+
+    @Test
+    public void producerAndConsumerThreadsSeeEveryEventInOrder() throws InterruptedException {
+        var ring = new KeyEventRing(16);
+        final int total = 100_000;
+        var producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                while (!ring.publish(i, i % 8, (i & 1) == 0)) Thread.onSpinWait();
+            }
+        });
+        producer.start();
+
+        long[] next = {0};
+        boolean[] ordered = {true};
+        while (next[0] < total) {
+            ring.drain((nanos, key, pressed) -> {
+                if (nanos != next[0] || key != nanos % 8 || pressed != ((nanos & 1) == 0)) ordered[0] = false;
+                next[0]++;
+            });
+        }
+        producer.join();
+
+        assertTrue(ordered[0]);
+        assertEquals(total, next[0]);
+    }
+}
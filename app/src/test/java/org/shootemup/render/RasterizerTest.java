@@ -0,0 +1,101 @@
+package org.shootemup.render;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RasterizerTest {
+    private static final int WIDTH = 8;
+    private static final int HEIGHT = 6;
+
+    private int[] pixels;
+    private Rasterizer raster;
+
+    @Before
+    public void setUp() {
+        pixels = new int[WIDTH * HEIGHT];
+        raster = new Rasterizer(pixels, WIDTH, HEIGHT);
+    }
+
+    /// Pixels pintados como "x,y", em ordem de linha
+    private List<String> lit() {
+        var out = new ArrayList<String>();
+        for (int i = 0; i < pixels.length; i++) {
+            if (pixels[i] != 0) out.add(i % WIDTH + "," + i / WIDTH);
+        }
+        return out;
+    }
+
+    @Test
+    public void horizontalLineIsClippedToItsRow() {
+        raster.drawLine(-5, 2, 20, 2);
+
+        var expected = new ArrayList<String>();
+        for (int x = 0; x < WIDTH; x++) expected.add(x + "," + 2);
+        assertEquals(expected, lit());
+    }
+
+    @Test
+    public void diagonalLineEnteringFromTheLeftDoesNotWrapIntoThePreviousRow() {
+        // (-1, 1) cairia no índice do pixel (7, 0) se não fosse recortado
+        raster.drawLine(-2, 0, 3, 5);
+
+        assertEquals(List.of("0,2", "1,3", "2,4", "3,5"), lit());
+    }
+
+    @Test
+    public void verticalLineStaysInsideTheClipBand() {
+        raster.setClip(2, 4);
+        raster.drawLine(3, -4, 3, 10);
+
+        assertEquals(List.of("3,2", "3,3"), lit());
+    }
+
+    @Test
+    public void linesFullyOutsideAreSkipped() {
+        raster.drawLine(-5, -5, -1, -1);
+        raster.drawLine(WIDTH, 0, WIDTH + 3, HEIGHT - 1);
+        raster.drawLine(0, HEIGHT, WIDTH - 1, HEIGHT + 2);
+
+        assertEquals(List.of(), lit());
+    }
+
+    @Test
+    public void circleAtTheCornerDrawsOnlyTheVisibleQuadrant() {
+        raster.drawCircle(0, 0, 3);
+
+        assertEquals(List.of("3,0", "3,1", "2,2", "0,3", "1,3"), lit());
+    }
+
+    @Test
+    public void circleBelowTheClipBandIsSkipped() {
+        raster.setClip(0, 2);
+        raster.drawCircle(4, 5, 1);
+
+        assertEquals(List.of(), lit());
+    }
+
+    @Test
+    public void fillRectIsClippedAtEveryEdge() {
+        raster.fillRect(0, 0, 4, 4);                  // [-2, 2) x [-2, 2)
+        raster.fillRect(WIDTH, HEIGHT, 4, 4);         // [6, 10) x [4, 8)
+
+        assertEquals(List.of("0,0", "1,0", "0,1", "1,1", "6,4", "7,4", "6,5", "7,5"), lit());
+    }
+
+    @Test
+    public void fillRectRespectsTheClipBand() {
+        raster.setClip(1, 3);
+        raster.fillRect(WIDTH / 2.0, HEIGHT / 2.0, 2 * WIDTH, 2 * HEIGHT);
+
+        var expected = new ArrayList<String>();
+        for (int y = 1; y < 3; y++) {
+            for (int x = 0; x < WIDTH; x++) expected.add(x + "," + y);
+        }
+        assertEquals(expected, lit());
+    }
+}
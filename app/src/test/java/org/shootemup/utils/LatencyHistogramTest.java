@@ -0,0 +1,101 @@
+package org.shootemup.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        var h = new LatencyHistogram("vazio");
+
+        assertEquals(0, h.count());
+        assertEquals(0, h.percentile(0.99));
+        assertEquals(0, h.max());
+        assertEquals(0.0, h.mean(), 0.0);
+    }
+
+    @Test
+    public void smallValuesHaveOneBucketEach() {
+        var h = new LatencyHistogram("pequenos");
+        for (int v = 15; v >= 0; v--) h.record(v);
+
+        assertEquals(0, h.percentile(0.0));
+        assertEquals(7, h.percentile(0.5));   // 8ª de 16 amostras
+        assertEquals(14, h.percentile(0.9));  // ceil(14,4) = 15ª
+        assertEquals(15, h.percentile(1.0));
+    }
+
+    @Test
+    public void percentileIsTheUpperBoundOfTheBucket() {
+        var h = new LatencyHistogram("limite");
+        h.record(1000); // [512, 1024) dividido em 16: intervalo [992, 1023]
+        h.record(5000);
+
+        assertEquals(1023, h.percentile(0.5));
+        assertEquals(5000, h.percentile(1.0)); // Limitado pelo máximo registrado
+    }
+
+    @Test
+    public void singleSampleIsClampedToTheMaximum() {
+        var h = new LatencyHistogram("único");
+        h.record(1000);
+
+        assertEquals(1000, h.percentile(0.5));
+    }
+
+    @Test
+    public void relativeErrorStaysWithinOneSixteenth() {
+        for (long v = 16; v < (1L << 40); v = v * 3 + 7) {
+            var h = new LatencyHistogram("erro");
+            h.record(v);
+            h.record(1L << 50); // Mantém o máximo acima, para o percentil não ser limitado por ele
+
+            long p = h.percentile(0.5);
+            assertTrue(v + " -> " + p, p >= v && p - v <= v / 16);
+        }
+    }
+
+    @Test
+    public void rareOutlierOnlyShowsInTheHighPercentiles() {
+        var h = new LatencyHistogram("pico");
+        for (int i = 0; i < 999; i++) h.record(10);
+        h.record(1_000_000);
+
+        assertEquals(10, h.percentile(0.99));
+        assertEquals(10, h.percentile(0.999));
+        assertEquals(1_000_000, h.percentile(0.9995));
+        assertEquals(1_000_000, h.max());
+    }
+
+    @Test
+    public void negativeDurationsCountAsZero() {
+        var h = new LatencyHistogram("negativo");
+        h.record(-5);
+        h.record(30);
+
+        assertEquals(2, h.count());
+        assertEquals(0, h.percentile(0.5));
+        assertEquals(15.0, h.mean(), 0.0);
+        assertEquals(30, h.last());
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws InterruptedException {
+        var h = new LatencyHistogram("threads");
+        var threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) h.record(i);
+            });
+            threads[t].start();
+        }
+        for (var thread : threads) thread.join();
+
+        assertEquals(40_000, h.count());
+        assertEquals(9_999, h.max());
+        assertEquals(4999.5, h.mean(), 1e-9);
+    }
+}